@@ -0,0 +1,122 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.jboss.weld.benchmarks.beans.ApplicationCounter;
+import org.jboss.weld.benchmarks.beans.CalculatorDecorator;
+import org.jboss.weld.benchmarks.beans.CountingInterceptor;
+import org.jboss.weld.benchmarks.beans.DecoratedCalculator;
+import org.jboss.weld.benchmarks.beans.DependentCounter;
+import org.jboss.weld.benchmarks.beans.GraphLeaf;
+import org.jboss.weld.benchmarks.beans.GraphNode;
+import org.jboss.weld.benchmarks.beans.GraphRoot;
+import org.jboss.weld.benchmarks.beans.InterceptedCalculator;
+import org.jboss.weld.benchmarks.beans.PlainCalculator;
+import org.jboss.weld.benchmarks.beans.RequestCounter;
+import org.jboss.weld.bootstrap.api.Bootstrap;
+import org.jboss.weld.bootstrap.spi.BeanDeploymentArchive;
+import org.jboss.weld.bootstrap.spi.BeansXml;
+import org.jboss.weld.bootstrap.spi.Deployment;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.discovery.AbstractWeldSEDeployment;
+import org.jboss.weld.environment.se.discovery.ImmutableBeanDeploymentArchive;
+import org.jboss.weld.resources.spi.ResourceLoader;
+
+/**
+ * Boots Weld SE with an explicit list of bean classes, rather than scanning
+ * the classpath, so that the benchmarks don't depend on what else is on the
+ * classpath.
+ * 
+ * @author Pete Muir
+ */
+public class BenchmarkWeld extends Weld
+{
+
+   /**
+    * The bean classes used by the benchmarks
+    */
+   public static final List<String> BEAN_CLASSES = Collections.unmodifiableList(names(ApplicationCounter.class, RequestCounter.class, DependentCounter.class, PlainCalculator.class, InterceptedCalculator.class, CountingInterceptor.class, DecoratedCalculator.class, CalculatorDecorator.class, GraphRoot.class, GraphNode.class, GraphLeaf.class));
+
+   private static final String BEANS_XML = "META-INF/benchmark-beans.xml";
+
+   private final Collection<String> beanClasses;
+   private final String beansXml;
+
+   /**
+    * Deploy the benchmark beans, enabling the interceptor and decorator
+    */
+   public BenchmarkWeld()
+   {
+      this(BEAN_CLASSES, BEANS_XML);
+   }
+
+   /**
+    * Deploy the bean classes, with no interceptors or decorators enabled
+    */
+   public BenchmarkWeld(Collection<String> beanClasses)
+   {
+      this(beanClasses, null);
+   }
+
+   private BenchmarkWeld(Collection<String> beanClasses, String beansXml)
+   {
+      this.beanClasses = beanClasses;
+      this.beansXml = beansXml;
+   }
+
+   @Override
+   protected Deployment createDeployment(ResourceLoader resourceLoader, Bootstrap bootstrap)
+   {
+      BeansXml beansXml = BeansXml.EMPTY_BEANS_XML;
+      if (this.beansXml != null)
+      {
+         beansXml = bootstrap.parse(resourceLoader.getResource(this.beansXml));
+      }
+      final BeanDeploymentArchive beanDeploymentArchive = new ImmutableBeanDeploymentArchive("benchmark", beanClasses, beansXml);
+      beanDeploymentArchive.getServices().add(ResourceLoader.class, resourceLoader);
+      return new AbstractWeldSEDeployment(bootstrap)
+      {
+
+         public List<BeanDeploymentArchive> getBeanDeploymentArchives()
+         {
+            return Collections.singletonList(beanDeploymentArchive);
+         }
+
+         public BeanDeploymentArchive loadBeanDeploymentArchive(Class<?> beanClass)
+         {
+            return beanDeploymentArchive;
+         }
+
+      };
+   }
+
+   private static List<String> names(Class<?>... classes)
+   {
+      List<String> names = new ArrayList<String>();
+      for (Class<?> clazz : classes)
+      {
+         names.add(clazz.getName());
+      }
+      return names;
+   }
+
+}
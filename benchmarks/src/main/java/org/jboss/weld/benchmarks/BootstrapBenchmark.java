@@ -0,0 +1,80 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Boots, and then shuts down, a container with a number of generated beans
+ * 
+ * @see GeneratedBeans
+ * 
+ * @author Pete Muir
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BootstrapBenchmark
+{
+
+   @Param({ "10", "100", "1000" })
+   private int beans;
+
+   private GeneratedBeans generatedBeans;
+
+   @Setup(Level.Trial)
+   public void setup()
+   {
+      generatedBeans = new GeneratedBeans(beans);
+   }
+
+   @Benchmark
+   public void bootstrap()
+   {
+      Thread thread = Thread.currentThread();
+      ClassLoader originalContextClassLoader = thread.getContextClassLoader();
+      // The generated classes are loaded using the context class loader
+      thread.setContextClassLoader(generatedBeans);
+      try
+      {
+         BenchmarkWeld weld = new BenchmarkWeld(generatedBeans.getClassNames());
+         weld.initialize();
+         weld.shutdown();
+      }
+      finally
+      {
+         thread.setContextClassLoader(originalContextClassLoader);
+      }
+   }
+
+}
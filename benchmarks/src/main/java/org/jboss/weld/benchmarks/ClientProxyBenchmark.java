@@ -0,0 +1,76 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.weld.benchmarks.beans.ApplicationCounter;
+import org.jboss.weld.benchmarks.beans.DependentCounter;
+import org.jboss.weld.benchmarks.beans.RequestCounter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Invokes a method through the client proxy of an application and a request
+ * scoped bean, and directly on a dependent instance as a baseline
+ * 
+ * @author Pete Muir
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@State(Scope.Thread)
+public class ClientProxyBenchmark
+{
+
+   private ApplicationCounter applicationCounter;
+   private RequestCounter requestCounter;
+   private DependentCounter dependentCounter;
+
+   @Setup
+   public void setup(WeldState weld, RequestState request)
+   {
+      applicationCounter = weld.getReference(ApplicationCounter.class);
+      requestCounter = weld.getReference(RequestCounter.class);
+      dependentCounter = weld.getReference(DependentCounter.class);
+   }
+
+   @Benchmark
+   public int applicationScoped()
+   {
+      return applicationCounter.increment();
+   }
+
+   @Benchmark
+   public int requestScoped()
+   {
+      return requestCounter.increment();
+   }
+
+   @Benchmark
+   public int dependent()
+   {
+      return dependentCounter.increment();
+   }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
+
+import org.jboss.weld.benchmarks.beans.GraphRoot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Creates, and then destroys, a graph of dependent objects. Run with the GC
+ * profiler, this shows the allocation per bean created.
+ * 
+ * @see GraphRoot
+ * 
+ * @author Pete Muir
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@State(Scope.Thread)
+public class DependentGraphBenchmark
+{
+
+   private BeanManager beanManager;
+   private Bean<?> bean;
+
+   @Setup
+   public void setup(WeldState weld)
+   {
+      beanManager = weld.getBeanManager();
+      bean = weld.getBean(GraphRoot.class);
+   }
+
+   @Benchmark
+   public Object createGraph()
+   {
+      CreationalContext<?> creationalContext = beanManager.createCreationalContext(bean);
+      try
+      {
+         return beanManager.getReference(bean, GraphRoot.class, creationalContext);
+      }
+      finally
+      {
+         creationalContext.release();
+      }
+   }
+
+}
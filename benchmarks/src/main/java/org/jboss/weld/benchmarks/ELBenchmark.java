@@ -0,0 +1,108 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.el.ELContext;
+import javax.el.ELResolver;
+import javax.el.FunctionMapper;
+import javax.el.VariableMapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Resolves the name of a normal scoped bean, and a name which isn't the name
+ * of a bean, using the Weld EL resolver. The name is resolved both in an
+ * ELContext reused for every evaluation, as when a page uses a name many
+ * times, and in a new ELContext for every evaluation.
+ * 
+ * @author Pete Muir
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@State(Scope.Thread)
+public class ELBenchmark
+{
+
+   private static class SimpleELContext extends ELContext
+   {
+
+      private final ELResolver resolver;
+
+      private SimpleELContext(ELResolver resolver)
+      {
+         this.resolver = resolver;
+      }
+
+      @Override
+      public ELResolver getELResolver()
+      {
+         return resolver;
+      }
+
+      @Override
+      public FunctionMapper getFunctionMapper()
+      {
+         return null;
+      }
+
+      @Override
+      public VariableMapper getVariableMapper()
+      {
+         return null;
+      }
+
+   }
+
+   private ELResolver resolver;
+   private ELContext context;
+
+   @Setup
+   public void setup(WeldState weld)
+   {
+      resolver = weld.getBeanManager().getELResolver();
+      context = new SimpleELContext(resolver);
+   }
+
+   @Benchmark
+   public Object resolveName()
+   {
+      return resolver.getValue(context, null, "applicationCounter");
+   }
+
+   @Benchmark
+   public Object resolveNameInNewContext()
+   {
+      return resolver.getValue(new SimpleELContext(resolver), null, "applicationCounter");
+   }
+
+   @Benchmark
+   public Object resolveUnknownName()
+   {
+      return resolver.getValue(context, null, "unknown");
+   }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.event.Event;
+
+import org.jboss.weld.benchmarks.beans.AudienceLiteral;
+import org.jboss.weld.benchmarks.beans.ObserversExtension;
+import org.jboss.weld.benchmarks.beans.Ping;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Fires an event observed by a number of observers
+ * 
+ * @see ObserversExtension
+ * 
+ * @author Pete Muir
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@State(Scope.Thread)
+public class EventBenchmark
+{
+
+   @Param({ "1", "10", "100" })
+   private int observers;
+
+   private Event<Ping> event;
+   private Ping ping;
+
+   @Setup
+   public void setup(WeldState weld)
+   {
+      event = weld.getContainer().event().select(Ping.class, new AudienceLiteral(observers));
+      ping = new Ping();
+   }
+
+   @Benchmark
+   public void fire()
+   {
+      event.fire(ping);
+   }
+
+}
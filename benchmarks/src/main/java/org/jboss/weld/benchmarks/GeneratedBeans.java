@@ -0,0 +1,94 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javassist.CannotCompileException;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtField;
+import javassist.CtNewConstructor;
+import javassist.LoaderClassPath;
+import javassist.NotFoundException;
+import javassist.bytecode.AnnotationsAttribute;
+import javassist.bytecode.ConstPool;
+import javassist.bytecode.annotation.Annotation;
+
+/**
+ * Generates a number of bean classes, each injecting the bean generated
+ * before it, and defines them in a class loader of their own.
+ * 
+ * @author Pete Muir
+ */
+public class GeneratedBeans extends ClassLoader
+{
+
+   private static final String PACKAGE_NAME = "org.jboss.weld.benchmarks.generated";
+
+   private final List<String> classNames;
+
+   public GeneratedBeans(int count)
+   {
+      super(GeneratedBeans.class.getClassLoader());
+      this.classNames = new ArrayList<String>(count);
+      ClassPool pool = new ClassPool();
+      pool.appendClassPath(new LoaderClassPath(GeneratedBeans.class.getClassLoader()));
+      try
+      {
+         CtClass previous = null;
+         for (int i = 0; i < count; i++)
+         {
+            CtClass bean = pool.makeClass(PACKAGE_NAME + ".Bean" + i);
+            bean.addConstructor(CtNewConstructor.defaultConstructor(bean));
+            if (previous != null)
+            {
+               CtField field = new CtField(previous, "previous", bean);
+               ConstPool constPool = bean.getClassFile().getConstPool();
+               AnnotationsAttribute annotations = new AnnotationsAttribute(constPool, AnnotationsAttribute.visibleTag);
+               annotations.addAnnotation(new Annotation("javax.inject.Inject", constPool));
+               field.getFieldInfo().addAttribute(annotations);
+               bean.addField(field);
+            }
+            byte[] bytes = bean.toBytecode();
+            defineClass(bean.getName(), bytes, 0, bytes.length);
+            classNames.add(bean.getName());
+            previous = bean;
+         }
+      }
+      catch (CannotCompileException e)
+      {
+         throw new IllegalStateException("Unable to generate bean classes", e);
+      }
+      catch (NotFoundException e)
+      {
+         throw new IllegalStateException("Unable to generate bean classes", e);
+      }
+      catch (IOException e)
+      {
+         throw new IllegalStateException("Unable to generate bean classes", e);
+      }
+   }
+
+   public List<String> getClassNames()
+   {
+      return classNames;
+   }
+
+}
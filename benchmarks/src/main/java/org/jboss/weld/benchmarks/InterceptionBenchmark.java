@@ -0,0 +1,78 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.weld.benchmarks.beans.Calculator;
+import org.jboss.weld.benchmarks.beans.InterceptedCalculator;
+import org.jboss.weld.benchmarks.beans.PlainCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Invokes intercepted and decorated methods, and a method which is neither
+ * as a baseline. Run with the GC profiler, this shows the allocation of a
+ * steady state intercepted call.
+ * 
+ * @author Pete Muir
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@State(Scope.Thread)
+public class InterceptionBenchmark
+{
+
+   private PlainCalculator plainCalculator;
+   private InterceptedCalculator interceptedCalculator;
+   private Calculator decoratedCalculator;
+   private int a;
+
+   @Setup
+   public void setup(WeldState weld)
+   {
+      plainCalculator = weld.getReference(PlainCalculator.class);
+      interceptedCalculator = weld.getReference(InterceptedCalculator.class);
+      decoratedCalculator = weld.getReference(Calculator.class);
+   }
+
+   @Benchmark
+   public int plain()
+   {
+      return plainCalculator.add(a++, 1);
+   }
+
+   @Benchmark
+   public int intercepted()
+   {
+      return interceptedCalculator.add(a++, 1);
+   }
+
+   @Benchmark
+   public int decorated()
+   {
+      return decoratedCalculator.add(a++, 1);
+   }
+
+}
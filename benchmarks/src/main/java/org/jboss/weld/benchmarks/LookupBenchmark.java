@@ -0,0 +1,96 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.inject.Instance;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
+
+import org.jboss.weld.benchmarks.beans.ApplicationCounter;
+import org.jboss.weld.benchmarks.beans.RequestCounter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Obtains references to normal scoped beans using
+ * {@link BeanManager#getReference} and {@link Instance#get()}
+ * 
+ * @author Pete Muir
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@State(Scope.Thread)
+public class LookupBenchmark
+{
+
+   private BeanManager beanManager;
+   private Bean<?> applicationCounterBean;
+   private Instance<Object> instance;
+   private Instance<ApplicationCounter> applicationCounterInstance;
+   private Instance<RequestCounter> requestCounterInstance;
+
+   @Setup
+   public void setup(WeldState weld, RequestState request)
+   {
+      beanManager = weld.getBeanManager();
+      applicationCounterBean = weld.getBean(ApplicationCounter.class);
+      instance = weld.getContainer().instance();
+      applicationCounterInstance = instance.select(ApplicationCounter.class);
+      requestCounterInstance = instance.select(RequestCounter.class);
+   }
+
+   @Benchmark
+   public Object getReference()
+   {
+      return beanManager.getReference(applicationCounterBean, ApplicationCounter.class, beanManager.createCreationalContext(applicationCounterBean));
+   }
+
+   @Benchmark
+   public Object resolveAndGetReference()
+   {
+      Bean<?> bean = beanManager.resolve(beanManager.getBeans(ApplicationCounter.class));
+      return beanManager.getReference(bean, ApplicationCounter.class, beanManager.createCreationalContext(bean));
+   }
+
+   @Benchmark
+   public Object instanceGetApplicationScoped()
+   {
+      return applicationCounterInstance.get();
+   }
+
+   @Benchmark
+   public Object instanceGetRequestScoped()
+   {
+      return requestCounterInstance.get();
+   }
+
+   @Benchmark
+   public Object instanceSelectAndGet()
+   {
+      return instance.select(ApplicationCounter.class).get();
+   }
+
+}
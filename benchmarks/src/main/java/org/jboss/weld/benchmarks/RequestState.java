@@ -0,0 +1,65 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jboss.weld.context.bound.BoundLiteral;
+import org.jboss.weld.context.bound.BoundRequestContext;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Activates the request context for each thread running a benchmark
+ * 
+ * @author Pete Muir
+ */
+@State(Scope.Thread)
+public class RequestState
+{
+
+   private BoundRequestContext requestContext;
+   private Map<String, Object> requestMap;
+
+   @Setup(Level.Trial)
+   public void activate(WeldState weld)
+   {
+      requestContext = weld.getContainer().instance().select(BoundRequestContext.class, BoundLiteral.INSTANCE).get();
+      requestMap = new HashMap<String, Object>();
+      requestContext.associate(requestMap);
+      requestContext.activate();
+   }
+
+   @TearDown(Level.Trial)
+   public void deactivate()
+   {
+      try
+      {
+         requestContext.invalidate();
+         requestContext.deactivate();
+      }
+      finally
+      {
+         requestContext.dissociate(requestMap);
+      }
+   }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.benchmarks;
+
+import java.lang.annotation.Annotation;
+
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
+
+import org.jboss.weld.environment.se.WeldContainer;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * A container booted with the benchmark beans, shared by every thread
+ * running a benchmark
+ * 
+ * @author Pete Muir
+ */
+@State(Scope.Benchmark)
+public class WeldState
+{
+
+   private BenchmarkWeld weld;
+   private WeldContainer container;
+
+   @Setup(Level.Trial)
+   public void start()
+   {
+      weld = new BenchmarkWeld();
+      container = weld.initialize();
+   }
+
+   @TearDown(Level.Trial)
+   public void stop()
+   {
+      weld.shutdown();
+   }
+
+   public WeldContainer getContainer()
+   {
+      return container;
+   }
+
+   public BeanManager getBeanManager()
+   {
+      return container.getBeanManager();
+   }
+
+   public Bean<?> getBean(Class<?> type, Annotation... qualifiers)
+   {
+      return getBeanManager().resolve(getBeanManager().getBeans(type, qualifiers));
+   }
+
+   /**
+    * Get a reference, which for a normal scoped bean is the client proxy
+    */
+   public <T> T getReference(Class<T> type, Annotation... qualifiers)
+   {
+      Bean<?> bean = getBean(type, qualifiers);
+      CreationalContext<?> creationalContext = getBeanManager().createCreationalContext(bean);
+      return type.cast(getBeanManager().getReference(bean, type, creationalContext));
+   }
+
+}
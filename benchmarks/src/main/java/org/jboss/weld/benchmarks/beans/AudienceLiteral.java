@@ -0,0 +1,41 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.benchmarks.beans;
+
+import javax.enterprise.util.AnnotationLiteral;
+
+/**
+ * @author Pete Muir
+ */
+public class AudienceLiteral extends AnnotationLiteral<Audience> implements Audience
+{
+
+   private static final long serialVersionUID = 4526519474726405283L;
+
+   private final int value;
+
+   public AudienceLiteral(int value)
+   {
+      this.value = value;
+   }
+
+   public int value()
+   {
+      return value;
+   }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.benchmarks.beans;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.Set;
+
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.Reception;
+import javax.enterprise.event.TransactionPhase;
+import javax.enterprise.inject.spi.AfterBeanDiscovery;
+import javax.enterprise.inject.spi.Extension;
+import javax.enterprise.inject.spi.ObserverMethod;
+
+/**
+ * Adds {@link Ping} observers, so that events with many observers can be
+ * benchmarked without declaring each observer method
+ * 
+ * @author Pete Muir
+ */
+public class ObserversExtension implements Extension
+{
+
+   /**
+    * The audiences for which observers are added
+    */
+   public static final int[] AUDIENCES = { 1, 10, 100 };
+
+   private static class PingObserver implements ObserverMethod<Ping>
+   {
+
+      private final Set<Annotation> qualifiers;
+      private int count;
+
+      private PingObserver(int audience)
+      {
+         this.qualifiers = Collections.<Annotation>singleton(new AudienceLiteral(audience));
+      }
+
+      public Class<?> getBeanClass()
+      {
+         return ObserversExtension.class;
+      }
+
+      public Type getObservedType()
+      {
+         return Ping.class;
+      }
+
+      public Set<Annotation> getObservedQualifiers()
+      {
+         return qualifiers;
+      }
+
+      public Reception getReception()
+      {
+         return Reception.ALWAYS;
+      }
+
+      public TransactionPhase getTransactionPhase()
+      {
+         return TransactionPhase.IN_PROGRESS;
+      }
+
+      public void notify(Ping event)
+      {
+         count++;
+      }
+
+   }
+
+   public void addObservers(@Observes AfterBeanDiscovery event)
+   {
+      for (int audience : AUDIENCES)
+      {
+         for (int i = 0; i < audience; i++)
+         {
+            event.addObserverMethod(new PingObserver(audience));
+         }
+      }
+   }
+
+}
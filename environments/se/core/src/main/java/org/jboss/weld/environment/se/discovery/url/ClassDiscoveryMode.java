@@ -0,0 +1,100 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.discovery.url;
+
+/**
+ * Controls which of the classes found in a bean archive are discovered.
+ * 
+ * By default every class is discovered, as required by the CDI specification.
+ * The other modes read each class file (without loading the class) and only
+ * discover classes which may define a bean, avoiding loading and introspecting
+ * classes which can never be beans. As no
+ * {@link javax.enterprise.inject.spi.ProcessAnnotatedType} event is fired for
+ * the skipped classes, an extension which needs to observe (or turn into a
+ * bean) every class must not be used with these modes.
+ * 
+ * The mode may be chosen by setting the system property
+ * <code>org.jboss.weld.se.discovery</code> to <code>all</code>,
+ * <code>bean-candidates</code> or <code>annotated</code>.
+ * 
+ * @author Pete Muir
+ * 
+ */
+public enum ClassDiscoveryMode
+{
+
+   /**
+    * Every class is discovered
+    */
+   ALL("all"),
+
+   /**
+    * Only classes which may be a managed bean, decorator or interceptor are
+    * discovered: annotations, enums, interfaces, non-static inner classes,
+    * classes without a no-argument or <code>@Inject</code> constructor and
+    * abstract classes which aren't decorators or interceptors are skipped
+    */
+   BEAN_CANDIDATES("bean-candidates"),
+
+   /**
+    * As {@link #BEAN_CANDIDATES}, but a class must also declare an annotation
+    * on itself or one of its members (including method parameters). This
+    * skips unannotated classes which only become beans by virtue of having a
+    * suitable constructor.
+    */
+   ANNOTATED("annotated");
+
+   public static final String PROPERTY_NAME = "org.jboss.weld.se.discovery";
+
+   private final String name;
+
+   private ClassDiscoveryMode(String name)
+   {
+      this.name = name;
+   }
+
+   public String getName()
+   {
+      return name;
+   }
+
+   /**
+    * Get the mode configured by the system property, or {@link #ALL} if the
+    * property isn't set
+    */
+   public static ClassDiscoveryMode fromSystemProperty()
+   {
+      return of(System.getProperty(PROPERTY_NAME));
+   }
+
+   public static ClassDiscoveryMode of(String name)
+   {
+      if (name == null)
+      {
+         return ALL;
+      }
+      for (ClassDiscoveryMode mode : values())
+      {
+         if (mode.name.equals(name))
+         {
+            return mode;
+         }
+      }
+      throw new IllegalArgumentException("Unknown class discovery mode " + name + ", must be one of all, bean-candidates or annotated");
+   }
+
+}
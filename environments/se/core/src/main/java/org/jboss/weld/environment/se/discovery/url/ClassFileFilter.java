@@ -0,0 +1,179 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.discovery.url;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import javassist.bytecode.AccessFlag;
+import javassist.bytecode.AnnotationsAttribute;
+import javassist.bytecode.ClassFile;
+import javassist.bytecode.FieldInfo;
+import javassist.bytecode.InnerClassesAttribute;
+import javassist.bytecode.MethodInfo;
+import javassist.bytecode.ParameterAnnotationsAttribute;
+
+/**
+ * Decides whether a class may define a bean by reading its class file,
+ * without loading the class.
+ * 
+ * The checks mirror those made by the bean deployer once a class is loaded, so
+ * a class which is rejected could never have been a bean (except when
+ * annotations are required, see {@link ClassDiscoveryMode#ANNOTATED}).
+ * 
+ * @author Pete Muir
+ * 
+ */
+class ClassFileFilter
+{
+
+   private static final String DECORATOR = "javax.decorator.Decorator";
+   private static final String INTERCEPTOR = "javax.interceptor.Interceptor";
+   private static final String INJECT = "javax.inject.Inject";
+   private static final String NO_ARGUMENT_CONSTRUCTOR_DESCRIPTOR = "()V";
+
+   private final boolean annotationRequired;
+
+   ClassFileFilter(ClassDiscoveryMode mode)
+   {
+      this.annotationRequired = mode == ClassDiscoveryMode.ANNOTATED;
+   }
+
+   /**
+    * Read the class file, and decide whether the class may define a bean
+    * 
+    * @param classFileStream the class file, which is not closed
+    * @return true if the class should be discovered
+    * @throws IOException if the class file can't be read
+    */
+   boolean accept(InputStream classFileStream) throws IOException
+   {
+      ClassFile classFile = new ClassFile(new DataInputStream(new BufferedInputStream(classFileStream)));
+      int accessFlags = classFile.getAccessFlags();
+      if ((accessFlags & (AccessFlag.ANNOTATION | AccessFlag.ENUM | AccessFlag.INTERFACE)) != 0)
+      {
+         return false;
+      }
+      if (isNonStaticInnerClass(classFile))
+      {
+         return false;
+      }
+      AnnotationsAttribute classAnnotations = (AnnotationsAttribute) classFile.getAttribute(AnnotationsAttribute.visibleTag);
+      if (classFile.isAbstract() && !isAnnotationPresent(classAnnotations, DECORATOR) && !isAnnotationPresent(classAnnotations, INTERCEPTOR))
+      {
+         return false;
+      }
+      if (!hasBeanConstructor(classFile))
+      {
+         return false;
+      }
+      return !annotationRequired || isAnnotated(classFile, classAnnotations);
+   }
+
+   private static boolean isNonStaticInnerClass(ClassFile classFile)
+   {
+      InnerClassesAttribute innerClasses = (InnerClassesAttribute) classFile.getAttribute(InnerClassesAttribute.tag);
+      if (innerClasses != null)
+      {
+         for (int i = 0; i < innerClasses.tableLength(); i++)
+         {
+            if (classFile.getName().equals(innerClasses.innerClass(i)))
+            {
+               boolean anonymous = innerClasses.innerName(i) == null;
+               boolean member = innerClasses.outerClass(i) != null;
+               return anonymous || (member && (innerClasses.accessFlags(i) & AccessFlag.STATIC) == 0);
+            }
+         }
+      }
+      return false;
+   }
+
+   private static boolean hasBeanConstructor(ClassFile classFile)
+   {
+      for (MethodInfo method : getMethods(classFile))
+      {
+         if (MethodInfo.nameInit.equals(method.getName()))
+         {
+            if (NO_ARGUMENT_CONSTRUCTOR_DESCRIPTOR.equals(method.getDescriptor()) || isAnnotationPresent((AnnotationsAttribute) method.getAttribute(AnnotationsAttribute.visibleTag), INJECT))
+            {
+               return true;
+            }
+         }
+      }
+      return false;
+   }
+
+   private static boolean isAnnotated(ClassFile classFile, AnnotationsAttribute classAnnotations)
+   {
+      if (hasAnnotations(classAnnotations))
+      {
+         return true;
+      }
+      for (FieldInfo field : getFields(classFile))
+      {
+         if (hasAnnotations((AnnotationsAttribute) field.getAttribute(AnnotationsAttribute.visibleTag)))
+         {
+            return true;
+         }
+      }
+      for (MethodInfo method : getMethods(classFile))
+      {
+         if (hasAnnotations((AnnotationsAttribute) method.getAttribute(AnnotationsAttribute.visibleTag)))
+         {
+            return true;
+         }
+         ParameterAnnotationsAttribute parameterAnnotations = (ParameterAnnotationsAttribute) method.getAttribute(ParameterAnnotationsAttribute.visibleTag);
+         if (parameterAnnotations != null)
+         {
+            for (javassist.bytecode.annotation.Annotation[] annotations : parameterAnnotations.getAnnotations())
+            {
+               if (annotations.length > 0)
+               {
+                  return true;
+               }
+            }
+         }
+      }
+      return false;
+   }
+
+   private static boolean isAnnotationPresent(AnnotationsAttribute annotations, String annotationType)
+   {
+      return annotations != null && annotations.getAnnotation(annotationType) != null;
+   }
+
+   private static boolean hasAnnotations(AnnotationsAttribute annotations)
+   {
+      return annotations != null && annotations.getAnnotations().length > 0;
+   }
+
+   @SuppressWarnings("unchecked")
+   private static List<MethodInfo> getMethods(ClassFile classFile)
+   {
+      return classFile.getMethods();
+   }
+
+   @SuppressWarnings("unchecked")
+   private static List<FieldInfo> getFields(ClassFile classFile)
+   {
+      return classFile.getFields();
+   }
+
+}
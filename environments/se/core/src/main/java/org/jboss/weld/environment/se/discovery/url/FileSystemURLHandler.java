@@ -17,7 +17,9 @@
 package org.jboss.weld.environment.se.discovery.url;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Collection;
@@ -41,6 +43,32 @@ public class FileSystemURLHandler
 
    private static final Logger log = LoggerFactory.getLogger(FileSystemURLHandler.class);
 
+   private final ClassFileFilter classFileFilter;
+   private int skippedClassCount;
+
+   public FileSystemURLHandler()
+   {
+      this(ClassDiscoveryMode.ALL);
+   }
+
+   /**
+    * @param mode the classes to discover, classes which aren't discovered are
+    *           counted as skipped
+    */
+   public FileSystemURLHandler(ClassDiscoveryMode mode)
+   {
+      this.classFileFilter = mode == ClassDiscoveryMode.ALL ? null : new ClassFileFilter(mode);
+   }
+
+   /**
+    * The number of classes found which could not be beans, and so were not
+    * discovered
+    */
+   public int getSkippedClassCount()
+   {
+      return skippedClassCount;
+   }
+
    public void handle(Collection<String> paths, List<String> discoveredClasses, List<URL> discoveredBeansXmlUrls)
    {
       for (String urlPath : paths)
@@ -48,25 +76,7 @@ public class FileSystemURLHandler
          try
          {
             FileSystemURLHandler.log.trace("scanning: " + urlPath);
-
-            if (urlPath.startsWith("file:"))
-            {
-               urlPath = urlPath.substring(5);
-            }
-            if (urlPath.indexOf('!') > 0)
-            {
-               urlPath = urlPath.substring(0, urlPath.indexOf('!'));
-            }
-
-            File file = new File(urlPath);
-            if (file.isDirectory())
-            {
-               handleDirectory(file, null, discoveredClasses, discoveredBeansXmlUrls);
-            }
-            else
-            {
-               handleArchiveByFile(file, discoveredClasses, discoveredBeansXmlUrls);
-            }
+            handle(getFile(urlPath), discoveredClasses, discoveredBeansXmlUrls);
          }
          catch (IOException ioe)
          {
@@ -75,6 +85,37 @@ public class FileSystemURLHandler
       }
    }
 
+   /**
+    * Scan a jar or directory
+    */
+   public void handle(File file, List<String> discoveredClasses, List<URL> discoveredBeansXmlUrls) throws IOException
+   {
+      if (file.isDirectory())
+      {
+         handleDirectory(file, null, discoveredClasses, discoveredBeansXmlUrls);
+      }
+      else
+      {
+         handleArchiveByFile(file, discoveredClasses, discoveredBeansXmlUrls);
+      }
+   }
+
+   /**
+    * Get the jar or directory a path refers to
+    */
+   public static File getFile(String urlPath)
+   {
+      if (urlPath.startsWith("file:"))
+      {
+         urlPath = urlPath.substring(5);
+      }
+      if (urlPath.indexOf('!') > 0)
+      {
+         urlPath = urlPath.substring(0, urlPath.indexOf('!'));
+      }
+      return new File(urlPath);
+   }
+
    private void handleArchiveByFile(File file, List<String> discoveredClasses, List<URL> discoveredBeansXmlUrls) throws IOException
    {
       try
@@ -83,13 +124,24 @@ public class FileSystemURLHandler
 
          String archiveUrl = "jar:" + file.toURI().toURL().toExternalForm() + "!/";
          ZipFile zip = new ZipFile(file);
-         Enumeration<? extends ZipEntry> entries = zip.entries();
+         try
+         {
+            Enumeration<? extends ZipEntry> entries = zip.entries();
 
-         while (entries.hasMoreElements())
+            while (entries.hasMoreElements())
+            {
+               ZipEntry entry = entries.nextElement();
+               String name = entry.getName();
+               if (classFileFilter != null && name.endsWith(".class") && !accept(name, zip.getInputStream(entry)))
+               {
+                  continue;
+               }
+               handle(name, new URL(archiveUrl + name), discoveredClasses, discoveredBeansXmlUrls);
+            }
+         }
+         finally
          {
-            ZipEntry entry = entries.nextElement();
-            String name = entry.getName();
-            handle(name, new URL(archiveUrl + name), discoveredClasses, discoveredBeansXmlUrls);
+            zip.close();
          }
       }
       catch (ZipException e)
@@ -129,13 +181,57 @@ public class FileSystemURLHandler
          {
             try
             {
+               if (classFileFilter != null && newPath.endsWith(".class") && !accept(newPath, new FileInputStream(child)))
+               {
+                  continue;
+               }
                handle(newPath, child.toURI().toURL(), discoveredClasses, discoveredBeansXmlUrls);
             }
             catch (MalformedURLException e)
             {
                log.error("Error loading file " + newPath);
             }
+            catch (IOException e)
+            {
+               log.error("Error loading file " + newPath);
+            }
+         }
+      }
+   }
+
+   /**
+    * Read the class file to decide whether the class should be discovered,
+    * counting it as skipped if not. A class file which can't be read is
+    * discovered, so that the error is reported when the class is loaded.
+    */
+   private boolean accept(String name, InputStream classFile) throws IOException
+   {
+      try
+      {
+         if (classFileFilter.accept(classFile))
+         {
+            return true;
          }
+         else
+         {
+            log.trace("skipping class which cannot be a bean: " + name);
+            skippedClassCount++;
+            return false;
+         }
+      }
+      catch (IOException e)
+      {
+         log.debug("could not read class file " + name, e);
+         return true;
+      }
+      catch (RuntimeException e)
+      {
+         log.debug("could not read class file " + name, e);
+         return true;
+      }
+      finally
+      {
+         classFile.close();
       }
    }
 
@@ -17,17 +17,24 @@
 package org.jboss.weld.environment.se.discovery.url;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLDecoder;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Callable;
 
+import org.jboss.weld.bootstrap.DeploymentExecutor;
+import org.jboss.weld.bootstrap.DiscoveryIndex;
 import org.jboss.weld.bootstrap.api.Bootstrap;
 import org.jboss.weld.bootstrap.spi.BeanDeploymentArchive;
+import org.jboss.weld.bootstrap.spi.BeansXml;
 import org.jboss.weld.environment.se.discovery.ImmutableBeanDeploymentArchive;
 import org.jboss.weld.resources.spi.ResourceLoader;
+import org.jboss.weld.xml.BeansXmlParser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -44,23 +51,40 @@ import org.slf4j.LoggerFactory;
 public class URLScanner
 {
 
+   /**
+    * The system property naming the directory of the {@link DiscoveryIndex},
+    * which is only used if the property is set
+    */
+   public static final String DISCOVERY_INDEX_PROPERTY_NAME = "org.jboss.weld.se.discovery.index";
+
    private static final Logger log = LoggerFactory.getLogger(URLScanner.class);
    private final String[] resources;
    private final ResourceLoader resourceLoader;
    private final Bootstrap bootstrap;
+   private final ClassDiscoveryMode classDiscoveryMode;
+   private final DiscoveryIndex discoveryIndex;
 
    public URLScanner(ResourceLoader resourceLoader, Bootstrap bootstrap, String... resources)
+   {
+      this(resourceLoader, bootstrap, ClassDiscoveryMode.ALL, null, resources);
+   }
+
+   /**
+    * @param classDiscoveryMode the classes to discover
+    * @param discoveryIndex the index of previously scanned archives, or null
+    *           to scan every archive
+    */
+   public URLScanner(ResourceLoader resourceLoader, Bootstrap bootstrap, ClassDiscoveryMode classDiscoveryMode, DiscoveryIndex discoveryIndex, String... resources)
    {
       this.resources = resources;
       this.resourceLoader = resourceLoader;
       this.bootstrap = bootstrap;
+      this.classDiscoveryMode = classDiscoveryMode;
+      this.discoveryIndex = discoveryIndex;
    }
 
    public BeanDeploymentArchive scan()
    {
-      FileSystemURLHandler handler = new FileSystemURLHandler();
-      List<String> discoveredClasses = new ArrayList<String>();
-      List<URL> discoveredBeanXmlUrls = new ArrayList<URL>();
       Collection<String> paths = new ArrayList<String>();
       for (String resourceName : resources)
       {
@@ -114,9 +138,148 @@ public class URLScanner
 
             paths.add(urlPath);
          }
-         handler.handle(paths, discoveredClasses, discoveredBeanXmlUrls);
       }
-      return new ImmutableBeanDeploymentArchive("classpath", discoveredClasses, bootstrap.parse(discoveredBeanXmlUrls));
+      return scanArchives(paths);
+   }
+
+   /**
+    * The result of scanning, or reading the index of, one archive
+    */
+   private static class ArchiveScan
+   {
+
+      private final File archive;
+      private final DiscoveryIndex.Entry entry;
+      private final boolean scanned;
+
+      private ArchiveScan(File archive, DiscoveryIndex.Entry entry, boolean scanned)
+      {
+         this.archive = archive;
+         this.entry = entry;
+         this.scanned = scanned;
+      }
+
+   }
+
+   /**
+    * Scan the archives concurrently, merging the results in the order of the
+    * paths. If an index is used, only the archives which have changed since
+    * they were indexed are scanned. The beans.xml files of an unchanged
+    * archive were validated when it was indexed, so if no archive has
+    * changed, validation is skipped.
+    */
+   private BeanDeploymentArchive scanArchives(Collection<String> paths)
+   {
+      List<Callable<ArchiveScan>> tasks = new ArrayList<Callable<ArchiveScan>>(paths.size());
+      for (final String path : paths)
+      {
+         tasks.add(new Callable<ArchiveScan>()
+         {
+
+            public ArchiveScan call() throws Exception
+            {
+               return scanArchive(path);
+            }
+
+         });
+      }
+      DeploymentExecutor executor = new DeploymentExecutor();
+      List<ArchiveScan> archiveScans;
+      try
+      {
+         archiveScans = executor.invokeAll(tasks);
+      }
+      finally
+      {
+         executor.cleanup();
+      }
+
+      List<String> discoveredClasses = new ArrayList<String>();
+      List<URL> discoveredBeanXmlUrls = new ArrayList<URL>();
+      List<ArchiveScan> scannedArchives = new ArrayList<ArchiveScan>();
+      int skippedClassCount = 0;
+      for (ArchiveScan archiveScan : archiveScans)
+      {
+         if (archiveScan == null)
+         {
+            continue;
+         }
+         try
+         {
+            discoveredBeanXmlUrls.addAll(archiveScan.entry.getBeansXmlUrls());
+         }
+         catch (MalformedURLException e)
+         {
+            throw new ClasspathScanningException("Error reading index of " + archiveScan.archive);
+         }
+         discoveredClasses.addAll(archiveScan.entry.getClasses());
+         skippedClassCount += archiveScan.entry.getSkippedClassCount();
+         if (archiveScan.scanned)
+         {
+            scannedArchives.add(archiveScan);
+         }
+      }
+      logSkippedClasses(discoveredClasses.size(), skippedClassCount);
+      BeansXml beansXml;
+      if (discoveryIndex != null && scannedArchives.isEmpty())
+      {
+         beansXml = new BeansXmlParser().parse(discoveredBeanXmlUrls, false);
+      }
+      else
+      {
+         beansXml = bootstrap.parse(discoveredBeanXmlUrls);
+      }
+      if (discoveryIndex != null)
+      {
+         log.debug("Scanned " + scannedArchives.size() + " of " + paths.size() + " archives, the others were indexed");
+         // Only index archives once their beans.xml files are known to be valid
+         for (ArchiveScan scannedArchive : scannedArchives)
+         {
+            discoveryIndex.store(scannedArchive.archive, scannedArchive.entry);
+         }
+      }
+      return new ImmutableBeanDeploymentArchive("classpath", discoveredClasses, beansXml);
+   }
+
+   /**
+    * Scan an archive, or read its index, returning null if the archive can't
+    * be read
+    */
+   private ArchiveScan scanArchive(String path)
+   {
+      File archive = FileSystemURLHandler.getFile(path);
+      if (discoveryIndex != null)
+      {
+         DiscoveryIndex.Entry entry = discoveryIndex.load(archive, classDiscoveryMode.getName());
+         if (entry != null)
+         {
+            return new ArchiveScan(archive, entry, false);
+         }
+      }
+      log.trace("scanning: " + path);
+      String fingerprint = discoveryIndex == null ? null : DiscoveryIndex.fingerprint(archive);
+      // The handler counts skipped classes, so isn't shared between threads
+      FileSystemURLHandler handler = new FileSystemURLHandler(classDiscoveryMode);
+      List<String> classes = new ArrayList<String>();
+      List<URL> beansXmlUrls = new ArrayList<URL>();
+      try
+      {
+         handler.handle(archive, classes, beansXmlUrls);
+      }
+      catch (IOException e)
+      {
+         log.warn("could not read entries", e);
+         return null;
+      }
+      return new ArchiveScan(archive, new DiscoveryIndex.Entry(archive.getAbsolutePath(), fingerprint, classDiscoveryMode.getName(), classes, beansXmlUrls, handler.getSkippedClassCount()), true);
+   }
+
+   private void logSkippedClasses(int discoveredClassCount, int skippedClassCount)
+   {
+      if (classDiscoveryMode != ClassDiscoveryMode.ALL)
+      {
+         log.info("Discovered " + discoveredClassCount + " classes, skipped " + skippedClassCount + " classes which cannot be beans (class discovery mode " + classDiscoveryMode.getName() + ")");
+      }
    }
    
 }
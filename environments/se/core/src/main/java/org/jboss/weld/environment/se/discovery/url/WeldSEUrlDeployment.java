@@ -19,6 +19,7 @@ package org.jboss.weld.environment.se.discovery.url;
 import java.util.Collections;
 import java.util.List;
 
+import org.jboss.weld.bootstrap.DiscoveryIndex;
 import org.jboss.weld.bootstrap.api.Bootstrap;
 import org.jboss.weld.bootstrap.spi.BeanDeploymentArchive;
 import org.jboss.weld.environment.se.discovery.AbstractWeldSEDeployment;
@@ -39,7 +40,7 @@ public class WeldSEUrlDeployment extends AbstractWeldSEDeployment
    public WeldSEUrlDeployment(ResourceLoader resourceLoader, Bootstrap bootstrap)
    {
       super(bootstrap);
-      this.beanDeploymentArchive = new URLScanner(resourceLoader, bootstrap, RESOURCES).scan();
+      this.beanDeploymentArchive = new URLScanner(resourceLoader, bootstrap, ClassDiscoveryMode.fromSystemProperty(), DiscoveryIndex.fromSystemProperty(URLScanner.DISCOVERY_INDEX_PROPERTY_NAME), RESOURCES).scan();
       this.beanDeploymentArchive.getServices().add(ResourceLoader.class, resourceLoader);
 
    }
@@ -0,0 +1,86 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.jboss.weld.environment.se.discovery.url.ClassDiscoveryMode;
+import org.jboss.weld.environment.se.discovery.url.FileSystemURLHandler;
+import org.jboss.weld.environment.se.test.beans.CustomEvent;
+import org.jboss.weld.environment.se.test.decorators.CarDoorAlarm;
+import org.jboss.weld.environment.se.test.decorators.Door;
+import org.jboss.weld.environment.se.test.events.EventQualifier1;
+import org.jboss.weld.environment.se.test.events.Foo;
+import org.junit.Test;
+
+/**
+ * 
+ * @author Pete Muir
+ */
+public class ClassDiscoveryModeTest
+{
+
+   private static List<String> discover(FileSystemURLHandler handler)
+   {
+      List<String> discoveredClasses = new ArrayList<String>();
+      String testClasses = ClassDiscoveryModeTest.class.getProtectionDomain().getCodeSource().getLocation().getPath();
+      handler.handle(Collections.singleton(testClasses), discoveredClasses, new ArrayList<URL>());
+      return discoveredClasses;
+   }
+
+   @Test
+   public void testAllClassesDiscovered()
+   {
+      FileSystemURLHandler handler = new FileSystemURLHandler();
+      List<String> discoveredClasses = discover(handler);
+      assertTrue(discoveredClasses.contains(Door.class.getName()));
+      assertTrue(discoveredClasses.contains(EventQualifier1.class.getName()));
+      assertTrue(discoveredClasses.contains(CustomEvent.class.getName()));
+      assertEquals(0, handler.getSkippedClassCount());
+   }
+
+   @Test
+   public void testBeanCandidatesDiscovered()
+   {
+      FileSystemURLHandler handler = new FileSystemURLHandler(ClassDiscoveryMode.BEAN_CANDIDATES);
+      List<String> discoveredClasses = discover(handler);
+      assertTrue(discoveredClasses.contains(Foo.class.getName()));
+      assertTrue(discoveredClasses.contains(CarDoorAlarm.class.getName()));
+      assertTrue(discoveredClasses.contains(CustomEvent.class.getName()));
+      assertFalse(discoveredClasses.contains(Door.class.getName()));
+      assertFalse(discoveredClasses.contains(EventQualifier1.class.getName()));
+      assertTrue(handler.getSkippedClassCount() >= 2);
+   }
+
+   @Test
+   public void testAnnotatedClassesDiscovered()
+   {
+      FileSystemURLHandler handler = new FileSystemURLHandler(ClassDiscoveryMode.ANNOTATED);
+      List<String> discoveredClasses = discover(handler);
+      assertTrue(discoveredClasses.contains(Foo.class.getName()));
+      assertTrue(discoveredClasses.contains(CarDoorAlarm.class.getName()));
+      assertFalse(discoveredClasses.contains(CustomEvent.class.getName()));
+   }
+
+}
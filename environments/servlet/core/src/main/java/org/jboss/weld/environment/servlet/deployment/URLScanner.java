@@ -28,6 +28,7 @@ import java.util.zip.ZipEntry;
 import java.util.zip.ZipException;
 import java.util.zip.ZipFile;
 
+import org.jboss.weld.bootstrap.DiscoveryIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,15 +41,33 @@ import org.slf4j.LoggerFactory;
  */
 public class URLScanner
 {
+   /**
+    * The system property naming the directory of the {@link DiscoveryIndex},
+    * which is only used if the property is set
+    */
+   public static final String DISCOVERY_INDEX_PROPERTY_NAME = "org.jboss.weld.servlet.discovery.index";
+
    private static final Logger log = LoggerFactory.getLogger(URLScanner.class);
 
    private final ClassLoader classLoader;
+   private DiscoveryIndex discoveryIndex;
 
    public URLScanner(ClassLoader classLoader)
    {
       this.classLoader = classLoader;
    }
 
+   /**
+    * Use an index of previously scanned archives, so that archives which
+    * haven't changed need not be scanned again
+    * 
+    * @param discoveryIndex the index, or null to scan every archive
+    */
+   public void setDiscoveryIndex(DiscoveryIndex discoveryIndex)
+   {
+      this.discoveryIndex = discoveryIndex;
+   }
+
    protected ClassLoader getClassLoader()
    {
       return classLoader;
@@ -70,7 +89,14 @@ public class URLScanner
    {
       for (File directory : directories)
       {
-         handleDirectory(directory, null, classes, urls);
+         try
+         {
+            handleDirectoryOrArchive(directory, classes, urls);
+         }
+         catch (IOException ioe)
+         {
+            log.warn("could not read entries", ioe);
+         }
       }
    }
 
@@ -130,16 +156,7 @@ public class URLScanner
          {
             log.trace("scanning: " + urlPath);
 
-            File file = new File(urlPath);
-
-            if (file.isDirectory())
-            {
-               handleDirectory(file, null, classes, urls);
-            }
-            else
-            {
-               handleArchiveByFile(file, classes, urls);
-            }
+            handleDirectoryOrArchive(new File(urlPath), classes, urls);
          }
          catch (IOException ioe)
          {
@@ -148,6 +165,61 @@ public class URLScanner
       }
    }
 
+   private void handleDirectoryOrArchive(File file, Set<String> classes, Set<URL> urls) throws IOException
+   {
+      if (discoveryIndex == null)
+      {
+         scanDirectoryOrArchive(file, classes, urls);
+         return;
+      }
+      DiscoveryIndex.Entry entry = discoveryIndex.load(file, null);
+      if (entry != null)
+      {
+         classes.addAll(entry.getClasses());
+         urls.addAll(entry.getBeansXmlUrls());
+         return;
+      }
+      String fingerprint = DiscoveryIndex.fingerprint(file);
+      Set<String> archiveClasses = new HashSet<String>();
+      Set<URL> archiveUrls = new HashSet<URL>();
+      scanDirectoryOrArchive(file, archiveClasses, archiveUrls);
+      classes.addAll(archiveClasses);
+      urls.addAll(archiveUrls);
+      if (isIndexable(archiveUrls))
+      {
+         discoveryIndex.store(file, new DiscoveryIndex.Entry(file.getAbsolutePath(), fingerprint, null, archiveClasses, archiveUrls, 0));
+      }
+   }
+
+   private void scanDirectoryOrArchive(File file, Set<String> classes, Set<URL> urls) throws IOException
+   {
+      if (file.isDirectory())
+      {
+         handleDirectory(file, null, classes, urls);
+      }
+      else
+      {
+         handleArchiveByFile(file, classes, urls);
+      }
+   }
+
+   /**
+    * An URL is recreated from the index when the archive is next scanned, so
+    * only URLs which can always be recreated (rather than, for example, VFS
+    * URLs, which need a handler to be installed) are indexed
+    */
+   private static boolean isIndexable(Set<URL> urls)
+   {
+      for (URL url : urls)
+      {
+         if (!"file".equals(url.getProtocol()) && !"jar".equals(url.getProtocol()))
+         {
+            return false;
+         }
+      }
+      return true;
+   }
+
    protected void handleArchiveByFile(File file, Set<String> classes, Set<URL> urls) throws IOException
    {
       try
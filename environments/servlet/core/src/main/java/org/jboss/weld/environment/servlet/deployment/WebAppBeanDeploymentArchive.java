@@ -26,6 +26,7 @@ import java.util.Set;
 
 import javax.servlet.ServletContext;
 
+import org.jboss.weld.bootstrap.DiscoveryIndex;
 import org.jboss.weld.bootstrap.api.Bootstrap;
 import org.jboss.weld.bootstrap.api.ServiceRegistry;
 import org.jboss.weld.bootstrap.api.helpers.SimpleServiceRegistry;
@@ -94,6 +95,7 @@ public class WebAppBeanDeploymentArchive implements BeanDeploymentArchive
          // cleanup
          context.removeAttribute(URLScanner.class.getName());
       }
+      scanner.setDiscoveryIndex(DiscoveryIndex.fromSystemProperty(URLScanner.DISCOVERY_INDEX_PROPERTY_NAME));
       return scanner;
    }
 
@@ -0,0 +1,112 @@
+/**
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.servlet.test.deployment;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.jboss.weld.bootstrap.DiscoveryIndex;
+import org.jboss.weld.environment.servlet.deployment.URLScanner;
+import org.junit.Test;
+
+public class URLScannerTest
+{
+
+   /**
+    * Counts the entries it handles
+    */
+   private static class CountingURLScanner extends URLScanner
+   {
+
+      private int handled;
+
+      private CountingURLScanner()
+      {
+         super(URLScannerTest.class.getClassLoader());
+      }
+
+      @Override
+      protected void handle(String name, URL url, Set<String> classes, Set<URL> urls)
+      {
+         handled++;
+         super.handle(name, url, classes, urls);
+      }
+
+   }
+
+   private static File createTemporaryDirectory(String name) throws IOException
+   {
+      File directory = File.createTempFile(name, "");
+      directory.delete();
+      directory.mkdirs();
+      directory.deleteOnExit();
+      return directory;
+   }
+
+   private static void write(File file) throws IOException
+   {
+      file.getParentFile().mkdirs();
+      new FileWriter(file).close();
+      file.deleteOnExit();
+   }
+
+   private static CountingURLScanner scan(File archive, DiscoveryIndex index, Set<String> classes, Set<URL> urls)
+   {
+      CountingURLScanner scanner = new CountingURLScanner();
+      scanner.setDiscoveryIndex(index);
+      scanner.scanDirectories(new File[] { archive }, classes, urls);
+      return scanner;
+   }
+
+   @Test
+   public void testUnchangedArchiveReadFromIndex() throws IOException
+   {
+      File archive = createTemporaryDirectory("archive");
+      File beansXml = new File(archive, "META-INF/beans.xml");
+      write(beansXml);
+      write(new File(archive, "com/acme/Foo.class"));
+      DiscoveryIndex index = new DiscoveryIndex(createTemporaryDirectory("index"));
+
+      Set<String> classes = new HashSet<String>();
+      Set<URL> urls = new HashSet<URL>();
+      assertEquals(2, scan(archive, index, classes, urls).handled);
+      assertEquals(Collections.singleton("com.acme.Foo"), classes);
+      assertEquals(Collections.singleton(beansXml.toURI().toURL()), urls);
+
+      // The archive hasn't changed, so isn't scanned again
+      Set<String> indexedClasses = new HashSet<String>();
+      Set<URL> indexedUrls = new HashSet<URL>();
+      assertEquals(0, scan(archive, index, indexedClasses, indexedUrls).handled);
+      assertEquals(classes, indexedClasses);
+      assertEquals(urls, indexedUrls);
+
+      // Adding a class causes the archive to be scanned again
+      write(new File(archive, "com/acme/Bar.class"));
+      Set<String> rescannedClasses = new HashSet<String>();
+      assertEquals(3, scan(archive, index, rescannedClasses, new HashSet<URL>()).handled);
+      assertEquals(new HashSet<String>(Arrays.asList("com.acme.Foo", "com.acme.Bar")), rescannedClasses);
+   }
+
+}
@@ -125,7 +125,10 @@ public abstract class AbstractBean<T, S> extends RIBean<T>
          postSpecialize();
       }
       initDefaultQualifiers();
-      log.trace(CREATING_BEAN, getType());
+      if (log.isTraceEnabled())
+      {
+         log.trace(CREATING_BEAN, getType());
+      }
       initName();
       initScope();
       checkDelegateInjectionPoints();
@@ -231,21 +234,30 @@ public abstract class AbstractBean<T, S> extends RIBean<T>
       this.qualifiers = new HashSet<Annotation>();
       qualifiers.addAll(getWeldAnnotated().getMetaAnnotations(Qualifier.class));
       initDefaultQualifiers();
-      log.trace(QUALIFIERS_USED, qualifiers, this);
+      if (log.isTraceEnabled())
+      {
+         log.trace(QUALIFIERS_USED, qualifiers, this);
+      }
    }
 
    protected void initDefaultQualifiers()
    {
       if (qualifiers.size() == 0)
       {
-         log.trace(USING_DEFAULT_QUALIFIER, this);
+         if (log.isTraceEnabled())
+         {
+            log.trace(USING_DEFAULT_QUALIFIER, this);
+         }
          this.qualifiers.add(DefaultLiteral.INSTANCE);
       }
       if (qualifiers.size() == 1)
       {
          if (qualifiers.iterator().next().annotationType().equals(Named.class))
          {
-            log.trace(USING_DEFAULT_QUALIFIER, this);
+            if (log.isTraceEnabled())
+            {
+               log.trace(USING_DEFAULT_QUALIFIER, this);
+            }
             this.qualifiers.add(DefaultLiteral.INSTANCE);
          }
       }
@@ -272,7 +284,10 @@ public abstract class AbstractBean<T, S> extends RIBean<T>
          }
          else
          {
-            log.trace(USING_NAME, javaName, this);
+            if (log.isTraceEnabled())
+            {
+               log.trace(USING_NAME, javaName, this);
+            }
             this.name = javaName;
             return;
          }
@@ -281,7 +296,10 @@ public abstract class AbstractBean<T, S> extends RIBean<T>
       if (beanNameDefaulted || getMergedStereotypes().isBeanNameDefaulted())
       {
          this.name = getDefaultName();
-         log.trace(USING_DEFAULT_NAME, name, this);
+         if (log.isTraceEnabled())
+         {
+            log.trace(USING_DEFAULT_NAME, name, this);
+         }
          return;
       }
    }
@@ -294,7 +312,10 @@ public abstract class AbstractBean<T, S> extends RIBean<T>
       if (possibleScopes.size() == 1)
       {
          this.scope = possibleScopes.iterator().next().annotationType();
-         log.trace(USING_SCOPE_FROM_STEREOTYPE, scope, this, getMergedStereotypes());
+         if (log.isTraceEnabled())
+         {
+            log.trace(USING_SCOPE_FROM_STEREOTYPE, scope, this, getMergedStereotypes());
+         }
          return true;
       }
       else if (possibleScopes.size() > 1)
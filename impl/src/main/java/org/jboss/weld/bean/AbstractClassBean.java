@@ -63,6 +63,7 @@ import org.jboss.weld.bean.interceptor.SerializableContextualInterceptorReferenc
 import org.jboss.weld.bean.interceptor.WeldInterceptorClassMetadata;
 import org.jboss.weld.bean.proxy.CombinedInterceptorAndDecoratorStackMethodHandler;
 import org.jboss.weld.bean.proxy.DecorationHelper;
+import org.jboss.weld.bean.proxy.DecoratorChain;
 import org.jboss.weld.bean.proxy.InterceptedSubclassFactory;
 import org.jboss.weld.bean.proxy.ProxyFactory;
 import org.jboss.weld.bean.proxy.TargetBeanInstance;
@@ -160,6 +161,8 @@ public abstract class AbstractClassBean<T> extends AbstractBean<T, Class<T>>
 
    // Decorators
    private List<Decorator<?>> decorators;
+   // Created when the first instance is decorated
+   private volatile DecoratorChain<T> decoratorChain;
 
    // Interceptors
    private boolean hasSerializationOrInvocationInterceptorMethods;
@@ -358,6 +361,7 @@ public abstract class AbstractClassBean<T> extends AbstractBean<T, Class<T>>
    public void initDecorators()
    {
       this.decorators = getBeanManager().resolveDecorators(getTypes(), getQualifiers());
+      this.decoratorChain = null;
    }
 
    public boolean hasDecorators()
@@ -368,8 +372,7 @@ public abstract class AbstractClassBean<T> extends AbstractBean<T, Class<T>>
    protected T applyDecorators(T instance, CreationalContext<T> creationalContext, InjectionPoint originalInjectionPoint)
    {
       TargetBeanInstance beanInstance = new TargetBeanInstance(this, instance);
-      ProxyFactory<T> proxyFactory = new ProxyFactory<T>(getType(), getTypes(), this);
-      DecorationHelper<T> decorationHelper = new DecorationHelper<T>(beanInstance, this, proxyFactory.getProxyClass(), beanManager, getServices().get(ContextualStore.class), decorators);
+      DecorationHelper<T> decorationHelper = new DecorationHelper<T>(beanInstance, this, getDecoratorChain(), beanManager, getServices().get(ContextualStore.class));
       DecorationHelper.getHelperStack().push(decorationHelper);
       final T outerDelegate = decorationHelper.getNextDelegate(originalInjectionPoint, creationalContext);
       DecorationHelper.getHelperStack().pop();
@@ -387,6 +390,23 @@ public abstract class AbstractClassBean<T> extends AbstractBean<T, Class<T>>
       return Collections.unmodifiableList(decorators);
    }
 
+   /**
+    * Get the decorators of this bean along with the proxy class used to
+    * delegate between them, creating them when first called
+    */
+   public DecoratorChain<T> getDecoratorChain()
+   {
+      DecoratorChain<T> decoratorChain = this.decoratorChain;
+      if (decoratorChain == null)
+      {
+         // Creating the chain twice is harmless, the proxy class is only
+         // generated once
+         decoratorChain = DecoratorChain.of(this, new ProxyFactory<T>(getType(), getTypes(), this), decorators);
+         this.decoratorChain = decoratorChain;
+      }
+      return decoratorChain;
+   }
+
    /**
     * Initializes the bean type
     */
@@ -426,7 +446,10 @@ public abstract class AbstractClassBean<T> extends AbstractBean<T, Class<T>>
             if (getWeldAnnotated().isAnnotationPresent(scopes.iterator().next().annotationType()))
             {
                this.scope = scopes.iterator().next().annotationType();
-               log.trace(USING_SCOPE, scope, this);
+               if (log.isTraceEnabled())
+               {
+                  log.trace(USING_SCOPE, scope, this);
+               }
             }
             break;
          }
@@ -444,7 +467,10 @@ public abstract class AbstractClassBean<T> extends AbstractBean<T, Class<T>>
       if (this.scope == null)
       {
          this.scope = Dependent.class;
-         log.trace(USING_DEFAULT_SCOPE, this);
+         if (log.isTraceEnabled())
+         {
+            log.trace(USING_DEFAULT_SCOPE, this);
+         }
       }
    }
 
@@ -320,7 +320,10 @@ public abstract class AbstractProducerBean<X, T, S extends Member> extends Abstr
       if (scopes.size() == 1)
       {
          this.scope = scopes.iterator().next().annotationType();
-         log.trace(USING_SCOPE, scope, this);
+         if (log.isTraceEnabled())
+         {
+            log.trace(USING_SCOPE, scope, this);
+         }
          return;
       }
 
@@ -329,7 +332,10 @@ public abstract class AbstractProducerBean<X, T, S extends Member> extends Abstr
       if (this.scope == null)
       {
          this.scope = Dependent.class;
-         log.trace(USING_DEFAULT_SCOPE, this);
+         if (log.isTraceEnabled())
+         {
+            log.trace(USING_DEFAULT_SCOPE, this);
+         }
       }
    }
 
@@ -22,6 +22,7 @@ import java.util.Map;
 
 import javax.enterprise.inject.spi.Decorator;
 
+import org.jboss.weld.bean.proxy.DecoratorDispatchTable;
 import org.jboss.weld.introspector.MethodSignature;
 import org.jboss.weld.introspector.WeldClass;
 import org.jboss.weld.introspector.WeldMethod;
@@ -42,6 +43,7 @@ public class CustomDecoratorWrapper<T> extends ForwardingDecorator<T> implements
    private WeldClass<T> weldClass;
 
    private Map<MethodSignature, WeldMethod<?,?>> decoratorMethods;
+   private final DecoratorDispatchTable dispatchTable;
 
    public static <T> CustomDecoratorWrapper<T> of(Decorator<T> delegate, BeanManagerImpl beanManager)
    {
@@ -53,6 +55,7 @@ public class CustomDecoratorWrapper<T> extends ForwardingDecorator<T> implements
       this.delegate = delegate;
       this.weldClass =  beanManager.getServices().get(ClassTransformer.class).loadClass(Reflections.<Class<T>>cast(delegate.getBeanClass()));
       this.decoratorMethods = Decorators.getDecoratorMethods(beanManager, delegate.getDecoratedTypes(), this.weldClass);
+      this.dispatchTable = new DecoratorDispatchTable(this);
    }
 
    @Override
@@ -70,4 +73,9 @@ public class CustomDecoratorWrapper<T> extends ForwardingDecorator<T> implements
    {
       return Decorators.findDecoratorMethod(this, decoratorMethods, method);
    }
+
+   public DecoratorDispatchTable getDispatchTable()
+   {
+      return dispatchTable;
+   }
 }
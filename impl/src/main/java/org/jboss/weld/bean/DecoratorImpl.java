@@ -39,6 +39,7 @@ import javax.enterprise.inject.spi.AnnotatedMethod;
 import javax.enterprise.inject.spi.Decorator;
 import javax.inject.Inject;
 
+import org.jboss.weld.bean.proxy.DecoratorDispatchTable;
 import org.jboss.weld.bean.proxy.DecoratorProxyFactory;
 import org.jboss.weld.bootstrap.BeanDeployerEnvironment;
 import org.jboss.weld.bootstrap.api.ServiceRegistry;
@@ -101,6 +102,7 @@ public class DecoratorImpl<T> extends ManagedBean<T> implements WeldDecorator<T>
    
    private WeldClass<?> annotatedDelegateItem;
    private Map<MethodSignature, WeldMethod<?,?>> decoratorMethods;
+   private DecoratorDispatchTable dispatchTable;
    private WeldInjectionPoint<?, ?> delegateInjectionPoint;
    private Set<Annotation> delegateBindings;
    private Type delegateType;
@@ -133,6 +135,7 @@ public class DecoratorImpl<T> extends ManagedBean<T> implements WeldDecorator<T>
       decoratedTypes.retainAll(getTypes());
       this.decoratedTypes.remove(Serializable.class);
       this.decoratorMethods = Decorators.getDecoratorMethods(beanManager, decoratedTypes, getWeldAnnotated());
+      this.dispatchTable = new DecoratorDispatchTable(this);
    }
 
    protected void initDelegateInjectionPoint()
@@ -268,6 +271,11 @@ public class DecoratorImpl<T> extends ManagedBean<T> implements WeldDecorator<T>
       return Decorators.findDecoratorMethod(this, decoratorMethods, method);
    }
 
+   public DecoratorDispatchTable getDispatchTable()
+   {
+      return dispatchTable;
+   }
+
    @Override
    public String toString()
    {
@@ -30,6 +30,10 @@ import static org.jboss.weld.logging.messages.BeanMessage.SIMPLE_BEAN_AS_NON_STA
 import static org.jboss.weld.logging.messages.BeanMessage.SPECIALIZING_BEAN_MUST_EXTEND_A_BEAN;
 import static org.jboss.weld.util.reflection.Reflections.cast;
 
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 import javassist.util.proxy.MethodHandler;
@@ -44,14 +48,19 @@ import javax.enterprise.inject.spi.PassivationCapable;
 import javassist.util.proxy.ProxyObject;
 import org.jboss.interceptor.proxy.DefaultInvocationContextFactory;
 import org.jboss.interceptor.proxy.InterceptorProxyCreatorImpl;
+import org.jboss.interceptor.spi.metadata.ClassMetadata;
 import org.jboss.interceptor.spi.metadata.InterceptorMetadata;
+import org.jboss.interceptor.spi.model.InterceptionModel;
 import org.jboss.interceptor.util.InterceptionUtils;
 import org.jboss.weld.Container;
+import org.jboss.weld.bean.interceptor.InterceptorChainMethodHandler;
+import org.jboss.weld.bean.interceptor.InterceptorChains;
 import org.jboss.weld.bean.interceptor.WeldInterceptorClassMetadata;
 import org.jboss.weld.bean.interceptor.WeldInterceptorInstantiator;
 import org.jboss.weld.bean.proxy.CombinedInterceptorAndDecoratorStackMethodHandler;
 import org.jboss.weld.bootstrap.BeanDeployerEnvironment;
 import org.jboss.weld.bootstrap.api.ServiceRegistry;
+import org.jboss.weld.ejb.EJBApiAbstraction;
 import org.jboss.weld.exceptions.DefinitionException;
 import org.jboss.weld.exceptions.DeploymentException;
 import org.jboss.weld.exceptions.IllegalStateException;
@@ -262,6 +271,42 @@ public class ManagedBean<T> extends AbstractClassBean<T>
 
    }
 
+   /**
+    * The parts of interception which are the same for every instance of the
+    * bean: the interception model, the metadata of the bean class and the
+    * means to instantiate non-managed interceptors. Only the interceptor
+    * instances and the method handler are created per bean instance.
+    */
+   private static class InterceptionPlan<T>
+   {
+
+      private final InterceptionModel<ClassMetadata<?>, ?> interceptionModel;
+      private final WeldInterceptorClassMetadata<T> classMetadata;
+      private final InterceptorChains interceptorChains;
+      private final DefaultInvocationContextFactory invocationContextFactory;
+      private final WeldInterceptorInstantiator.ClassInterceptorFactories classInterceptorFactories;
+
+      private InterceptionPlan(InterceptionModel<ClassMetadata<?>, ?> interceptionModel, WeldInterceptorClassMetadata<T> classMetadata, InterceptorMetadata<?> targetClassInterceptorMetadata, Iterable<Method> businessMethods)
+      {
+         this.interceptionModel = interceptionModel;
+         this.classMetadata = classMetadata;
+         this.interceptorChains = new InterceptorChains(interceptionModel, targetClassInterceptorMetadata, businessMethods);
+         this.invocationContextFactory = new DefaultInvocationContextFactory();
+         this.classInterceptorFactories = new WeldInterceptorInstantiator.ClassInterceptorFactories();
+      }
+
+      private MethodHandler createMethodHandler(BeanManagerImpl beanManager, CreationalContext<T> creationalContext)
+      {
+         WeldInterceptorInstantiator<T> interceptorInstantiator = new WeldInterceptorInstantiator<T>(beanManager, creationalContext, classInterceptorFactories);
+         InterceptorProxyCreatorImpl interceptorProxyCreator = new InterceptorProxyCreatorImpl(interceptorInstantiator, invocationContextFactory, interceptionModel);
+         // The library handler still calls the lifecycle callbacks and
+         // timeouts, and replaces the chains when the instance is serialized
+         MethodHandler libraryMethodHandler = interceptorProxyCreator.createSubclassingMethodHandler(null, classMetadata);
+         return new InterceptorChainMethodHandler(interceptorChains, interceptorInstantiator, libraryMethodHandler);
+      }
+
+   }
+
    // Logger
    private static final LocLogger log = loggerFactory().getLogger(BEAN);
    private static final XLogger xLog = loggerFactory().getXLogger(BEAN);
@@ -277,6 +322,7 @@ public class ManagedBean<T> extends AbstractClassBean<T>
    private boolean passivationCapableBean;
    private boolean passivationCapableDependency;
    private final boolean proxiable;
+   private volatile InterceptionPlan<T> interceptionPlan;
 
    /**
     * Creates a simple, annotation defined Web Bean
@@ -571,9 +617,7 @@ public class ManagedBean<T> extends AbstractClassBean<T>
    {
       try
       {
-         WeldInterceptorInstantiator<T> interceptorInstantiator = new WeldInterceptorInstantiator<T>(beanManager, creationalContext);
-         InterceptorProxyCreatorImpl interceptorProxyCreator = new InterceptorProxyCreatorImpl(interceptorInstantiator, new DefaultInvocationContextFactory(), beanManager.getInterceptorModelRegistry().get(getType()));
-         MethodHandler methodHandler = interceptorProxyCreator.createSubclassingMethodHandler(null, WeldInterceptorClassMetadata.of(getWeldAnnotated()));
+         MethodHandler methodHandler = getInterceptionPlan().createMethodHandler(beanManager, creationalContext);
          CombinedInterceptorAndDecoratorStackMethodHandler wrapperMethodHandler = (CombinedInterceptorAndDecoratorStackMethodHandler) ((ProxyObject) instance).getHandler();
          wrapperMethodHandler.setInterceptorMethodHandler(methodHandler);
       }
@@ -583,7 +627,36 @@ public class ManagedBean<T> extends AbstractClassBean<T>
       }
       return instance;
    }
+
+   private InterceptionPlan<T> getInterceptionPlan()
+   {
+      InterceptionPlan<T> interceptionPlan = this.interceptionPlan;
+      if (interceptionPlan == null)
+      {
+         // The interception model is complete once the bean is deployed, and
+         // creating the plan is idempotent, so a race is harmless
+         WeldInterceptorClassMetadata<T> classMetadata = WeldInterceptorClassMetadata.of(getWeldAnnotated());
+         InterceptorMetadata<?> targetClassInterceptorMetadata = beanManager.getInterceptorMetadataReader().getTargetClassInterceptorMetadata(classMetadata);
+         interceptionPlan = new InterceptionPlan<T>(beanManager.getInterceptorModelRegistry().get(getType()), classMetadata, targetClassInterceptorMetadata, getAroundInvokeMethods());
+         this.interceptionPlan = interceptionPlan;
+      }
+      return interceptionPlan;
+   }
    
+   private List<Method> getAroundInvokeMethods()
+   {
+      Class<? extends Annotation> timeoutAnnotationType = beanManager.getServices().get(EJBApiAbstraction.class).TIMEOUT_ANNOTATION_CLASS;
+      List<Method> methods = new ArrayList<Method>();
+      for (WeldMethod<?, ?> method : Beans.getInterceptableMethods(getWeldAnnotated()))
+      {
+         if (!method.isAnnotationPresent(timeoutAnnotationType))
+         {
+            methods.add(method.getJavaMember());
+         }
+      }
+      return methods;
+   }
+
    @Override
    public String toString()
    {
@@ -46,6 +46,10 @@ public abstract class RIBean<T> implements Bean<T>, PassivationCapable
    private final String id;
    
    private final int hashCode;
+   
+   // The bean which specializes this bean, or this bean, frozen when
+   // deployment ends
+   private volatile Bean<?> mostSpecializedBean;
 
    protected RIBean(String idSuffix, BeanManagerImpl beanManager)
    {
@@ -110,6 +114,24 @@ public abstract class RIBean<T> implements Bean<T>, PassivationCapable
 
    public abstract RIBean<?> getSpecializedBean();
    
+   /**
+    * The bean which specializes this bean, or this bean if it isn't
+    * specialized. Returns null until deployment ends, as beans may still be
+    * added until then.
+    */
+   public Bean<?> getMostSpecializedBean()
+   {
+      return mostSpecializedBean;
+   }
+   
+   /**
+    * Freeze the bean which specializes this bean, called when deployment ends
+    */
+   public void freezeMostSpecializedBean()
+   {
+      this.mostSpecializedBean = beanManager.getMostSpecializedBean(this);
+   }
+   
    @Override
    public boolean equals(Object obj)
    {
@@ -359,8 +359,7 @@ public class SessionBean<T> extends AbstractClassBean<T>
       //for EJBs, we apply decorators through a proxy
       T proxy = null;
       TargetBeanInstance beanInstance = new TargetBeanInstance(this, instance);
-      ProxyFactory<T> proxyFactory = new ProxyFactory<T>(getType(), getTypes(), this);
-      DecorationHelper<T> decorationHelper = new DecorationHelper<T>(beanInstance, this, proxyFactory.getProxyClass(), beanManager, getServices().get(ContextualStore.class), getDecorators());
+      DecorationHelper<T> decorationHelper = new DecorationHelper<T>(beanInstance, this, getDecoratorChain(), beanManager, getServices().get(ContextualStore.class));
 
       DecorationHelper.getHelperStack().push(decorationHelper);
       proxy = decorationHelper.getNextDelegate(originalInjectionPoint, creationalContext);
@@ -21,6 +21,7 @@ import java.lang.reflect.Method;
 
 import javax.enterprise.inject.spi.Decorator;
 
+import org.jboss.weld.bean.proxy.DecoratorDispatchTable;
 import org.jboss.weld.introspector.WeldClass;
 import org.jboss.weld.introspector.WeldMethod;
 
@@ -45,4 +46,10 @@ public interface WeldDecorator<T> extends Decorator<T>
     */
    public WeldMethod<?,?> getDecoratorMethod(Method method);
    
+   /**
+    * Returns the table used to dispatch calls on the delegate to the methods
+    * of a decorator instance
+    */
+   public DecoratorDispatchTable getDispatchTable();
+   
 }
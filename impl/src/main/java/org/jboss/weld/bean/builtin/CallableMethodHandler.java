@@ -55,7 +55,10 @@ public class CallableMethodHandler implements MethodHandler, Serializable
       try
       {
          Object returnValue = SecureReflections.invoke(instance, proxiedMethod, args);
-         log.trace(CALL_PROXIED_METHOD, proxiedMethod, instance, args, returnValue == null ? null : returnValue);
+         if (log.isTraceEnabled())
+         {
+            log.trace(CALL_PROXIED_METHOD, proxiedMethod, instance, args, returnValue == null ? null : returnValue);
+         }
          return returnValue;
       }
       catch (InvocationTargetException e) 
@@ -25,8 +25,8 @@ import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 
 import javax.enterprise.context.spi.CreationalContext;
@@ -44,6 +44,9 @@ import org.jboss.weld.resolution.ResolvableBuilder;
 import org.jboss.weld.util.reflection.Formats;
 import org.jboss.weld.util.reflection.Reflections;
 
+import com.google.common.base.Function;
+import com.google.common.collect.Iterators;
+
 /**
  * Helper implementation for Instance for getting instances
  * 
@@ -91,6 +94,37 @@ public class InstanceImpl<T> extends AbstractFacade<T, Instance<T>> implements I
       
    }
 
+   /**
+    * The beans resolved for an instance, bound to the generation of the bean
+    * resolver they were resolved against
+    */
+   private static class Resolution
+   {
+      
+      private final int generation;
+      private final Set<Bean<?>> beans;
+      // The beans to return references to when iterating
+      private final List<Bean<?>> iterableBeans;
+      // The bean to return a reference to from get(), resolved on first use
+      private volatile Bean<?> bean;
+      
+      private Resolution(int generation, Set<Bean<?>> beans)
+      {
+         this.generation = generation;
+         this.beans = beans;
+         this.iterableBeans = new ArrayList<Bean<?>>(beans.size());
+         for (Bean<?> bean : beans)
+         {
+            // Don't return the InjectionPoint bean, it's not a possible to inject an instance of that!
+            if (!InjectionPoint.class.isAssignableFrom(bean.getBeanClass()))
+            {
+               iterableBeans.add(bean);
+            }
+         }
+      }
+      
+   }
+
    private static final long serialVersionUID = -376721889693284887L;
 
    public static <I> Instance<I> of(InjectionPoint injectionPoint, CreationalContext<I> creationalContext, BeanManagerImpl beanManager)
@@ -98,20 +132,45 @@ public class InstanceImpl<T> extends AbstractFacade<T, Instance<T>> implements I
       return new InstanceImpl<I>(injectionPoint, creationalContext, beanManager);
    }
    
+   // Generate a correct injection point for the bean, we do this by taking the original injection point and adjusting the qualifiers and type
+   private final transient InjectionPoint instanceInjectionPoint;
+   private transient volatile Resolution resolution;
+   
    private InstanceImpl(InjectionPoint injectionPoint, CreationalContext<? super T> creationalContext, BeanManagerImpl beanManager)
    {
       super(injectionPoint, creationalContext, beanManager);
+      this.instanceInjectionPoint = new InstanceInjectionPoint(getInjectionPoint(), getType(), getQualifiers());
+   }
+   
+   /**
+    * Get the beans resolved for this instance, resolving them again if the
+    * bean resolver has been cleared since they were resolved
+    */
+   private Resolution getResolution()
+   {
+      int generation = getBeanManager().getBeanResolver().getGeneration();
+      Resolution resolution = this.resolution;
+      if (resolution == null || resolution.generation != generation)
+      {
+         resolution = new Resolution(generation, getBeanManager().getBeans(getType(), getQualifiers()));
+         this.resolution = resolution;
+      }
+      return resolution;
    }
    
    public T get()
    {      
-      Bean<?> bean = getBeanManager().getBean(new ResolvableBuilder(getType()).addQualifiers(getQualifiers()).setDeclaringBean(getInjectionPoint().getBean()).create());
-      // Generate a correct injection point for the bean, we do this by taking the original injection point and adjusting the qualifiers and type
-      InjectionPoint ip = new InstanceInjectionPoint(getInjectionPoint(), getType(), getQualifiers());
+      Resolution resolution = getResolution();
+      Bean<?> bean = resolution.bean;
+      if (bean == null)
+      {
+         bean = getBeanManager().getBean(new ResolvableBuilder(getType()).addQualifiers(getQualifiers()).setDeclaringBean(getInjectionPoint().getBean()).create());
+         resolution.bean = bean;
+      }
       CurrentInjectionPoint currentInjectionPoint = Container.instance().services().get(CurrentInjectionPoint.class);
       try
       {   
-         currentInjectionPoint.push(ip);
+         currentInjectionPoint.push(instanceInjectionPoint);
          return Reflections.<T>cast(getBeanManager().getReference(bean, getType(), getCreationalContext()));
       }
       finally
@@ -131,34 +190,32 @@ public class InstanceImpl<T> extends AbstractFacade<T, Instance<T>> implements I
       return Formats.formatAnnotations(getQualifiers()) + " Instance<" + Formats.formatType(getType()) + ">";
    }
    
-   private Set<Bean<?>> getBeans()
-   {
-      return getBeanManager().getBeans(getType(), getQualifiers());
-   }
-   
+   /**
+    * Iterate over references to the beans, creating each reference as it is
+    * reached
+    */
    public Iterator<T> iterator()
    {
-      Collection<T> instances = new ArrayList<T>();
-      for (Bean<?> bean : getBeans())
+      return Iterators.transform(Iterators.unmodifiableIterator(getResolution().iterableBeans.iterator()), new Function<Bean<?>, T>()
       {
-         // Don't return the InjectionPoint bean, it's not a possible to inject an instance of that!
-         if (!InjectionPoint.class.isAssignableFrom(bean.getBeanClass()))
+
+         public T apply(Bean<?> bean)
          {
             Object object = getBeanManager().getReference(bean, getType(), getBeanManager().createCreationalContext(bean));
-            instances.add(Reflections.<T>cast(object));
+            return Reflections.<T>cast(object);
          }
-      }
-      return instances.iterator();
+
+      });
    }
 
    public boolean isAmbiguous()
    {
-      return getBeans().size() > 1;
+      return getResolution().beans.size() > 1;
    }
 
    public boolean isUnsatisfied()
    {
-      return getBeans().size() == 0;
+      return getResolution().beans.size() == 0;
    }
 
    public Instance<T> select(Annotation... qualifiers)
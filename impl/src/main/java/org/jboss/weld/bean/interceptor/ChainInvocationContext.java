@@ -0,0 +1,134 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bean.interceptor;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.interceptor.InvocationContext;
+
+import org.jboss.weld.bean.interceptor.InterceptorChains.Link;
+
+/**
+ * The invocation context of a business method called through a precomputed
+ * interceptor chain.
+ *
+ * @author Pete Muir
+ *
+ */
+class ChainInvocationContext implements InvocationContext
+{
+
+   private final Object target;
+   private final Method method;
+   private Object[] parameters;
+   private final Link[] chain;
+   private final Object[] interceptorInstances;
+   private Map<String, Object> contextData;
+   private int position;
+
+   ChainInvocationContext(Object target, Method method, Object[] parameters, Link[] chain, Object[] interceptorInstances)
+   {
+      this.target = target;
+      this.method = method;
+      this.parameters = parameters;
+      this.chain = chain;
+      this.interceptorInstances = interceptorInstances;
+   }
+
+   public Object getTarget()
+   {
+      return target;
+   }
+
+   public Method getMethod()
+   {
+      return method;
+   }
+
+   public Object[] getParameters()
+   {
+      return parameters;
+   }
+
+   public void setParameters(Object[] params)
+   {
+      int length = params == null ? 0 : params.length;
+      if (length != method.getParameterTypes().length)
+      {
+         throw new IllegalArgumentException("Wrong number of parameters for " + method + ": " + length);
+      }
+      this.parameters = params;
+   }
+
+   public Map<String, Object> getContextData()
+   {
+      if (contextData == null)
+      {
+         contextData = new HashMap<String, Object>();
+      }
+      return contextData;
+   }
+
+   public Object getTimer()
+   {
+      return null;
+   }
+
+   public Object proceed() throws Exception
+   {
+      try
+      {
+         if (position < chain.length)
+         {
+            Link link = chain[position++];
+            try
+            {
+               Object interceptorInstance = link.getInterceptorIndex() == InterceptorChains.TARGET_CLASS ? target : interceptorInstances[link.getInterceptorIndex()];
+               return link.getMethod().invoke(interceptorInstance, this);
+            }
+            finally
+            {
+               position--;
+            }
+         }
+         else
+         {
+            return method.invoke(target, parameters);
+         }
+      }
+      catch (InvocationTargetException e)
+      {
+         Throwable cause = e.getCause();
+         if (cause instanceof Exception)
+         {
+            throw (Exception) cause;
+         }
+         else if (cause instanceof Error)
+         {
+            throw (Error) cause;
+         }
+         else
+         {
+            throw new RuntimeException(cause);
+         }
+      }
+   }
+
+}
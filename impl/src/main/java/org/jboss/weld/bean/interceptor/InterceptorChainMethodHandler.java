@@ -0,0 +1,89 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bean.interceptor;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.List;
+
+import javassist.util.proxy.MethodHandler;
+
+import org.jboss.interceptor.spi.instance.InterceptorInstantiator;
+import org.jboss.interceptor.spi.metadata.InterceptorMetadata;
+import org.jboss.interceptor.spi.metadata.InterceptorReference;
+import org.jboss.weld.bean.interceptor.InterceptorChains.Link;
+import org.jboss.weld.util.reflection.Reflections;
+
+/**
+ * Calls the around invoke interceptors of a business method using the
+ * {@link InterceptorChains} of the bean, leaving anything else (lifecycle
+ * callbacks, timeouts) to the method handler of the interceptor library.
+ *
+ * The interceptor instances are obtained from the instantiator used by the
+ * interceptor library, so both handlers share them.
+ *
+ * @author Pete Muir
+ *
+ */
+public class InterceptorChainMethodHandler implements MethodHandler, Serializable
+{
+
+   private static final long serialVersionUID = -4411016541361290395L;
+
+   private final transient InterceptorChains chains;
+   private final transient Object[] interceptorInstances;
+   private final MethodHandler delegate;
+
+   public InterceptorChainMethodHandler(InterceptorChains chains, InterceptorInstantiator<?, Object> interceptorInstantiator, MethodHandler delegate)
+   {
+      this.chains = chains;
+      this.delegate = delegate;
+      List<InterceptorMetadata<?>> interceptors = chains.getInterceptors();
+      this.interceptorInstances = new Object[interceptors.size()];
+      for (int i = 0; i < interceptorInstances.length; i++)
+      {
+         InterceptorReference<Object> interceptorReference = Reflections.cast(interceptors.get(i).getInterceptorReference());
+         interceptorInstances[i] = interceptorInstantiator.createFor(interceptorReference);
+      }
+   }
+
+   public Object invoke(Object self, Method thisMethod, Method proceed, Object[] args) throws Throwable
+   {
+      if (proceed != null)
+      {
+         Link[] chain = chains.getChain(thisMethod);
+         if (chain != null)
+         {
+            return new ChainInvocationContext(self, thisMethod, args, chain, interceptorInstances).proceed();
+         }
+      }
+      return delegate.invoke(self, thisMethod, proceed, args);
+   }
+
+   public InterceptorChains getChains()
+   {
+      return chains;
+   }
+
+   private Object writeReplace() throws ObjectStreamException
+   {
+      // The chains are not serializable, so the library handler takes over
+      return delegate;
+   }
+
+}
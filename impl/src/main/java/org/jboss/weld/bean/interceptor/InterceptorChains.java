@@ -0,0 +1,159 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bean.interceptor;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.interceptor.spi.metadata.InterceptorMetadata;
+import org.jboss.interceptor.spi.metadata.MethodMetadata;
+import org.jboss.interceptor.spi.model.InterceptionModel;
+import org.jboss.interceptor.spi.model.InterceptionType;
+import org.jboss.weld.util.reflection.SecureReflections;
+
+/**
+ * The around invoke interceptor chain of each business method of a bean,
+ * built once per bean and shared by all its instances.
+ *
+ * Each link of a chain is an interceptor method, along with the index of the
+ * interceptor it is declared by in {@link #getInterceptors()}, or
+ * {@link #TARGET_CLASS} if it is declared by the bean class. Calling an
+ * intercepted method then only needs the interceptor instances of the bean
+ * instance, and no lists or maps are built.
+ *
+ * @author Pete Muir
+ *
+ */
+public class InterceptorChains
+{
+
+   /**
+    * The interceptor index of an interceptor method declared by the bean class
+    */
+   public static final int TARGET_CLASS = -1;
+
+   private static final Link[] EMPTY_CHAIN = new Link[0];
+
+   static class Link
+   {
+
+      private final int interceptorIndex;
+      private final Method method;
+
+      private Link(int interceptorIndex, Method method)
+      {
+         this.interceptorIndex = interceptorIndex;
+         this.method = SecureReflections.ensureAccessible(method);
+      }
+
+      int getInterceptorIndex()
+      {
+         return interceptorIndex;
+      }
+
+      Method getMethod()
+      {
+         return method;
+      }
+
+   }
+
+   private final List<InterceptorMetadata<?>> interceptors;
+   private final Map<Method, Link[]> chains;
+
+   /**
+    * @param interceptionModel the interception model of the bean, may be null
+    *           if only the bean class declares interceptor methods
+    * @param targetClassMetadata the interceptor metadata of the bean class
+    * @param businessMethods the methods intercepted around invoke
+    */
+   public InterceptorChains(InterceptionModel<?, ?> interceptionModel, InterceptorMetadata<?> targetClassMetadata, Iterable<Method> businessMethods)
+   {
+      List<InterceptorMetadata<?>> interceptors = new ArrayList<InterceptorMetadata<?>>();
+      Map<Method, Link[]> chains = new HashMap<Method, Link[]>();
+      for (Method method : businessMethods)
+      {
+         List<Link> chain = new ArrayList<Link>();
+         if (interceptionModel != null)
+         {
+            for (InterceptorMetadata<?> interceptor : interceptionModel.getInterceptors(InterceptionType.AROUND_INVOKE, method))
+            {
+               int interceptorIndex = interceptors.indexOf(interceptor);
+               if (interceptorIndex < 0)
+               {
+                  interceptorIndex = interceptors.size();
+                  interceptors.add(interceptor);
+               }
+               addLinks(chain, interceptorIndex, interceptor);
+            }
+         }
+         // The interceptor methods of the bean class come last
+         addLinks(chain, TARGET_CLASS, targetClassMetadata);
+         chains.put(method, chain.isEmpty() ? EMPTY_CHAIN : chain.toArray(new Link[chain.size()]));
+      }
+      this.interceptors = Collections.unmodifiableList(interceptors);
+      this.chains = chains;
+   }
+
+   private static void addLinks(List<Link> chain, int interceptorIndex, InterceptorMetadata<?> interceptor)
+   {
+      if (interceptor != null)
+      {
+         for (MethodMetadata interceptorMethod : interceptor.getInterceptorMethods(InterceptionType.AROUND_INVOKE))
+         {
+            chain.add(new Link(interceptorIndex, interceptorMethod.getJavaMethod()));
+         }
+      }
+   }
+
+   /**
+    * The interceptors taking part in a chain, each of which is instantiated
+    * once for each bean instance
+    */
+   public List<InterceptorMetadata<?>> getInterceptors()
+   {
+      return interceptors;
+   }
+
+   /**
+    * Get the chain of a method
+    *
+    * @param method the method called
+    * @return the chain, or null if the method isn't intercepted around invoke
+    */
+   Link[] getChain(Method method)
+   {
+      return chains.get(method);
+   }
+
+   /**
+    * Get the number of links in the chain of a method
+    *
+    * @return the number of links, or -1 if the method isn't intercepted
+    *         around invoke
+    */
+   public int getChainLength(Method method)
+   {
+      Link[] chain = chains.get(method);
+      return chain == null ? -1 : chain.length;
+   }
+
+}
@@ -3,6 +3,10 @@ package org.jboss.weld.bean.interceptor;
 import static org.jboss.weld.util.reflection.Reflections.cast;
 
 import java.lang.reflect.Constructor;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.enterprise.context.spi.CreationalContext;
 import javax.enterprise.inject.spi.AnnotatedType;
@@ -25,31 +29,103 @@ import org.jboss.weld.util.reflection.SecureReflections;
 public class WeldInterceptorInstantiator<T> implements InterceptorInstantiator<T, Object>
 {
 
+   /**
+    * Holds the constructor and injection target of each interceptor class
+    * which is not a managed interceptor (e.g. declared using
+    * <code>@Interceptors</code>), so that they are only looked up once, rather
+    * than for every intercepted instance.
+    *
+    * @author Pete Muir
+    *
+    */
+   public static class ClassInterceptorFactories
+   {
+
+      private final ConcurrentMap<Class<?>, ClassInterceptorFactory<?>> factories;
+
+      public ClassInterceptorFactories()
+      {
+         this.factories = new ConcurrentHashMap<Class<?>, ClassInterceptorFactory<?>>();
+      }
+
+      private <I> ClassInterceptorFactory<I> get(Class<I> clazz, BeanManagerImpl manager) throws NoSuchMethodException
+      {
+         ClassInterceptorFactory<I> factory = cast(factories.get(clazz));
+         if (factory == null)
+         {
+            // Idempotent, so a concurrent creation is harmless
+            factory = new ClassInterceptorFactory<I>(clazz, manager);
+            factories.putIfAbsent(clazz, factory);
+         }
+         return factory;
+      }
+
+   }
+
+   private static class ClassInterceptorFactory<I>
+   {
+
+      private final Constructor<I> constructor;
+      private final InjectionTarget<I> injectionTarget;
+
+      private ClassInterceptorFactory(Class<I> clazz, BeanManagerImpl manager) throws NoSuchMethodException
+      {
+         // this is not a managed instance - assume no-argument constructor exists
+         this.constructor = SecureReflections.ensureAccessible(SecureReflections.getDeclaredConstructor(clazz));
+         AnnotatedType<I> type = manager.createAnnotatedType(clazz);
+         this.injectionTarget = manager.createInjectionTarget(type);
+      }
+
+      private I create(CreationalContext<?> creationalContext) throws Exception
+      {
+         I interceptorInstance = constructor.newInstance();
+         injectionTarget.inject(interceptorInstance, Reflections.<CreationalContext<I>>cast(creationalContext));
+         return interceptorInstance;
+      }
+
+   }
+
    private BeanManagerImpl manager;
 
    private CreationalContext<T> creationalContext;
 
+   private ClassInterceptorFactories classInterceptorFactories;
+
+   // Each interceptor is only instantiated once for the intercepted instance,
+   // so that all interception types share the interceptor instance
+   private final Map<InterceptorReference<?>, T> interceptorInstances = new HashMap<InterceptorReference<?>, T>();
+
    public WeldInterceptorInstantiator(BeanManagerImpl manager, CreationalContext<T> creationalContext)
+   {
+      this(manager, creationalContext, new ClassInterceptorFactories());
+   }
+
+   public WeldInterceptorInstantiator(BeanManagerImpl manager, CreationalContext<T> creationalContext, ClassInterceptorFactories classInterceptorFactories)
    {
       this.manager = manager;
       this.creationalContext = creationalContext;
+      this.classInterceptorFactories = classInterceptorFactories;
    }
 
    public T createFor(InterceptorReference<Object> interceptorReference)
+   {
+      T interceptorInstance = interceptorInstances.get(interceptorReference);
+      if (interceptorInstance == null)
+      {
+         interceptorInstance = newInstance(interceptorReference);
+         interceptorInstances.put(interceptorReference, interceptorInstance);
+      }
+      return interceptorInstance;
+   }
+
+   private T newInstance(InterceptorReference<Object> interceptorReference)
    {
       if (interceptorReference.getInterceptor() instanceof ClassMetadata<?>)
       {
          try
          {
-            // this is not a managed instance - assume no-argument constructor exists
             Class<T> clazz = cast(interceptorReference.getClassMetadata().getJavaClass());
-            Constructor<T> constructor = SecureReflections.getDeclaredConstructor(clazz);
-            T interceptorInstance = SecureReflections.ensureAccessible(constructor).newInstance();
-            // inject
-            AnnotatedType<T> type = manager.createAnnotatedType(clazz);
-            InjectionTarget<T> target = manager.createInjectionTarget(type);
-            target.inject(interceptorInstance, creationalContext);
-            return interceptorInstance;
+            return classInterceptorFactories.get(clazz, manager).create(creationalContext);
          }
          catch (Exception e)
          {
@@ -44,7 +44,12 @@ public abstract class AbstractBeanInstance implements BeanInstance
       Object result = null;
       try
       {
-         SecureReflections.ensureAccessible(method);
+         // generated proxies hold on to the method, so we only need to make it
+         // accessible once
+         if (!method.isAccessible())
+         {
+            SecureReflections.ensureAccessible(method);
+         }
          result = method.invoke(instance, arguments);
       }
       catch (InvocationTargetException e)
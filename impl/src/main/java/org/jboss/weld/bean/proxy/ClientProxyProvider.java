@@ -95,7 +95,10 @@ public class ClientProxyProvider
       ContextBeanInstance<T> beanInstance = new ContextBeanInstance<T>(bean, id);
       TypeInfo typeInfo = TypeInfo.of(bean.getTypes());
       T proxy = new ClientProxyFactory<T>(typeInfo.getSuperClass(), bean.getTypes(), bean).create(beanInstance);
-      log.trace(CREATED_NEW_CLIENT_PROXY_TYPE, proxy.getClass(), bean, id);
+      if (log.isTraceEnabled())
+      {
+         log.trace(CREATED_NEW_CLIENT_PROXY_TYPE, proxy.getClass(), bean, id);
+      }
       return proxy;
    }
 
@@ -111,7 +114,10 @@ public class ClientProxyProvider
    public <T> T getClientProxy(final Bean<T> bean)
    {
       T proxy = Reflections.<T>cast(pool.get(bean));
-      log.trace(LOOKED_UP_CLIENT_PROXY, proxy.getClass(), bean);
+      if (log.isTraceEnabled())
+      {
+         log.trace(LOOKED_UP_CLIENT_PROXY, proxy.getClass(), bean);
+      }
       return proxy;
    }
 
@@ -1,12 +1,8 @@
 package org.jboss.weld.bean.proxy;
 
-import static org.jboss.weld.bean.proxy.InterceptionDecorationContext.endInterceptorContext;
-import static org.jboss.weld.bean.proxy.InterceptionDecorationContext.startInterceptorContext;
-
 import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.Set;
 
 import javassist.util.proxy.MethodHandler;
 
@@ -30,34 +26,33 @@ public class CombinedInterceptorAndDecoratorStackMethodHandler implements Method
       this.interceptorMethodHandler = interceptorMethodHandler;
    }
 
-   public void setOuterDecorator(Object outerDecorator)
+   public MethodHandler getInterceptorMethodHandler()
    {
-      this.outerDecorator = outerDecorator;
+      return interceptorMethodHandler;
    }
 
-   private Set<CombinedInterceptorAndDecoratorStackMethodHandler> getDisabledHandlers()
+   public void setOuterDecorator(Object outerDecorator)
    {
-
-      return InterceptionDecorationContext.peek();
+      this.outerDecorator = outerDecorator;
    }
 
    public Object invoke(Object self, Method thisMethod, Method proceed, Object[] args) throws Throwable
    {
+      Object[] stack = InterceptionDecorationContext.getStack();
       boolean externalContext = false;
 
       try
       {
-         if (InterceptionDecorationContext.empty())
+         if (InterceptionDecorationContext.empty(stack))
          {
             externalContext = true;
-            startInterceptorContext();
+            InterceptionDecorationContext.startFrame(stack);
          }
-         if (!getDisabledHandlers().contains(this))
+         if (!InterceptionDecorationContext.isDisabled(stack, this))
          {
             try
             {
-
-               getDisabledHandlers().add(this);
+               InterceptionDecorationContext.disable(stack, this);
                if (interceptorMethodHandler != null)
                {
                   if (proceed != null)
@@ -73,16 +68,16 @@ public class CombinedInterceptorAndDecoratorStackMethodHandler implements Method
                {
                   if (outerDecorator != null)
                   {
-                     return SecureReflections.invoke(outerDecorator, thisMethod, args);
+                     return invokeReflectively(outerDecorator, thisMethod, args);
                   }
                }
             }
             finally
             {
-               this.getDisabledHandlers().remove(this);
+               InterceptionDecorationContext.enable(stack, this);
             }
          }
-         return SecureReflections.invoke(self, proceed, args);
+         return invokeReflectively(self, proceed, args);
       }
       catch (InvocationTargetException e)
       {
@@ -92,19 +87,28 @@ public class CombinedInterceptorAndDecoratorStackMethodHandler implements Method
       {
          if (externalContext)
          {
-            endInterceptorContext();
+            InterceptionDecorationContext.endFrame(stack);
          }
       }
    }
 
    public boolean isDisabledHandler()
    {
-      if (InterceptionDecorationContext.empty())
+      return InterceptionDecorationContext.isDisabled(this);
+   }
+
+   private static Object invokeReflectively(Object instance, Method method, Object[] args) throws Throwable
+   {
+      // Only go through the privileged action the first time the method is
+      // used, after which it is accessible
+      if (method.isAccessible())
       {
-         return false;
+         return method.invoke(instance, args);
+      }
+      else
+      {
+         return SecureReflections.invoke(instance, method, args);
       }
-      return getDisabledHandlers().contains(this);
    }
 
-
 }
\ No newline at end of file
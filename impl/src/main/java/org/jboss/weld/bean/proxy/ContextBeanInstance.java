@@ -21,12 +21,14 @@ import static org.jboss.weld.util.reflection.Reflections.cast;
 
 import java.io.Serializable;
 
+import javax.enterprise.context.RequestScoped;
 import javax.enterprise.context.spi.Context;
 import javax.enterprise.inject.spi.Bean;
 
 import org.jboss.weld.Container;
 import org.jboss.weld.context.CreationalContextImpl;
 import org.jboss.weld.context.WeldCreationalContext;
+import org.jboss.weld.context.cache.RequestScopedBeanCache;
 import org.jboss.weld.injection.CurrentInjectionPoint;
 import org.jboss.weld.injection.EmptyInjectionPoint;
 import org.jboss.weld.serialization.spi.ContextualStore;
@@ -35,6 +37,13 @@ import org.jboss.weld.serialization.spi.ContextualStore;
  * An instance locator that uses a context to lookup the instance if
  * it exists; otherwise, a new instance will be created from the
  * bean.
+ * <p>
+ * The active context is held on to for as long as it remains active, so that
+ * a call through the proxy usually needs just the one lookup in the context.
+ * Whilst a request context which takes part in the
+ * {@link RequestScopedBeanCache} is active, the instance of a request scoped
+ * bean is also memoized in a thread local until the request ends, and no
+ * lookup in the context is needed at all.
  * 
  * @author David Allen
  *
@@ -49,6 +58,10 @@ public class ContextBeanInstance<T> extends AbstractBeanInstance implements Seri
    private final String id;
    // The actual type of the resulting bean instance
    private final Class<?> instanceType;
+   // The context the instance was last obtained from
+   private transient volatile Context context;
+   // The memoized instance for the current request, if request scoped
+   private transient volatile ThreadLocal<T> currentRequestInstance;
 
    private static final ThreadLocal<WeldCreationalContext<?>> currentCreationalContext = new ThreadLocal<WeldCreationalContext<?>>();
 
@@ -64,23 +77,69 @@ public class ContextBeanInstance<T> extends AbstractBeanInstance implements Seri
       this.bean = bean;
       this.id = id;
       this.instanceType = computeInstanceType(bean);
-      log.trace("Created context instance locator for bean " + bean + " identified as " + id);
+      if (log.isTraceEnabled())
+      {
+         log.trace("Created context instance locator for bean " + bean + " identified as " + id);
+      }
    }
 
    public T getInstance()
    {
-      Container container = Container.instance();
+      ThreadLocal<T> currentRequestInstance = getCurrentRequestInstance();
+      if (currentRequestInstance != null)
+      {
+         T instance = currentRequestInstance.get();
+         if (instance != null)
+         {
+            return instance;
+         }
+      }
+      Context context = this.context;
+      if (context == null || !context.isActive())
+      {
+         context = Container.instance().deploymentManager().getContext(getBean().getScope());
+         this.context = context;
+      }
+      T existingInstance = context.get(bean);
+      if (existingInstance != null)
+      {
+         memoize(currentRequestInstance, existingInstance);
+         return existingInstance;
+      }
+      T instance = createInstance(context);
+      memoize(currentRequestInstance, instance);
+      return instance;
+   }
+
+   private Bean<T> getBean()
+   {
       if (bean == null)
       {
-         bean = container.services().get(ContextualStore.class).<Bean<T>, T>getContextual(id);
+         bean = Container.instance().services().get(ContextualStore.class).<Bean<T>, T>getContextual(id);
       }
-      Context context = container.deploymentManager().getContext(bean.getScope());
-      
-      if(context.get(bean) != null)
+      return bean;
+   }
+
+   private ThreadLocal<T> getCurrentRequestInstance()
+   {
+      if (currentRequestInstance == null && RequestScoped.class.equals(getBean().getScope()))
       {
-         return context.get(bean);
+         currentRequestInstance = new ThreadLocal<T>();
       }
-      
+      return currentRequestInstance;
+   }
+
+   private static <T> void memoize(ThreadLocal<T> currentRequestInstance, T instance)
+   {
+      if (currentRequestInstance != null && instance != null && RequestScopedBeanCache.addItemIfActive(currentRequestInstance))
+      {
+         currentRequestInstance.set(instance);
+      }
+   }
+
+   private T createInstance(Context context)
+   {
+      Container container = Container.instance();
       WeldCreationalContext<T> creationalContext;
       WeldCreationalContext<?> previousCreationalContext = currentCreationalContext.get();
       if (currentCreationalContext.get() == null)
@@ -17,10 +17,6 @@
 
 package org.jboss.weld.bean.proxy;
 
-import static org.jboss.weld.logging.messages.BeanMessage.PROXY_INSTANTIATION_BEAN_ACCESS_FAILED;
-import static org.jboss.weld.logging.messages.BeanMessage.PROXY_INSTANTIATION_FAILED;
-
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Stack;
 
@@ -30,11 +26,9 @@ import javax.enterprise.inject.spi.Decorator;
 import javax.enterprise.inject.spi.InjectionPoint;
 
 import org.jboss.weld.context.SerializableContextualInstanceImpl;
-import org.jboss.weld.exceptions.WeldException;
 import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.serialization.spi.ContextualStore;
 import org.jboss.weld.util.reflection.Reflections;
-import org.jboss.weld.util.reflection.SecureReflections;
 
 /**
  * @author Marius Bogoevici
@@ -49,7 +43,7 @@ public class DecorationHelper<T>
       }
    };
 
-   private final Class<T> proxyClassForDecorator;
+   private final DecoratorChain<T> decoratorChain;
 
    private final TargetBeanInstance targetBeanInstance;
 
@@ -65,14 +59,14 @@ public class DecorationHelper<T>
 
    List<Decorator<?>> decorators;
 
-   public DecorationHelper(TargetBeanInstance originalInstance, Bean<?> bean, Class<T> proxyClassForDecorator, BeanManagerImpl beanManager, ContextualStore contextualStore, List<Decorator<?>> decorators)
+   public DecorationHelper(TargetBeanInstance originalInstance, Bean<?> bean, DecoratorChain<T> decoratorChain, BeanManagerImpl beanManager, ContextualStore contextualStore)
    {
       this.originalInstance = Reflections.<T>cast(originalInstance.getInstance());
       this.targetBeanInstance = originalInstance;
       this.beanManager = beanManager;
       this.contextualStore = contextualStore;
-      this.decorators = new LinkedList<Decorator<?>>(decorators);
-      this.proxyClassForDecorator = proxyClassForDecorator;
+      this.decorators = decoratorChain.getDecorators();
+      this.decoratorChain = decoratorChain;
       this.bean = bean;
       counter = 0;
    }
@@ -98,24 +92,12 @@ public class DecorationHelper<T>
       }
       else
       {
-         try
-         {
-            T proxy = SecureReflections.newInstance(proxyClassForDecorator);
-            TargetBeanInstance newTargetBeanInstance = new TargetBeanInstance(targetBeanInstance);
-            newTargetBeanInstance.setInterceptorsHandler(createMethodHandler(injectionPoint, creationalContext, Reflections.<Decorator<Object>>cast(decorators.get(counter++))));
-            ProxyFactory.setBeanInstance(proxy, newTargetBeanInstance, bean);
-            previousDelegate = proxy;
-            return proxy;
-         }
-         catch (InstantiationException e)
-         {
-            throw new WeldException(PROXY_INSTANTIATION_FAILED, e, this);
-         }
-         catch (IllegalAccessException e)
-         {
-            throw new WeldException(PROXY_INSTANTIATION_BEAN_ACCESS_FAILED, e, this);
-         }
-
+         T proxy = decoratorChain.newProxy();
+         TargetBeanInstance newTargetBeanInstance = new TargetBeanInstance(targetBeanInstance);
+         newTargetBeanInstance.setInterceptorsHandler(createMethodHandler(injectionPoint, creationalContext, Reflections.<Decorator<Object>>cast(decorators.get(counter++))));
+         ProxyFactory.setBeanInstance(proxy, newTargetBeanInstance, bean);
+         previousDelegate = proxy;
+         return proxy;
       }
    }
 
@@ -0,0 +1,116 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bean.proxy;
+
+import static org.jboss.weld.logging.messages.BeanMessage.PROXY_INSTANTIATION_BEAN_ACCESS_FAILED;
+import static org.jboss.weld.logging.messages.BeanMessage.PROXY_INSTANTIATION_FAILED;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.Decorator;
+
+import org.jboss.weld.exceptions.WeldException;
+import org.jboss.weld.util.reflection.SecureReflections;
+
+/**
+ * The decorators of a bean, along with the proxy class used to delegate
+ * from one decorator to the next. A bean creates its chain when the first
+ * instance is decorated and reuses it for every instance after, so that
+ * decorating an instance doesn't need to find the proxy class in the class
+ * loader or look up its constructor.
+ *
+ * @author Pete Muir
+ *
+ */
+public class DecoratorChain<T>
+{
+
+   /**
+    * Create the chain for a bean, generating the proxy class if needed
+    *
+    * @param bean the decorated bean
+    * @param proxyFactory the factory for the proxy class
+    * @param decorators the decorators of the bean, outermost first
+    */
+   public static <T> DecoratorChain<T> of(Bean<?> bean, ProxyFactory<T> proxyFactory, List<Decorator<?>> decorators)
+   {
+      return new DecoratorChain<T>(bean, proxyFactory.getProxyClass(), decorators);
+   }
+
+   private final Bean<?> bean;
+   private final Class<T> proxyClass;
+   private final Constructor<T> proxyConstructor;
+   private final List<Decorator<?>> decorators;
+
+   public DecoratorChain(Bean<?> bean, Class<T> proxyClass, List<Decorator<?>> decorators)
+   {
+      this.bean = bean;
+      this.proxyClass = proxyClass;
+      try
+      {
+         this.proxyConstructor = SecureReflections.ensureAccessible(SecureReflections.getDeclaredConstructor(proxyClass));
+      }
+      catch (NoSuchMethodException e)
+      {
+         throw new WeldException(PROXY_INSTANTIATION_FAILED, e, bean);
+      }
+      this.decorators = Collections.unmodifiableList(new ArrayList<Decorator<?>>(decorators));
+   }
+
+   public Class<T> getProxyClass()
+   {
+      return proxyClass;
+   }
+
+   /**
+    * The decorators of the bean, outermost first
+    */
+   public List<Decorator<?>> getDecorators()
+   {
+      return decorators;
+   }
+
+   /**
+    * Create a proxy which delegates to a decorator instance, without setting
+    * its method handler
+    */
+   public T newProxy()
+   {
+      try
+      {
+         return proxyConstructor.newInstance();
+      }
+      catch (InstantiationException e)
+      {
+         throw new WeldException(PROXY_INSTANTIATION_FAILED, e, bean);
+      }
+      catch (IllegalAccessException e)
+      {
+         throw new WeldException(PROXY_INSTANTIATION_BEAN_ACCESS_FAILED, e, bean);
+      }
+      catch (InvocationTargetException e)
+      {
+         throw new WeldException(PROXY_INSTANTIATION_FAILED, e.getCause(), bean);
+      }
+   }
+
+}
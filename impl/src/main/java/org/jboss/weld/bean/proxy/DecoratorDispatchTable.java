@@ -0,0 +1,116 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bean.proxy;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.inject.Inject;
+
+import org.jboss.weld.bean.WeldDecorator;
+import org.jboss.weld.exceptions.WeldException;
+import org.jboss.weld.introspector.WeldMethod;
+import org.jboss.weld.util.reflection.SecureReflections;
+
+/**
+ * The dispatch table of a decorator, holding for each method called on a
+ * delegate the method of the decorator instance which decorates it.
+ *
+ * A method is resolved against the decorator once, when first called, after
+ * which the decorator method is looked up by identity and invoked directly.
+ * The decorator method is resolved on the class of the decorator instance,
+ * which for an abstract decorator is a generated subclass.
+ *
+ * @author Pete Muir
+ *
+ */
+public class DecoratorDispatchTable
+{
+
+   private static class Dispatch
+   {
+
+      private final Class<?> decoratorClass;
+      // null if the method isn't decorated
+      private final Method decoratorMethod;
+
+      private Dispatch(Class<?> decoratorClass, Method decoratorMethod)
+      {
+         this.decoratorClass = decoratorClass;
+         this.decoratorMethod = decoratorMethod;
+      }
+
+   }
+
+   private final WeldDecorator<?> decorator;
+   private final ConcurrentMap<Method, Dispatch> dispatches;
+
+   public DecoratorDispatchTable(WeldDecorator<?> decorator)
+   {
+      this.decorator = decorator;
+      this.dispatches = new ConcurrentHashMap<Method, Dispatch>();
+   }
+
+   /**
+    * Get the method of the decorator instance to invoke for a method called on
+    * the delegate. The method returned is accessible.
+    *
+    * @param method the method called on the delegate
+    * @param decoratorClass the class of the decorator instance
+    * @return the decorator method, or null if the decorator doesn't decorate
+    *         the method
+    */
+   public Method getDecoratorMethod(Method method, Class<?> decoratorClass)
+   {
+      Dispatch dispatch = dispatches.get(method);
+      if (dispatch == null || dispatch.decoratorClass != decoratorClass)
+      {
+         // Resolution is idempotent, so it doesn't matter if two threads race
+         dispatch = new Dispatch(decoratorClass, resolve(method, decoratorClass));
+         dispatches.put(method, dispatch);
+      }
+      return dispatch.decoratorMethod;
+   }
+
+   private Method resolve(Method method, Class<?> decoratorClass)
+   {
+      if (method.isAnnotationPresent(Inject.class))
+      {
+         return null;
+      }
+      WeldMethod<?, ?> decoratorMethod = decorator.getDecoratorMethod(method);
+      if (decoratorMethod == null)
+      {
+         return null;
+      }
+      Method javaMethod = decoratorMethod.getJavaMember();
+      if (javaMethod.getDeclaringClass() != decoratorClass)
+      {
+         try
+         {
+            javaMethod = SecureReflections.lookupMethod(decoratorClass, decoratorMethod.getName(), decoratorMethod.getParameterTypesAsArray());
+         }
+         catch (NoSuchMethodException e)
+         {
+            throw new WeldException(e);
+         }
+      }
+      return SecureReflections.ensureAccessible(javaMethod);
+   }
+
+}
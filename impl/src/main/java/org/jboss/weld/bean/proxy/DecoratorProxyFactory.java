@@ -100,7 +100,10 @@ public class DecoratorProxyFactory<T> extends ProxyFactory<T>
       b.addCheckcast("javassist/util/proxy/MethodHandler");
       b.addPutfield(proxyClassType.getName(), "methodHandler", DescriptorUtils.classToStringRepresentation(MethodHandler.class));
       b.add(Opcode.RETURN);
-      log.trace("Created MH initializer body for decorator proxy:  " + getBeanType());
+      if (log.isTraceEnabled())
+      {
+         log.trace("Created MH initializer body for decorator proxy:  " + getBeanType());
+      }
       return b;
    }
 
@@ -144,7 +147,10 @@ public class DecoratorProxyFactory<T> extends ProxyFactory<T>
 
                   if (methodBody != null)
                   {
-                     log.trace("Adding method " + method);
+                     if (log.isTraceEnabled())
+                     {
+                        log.trace("Adding method " + method);
+                     }
                      proxyClassType.addMethod(MethodUtils.makeMethod(methodInfo, method.getExceptionTypes(), methodBody, proxyClassType.getConstPool()));
                   }
                }
@@ -22,12 +22,10 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
 import javax.enterprise.inject.spi.Decorator;
-import javax.inject.Inject;
 
 import org.jboss.interceptor.util.proxy.TargetInstanceProxyMethodHandler;
 import org.jboss.weld.bean.WeldDecorator;
 import org.jboss.weld.exceptions.IllegalStateException;
-import org.jboss.weld.introspector.WeldMethod;
 import org.jboss.weld.serialization.spi.helpers.SerializableContextualInstance;
 import org.jboss.weld.util.reflection.SecureReflections;
 
@@ -81,20 +79,11 @@ public class DecoratorProxyMethodHandler extends TargetInstanceProxyMethodHandle
       if (beanInstance.getContextual().get() instanceof WeldDecorator<?>)
       {
          WeldDecorator<?> decorator = (WeldDecorator<?>) beanInstance.getContextual().get();
-         if (!method.isAnnotationPresent(Inject.class))
+         Object instance = beanInstance.getInstance();
+         Method decoratorMethod = decorator.getDispatchTable().getDecoratorMethod(method, instance.getClass());
+         if (decoratorMethod != null)
          {
-            WeldMethod<?, ?> decoratorMethod = decorator.getDecoratorMethod(method);
-            if (decoratorMethod != null)
-            {
-               try
-               {
-                  return decoratorMethod.invokeOnInstance(beanInstance.getInstance(), args);
-               }
-               catch (InvocationTargetException e)
-               {
-                  throw e.getCause();
-               }
-            }
+            return invoke(instance, decoratorMethod, args);
          }
       }
       else
@@ -102,6 +91,22 @@ public class DecoratorProxyMethodHandler extends TargetInstanceProxyMethodHandle
          throw new IllegalStateException(UNEXPECTED_UNWRAPPED_CUSTOM_DECORATOR, beanInstance.getContextual().get());
       }
 
-      return SecureReflections.invoke(getTargetInstance(), method, args);
+      if (!method.isAccessible())
+      {
+         SecureReflections.ensureAccessible(method);
+      }
+      return invoke(getTargetInstance(), method, args);
+   }
+
+   private static Object invoke(Object instance, Method method, Object[] args) throws Throwable
+   {
+      try
+      {
+         return method.invoke(instance, args);
+      }
+      catch (InvocationTargetException e)
+      {
+         throw e.getCause();
+      }
    }
 }
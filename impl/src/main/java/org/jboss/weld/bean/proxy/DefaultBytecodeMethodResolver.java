@@ -17,17 +17,27 @@
 
 package org.jboss.weld.bean.proxy;
 
+import javassist.bytecode.AccessFlag;
 import javassist.bytecode.Bytecode;
 import javassist.bytecode.ClassFile;
+import javassist.bytecode.DuplicateMemberException;
+import javassist.bytecode.FieldInfo;
 import javassist.bytecode.Opcode;
 
+import org.jboss.weld.exceptions.WeldException;
 import org.jboss.weld.util.bytecode.BytecodeUtils;
+import org.jboss.weld.util.bytecode.JumpMarker;
+import org.jboss.weld.util.bytecode.JumpUtils;
 
 /**
  * A {@link BytecodeMethodResolver} that looks up the method using the
  * reflection API.
  * <p>
- * TODO: cache the result somehow
+ * The method is looked up the first time it is needed and then held in a
+ * private static field of the generated class, so that each invocation
+ * doesn't pay for <code>Class.getDeclaredMethod()</code>. Two threads may
+ * race to look up the method, in which case they simply store equivalent
+ * {@link java.lang.reflect.Method} objects.
  * 
  * @author Stuart Douglas
  * 
@@ -35,7 +45,38 @@ import org.jboss.weld.util.bytecode.BytecodeUtils;
 public class DefaultBytecodeMethodResolver implements BytecodeMethodResolver
 {
 
+   public static final String METHOD_FIELD_PREFIX = "weld$$$method";
+
+   private static final String METHOD_FIELD_DESCRIPTOR = "Ljava/lang/reflect/Method;";
+
    public void getDeclaredMethod(ClassFile file, Bytecode code, String declaringClass, String methodName, String[] parameterTypes)
+   {
+      // every resolved method gets its own field
+      String fieldName = METHOD_FIELD_PREFIX + file.getFields().size();
+      FieldInfo field = new FieldInfo(file.getConstPool(), fieldName, METHOD_FIELD_DESCRIPTOR);
+      field.setAccessFlags(AccessFlag.PRIVATE | AccessFlag.STATIC | AccessFlag.SYNTHETIC);
+      try
+      {
+         file.addField(field);
+      }
+      catch (DuplicateMemberException e)
+      {
+         throw new WeldException(e);
+      }
+      // if the field is already set we leave it on the stack and skip the
+      // lookup
+      code.addGetstatic(file.getName(), fieldName, METHOD_FIELD_DESCRIPTOR);
+      code.add(Opcode.DUP);
+      code.add(Opcode.IFNONNULL);
+      JumpMarker cached = JumpUtils.addJumpInstruction(code);
+      code.add(Opcode.POP);
+      lookupDeclaredMethod(code, declaringClass, methodName, parameterTypes);
+      code.add(Opcode.DUP);
+      code.addPutstatic(file.getName(), fieldName, METHOD_FIELD_DESCRIPTOR);
+      cached.mark();
+   }
+
+   private static void lookupDeclaredMethod(Bytecode code, String declaringClass, String methodName, String[] parameterTypes)
    {
       BytecodeUtils.pushClassType(code, declaringClass);
       // now we have the class on the stack
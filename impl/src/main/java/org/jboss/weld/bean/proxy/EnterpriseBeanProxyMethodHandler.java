@@ -74,7 +74,10 @@ public class EnterpriseBeanProxyMethodHandler<T> implements MethodHandler, Seria
       this.clientCanCallRemoveMethods = bean.isClientCanCallRemoveMethods();
       this.reference = bean.createReference();
       this.stateful = bean.getEjbDescriptor().isStateful();
-      log.trace(CREATED_SESSION_BEAN_PROXY, bean);
+      if (log.isTraceEnabled())
+      {
+         log.trace(CREATED_SESSION_BEAN_PROXY, bean);
+      }
    }
 
    /**
@@ -123,7 +126,10 @@ public class EnterpriseBeanProxyMethodHandler<T> implements MethodHandler, Seria
       try
       {
          Object returnValue = SecureReflections.invoke(proxiedInstance, method, args);
-         log.trace(CALL_PROXIED_METHOD, method, proxiedInstance, args, returnValue);
+         if (log.isTraceEnabled())
+         {
+            log.trace(CALL_PROXIED_METHOD, method, proxiedInstance, args, returnValue);
+         }
          return returnValue;
       }
       catch (InvocationTargetException e)
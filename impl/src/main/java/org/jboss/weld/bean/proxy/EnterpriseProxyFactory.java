@@ -59,7 +59,10 @@ public class EnterpriseProxyFactory<T> extends ProxyFactory<T>
          proxyClassType.addInterface(EnterpriseBeanInstance.class.getName());
          for (Method method : EnterpriseBeanInstance.class.getDeclaredMethods())
          {
-            log.trace("Adding method " + method);
+            if (log.isTraceEnabled())
+            {
+               log.trace("Adding method " + method);
+            }
             MethodInformation methodInfo = new RuntimeMethodInformation(method);
             proxyClassType.addMethod(MethodUtils.makeMethod(methodInfo, method.getExceptionTypes(), createInterceptorBody(proxyClassType, methodInfo), proxyClassType.getConstPool()));
          }
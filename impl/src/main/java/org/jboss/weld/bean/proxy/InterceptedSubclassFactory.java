@@ -123,7 +123,10 @@ public class InterceptedSubclassFactory<T> extends ProxyFactory<T>
                      MethodInformation delegatingMethodInfo = new StaticMethodInformation(method.getName() + SUPER_DELEGATE_SUFFIX, methodInfo.getParameterTypes(), methodInfo.getReturnType(), proxyClassType.getName());
                      proxyClassType.addMethod(MethodUtils.makeMethod(delegatingMethodInfo, method.getExceptionTypes(), createDelegateToSuper(proxyClassType, methodInfo), proxyClassType.getConstPool()));
                      proxyClassType.addMethod(MethodUtils.makeMethod(methodInfo, method.getExceptionTypes(), addConstructedGuardToMethodBody(proxyClassType, createForwardingMethodBody(proxyClassType, methodInfo), methodInfo), proxyClassType.getConstPool()));
-                     log.trace("Adding method " + method);
+                     if (log.isTraceEnabled())
+                     {
+                        log.trace("Adding method " + method);
+                     }
                   }
                   catch (DuplicateMemberException e)
                   {
@@ -142,7 +145,10 @@ public class InterceptedSubclassFactory<T> extends ProxyFactory<T>
                {
                   MethodInformation methodInformation = new RuntimeMethodInformation(method);
                   proxyClassType.addMethod(MethodUtils.makeMethod(methodInformation, method.getExceptionTypes(), createSpecialMethodBody(proxyClassType, methodInformation), proxyClassType.getConstPool()));
-                  log.trace("Adding method " + method);
+                  if (log.isTraceEnabled())
+                  {
+                     log.trace("Adding method " + method);
+                  }
                }
                catch (DuplicateMemberException e)
                {
@@ -343,7 +349,10 @@ public class InterceptedSubclassFactory<T> extends ProxyFactory<T>
          // Add special methods for interceptors
          for (Method method : LifecycleMixin.class.getDeclaredMethods())
          {
-            log.trace("Adding method " + method);
+            if (log.isTraceEnabled())
+            {
+               log.trace("Adding method " + method);
+            }
             MethodInformation methodInfo = new RuntimeMethodInformation(method);
             proxyClassType.addMethod(MethodUtils.makeMethod(methodInfo, method.getExceptionTypes(), createInterceptorBody(proxyClassType, methodInfo, false), proxyClassType.getConstPool()));
          }
@@ -14,13 +14,10 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package org.jboss.weld.bean.proxy;
 
+import java.util.Arrays;
 import java.util.EmptyStackException;
-import java.util.HashSet;
-import java.util.Set;
-import java.util.Stack;
 
 /**
  * A class that holds the interception (and decoration) contexts which are currently in progress.
@@ -33,81 +30,200 @@ import java.util.Stack;
  * Classes may create new interception contexts as necessary (e.g. allowing client proxies to create new interception
  * contexts in order to make circular references interceptable multiple times).
  *
+ * Every client proxy and intercepted method invocation passes through here, so
+ * the contexts of a thread are held in a single stack which is allocated once
+ * and reused: the disabled handlers of all contexts are held in one array, and
+ * each context (a frame) is the index of its first handler. Membership is
+ * tested by identity, scanning only the handlers of the current frame, which
+ * are few. The stack is built only from JDK types, and holds no handler once
+ * its frames have ended, so keeping it on a thread doesn't keep a deployment
+ * reachable.
+ *
  * @author Marius Bogoevici
+ * @author Pete Muir
  */
 public class InterceptionDecorationContext
 {
-   private static ThreadLocal<Stack<Set<CombinedInterceptorAndDecoratorStackMethodHandler>>> interceptionContexts = new ThreadLocal<Stack<Set<CombinedInterceptorAndDecoratorStackMethodHandler>>>();
-   
-   public static Set<CombinedInterceptorAndDecoratorStackMethodHandler> pop()
+
+   private static final int INITIAL_CAPACITY = 8;
+
+   // The elements of a stack
+   private static final int HANDLERS = 0;
+   private static final int COUNTS = 1;
+
+   // The elements of the counts of a stack
+   private static final int HANDLER_COUNT = 0;
+   private static final int FRAME_COUNT = 1;
+   private static final int FIRST_FRAME = 2;
+
+   private static final ThreadLocal<Object[]> interceptionContexts = new ThreadLocal<Object[]>();
+
+   private InterceptionDecorationContext()
    {
-      Stack<Set<CombinedInterceptorAndDecoratorStackMethodHandler>> stack = interceptionContexts.get();
+   }
+
+   public static boolean empty()
+   {
+      Object[] stack = interceptionContexts.get();
+      return stack == null || empty(stack);
+   }
+
+   public static void endInterceptorContext()
+   {
+      Object[] stack = interceptionContexts.get();
       if (stack == null)
       {
          throw new EmptyStackException();
       }
-      else
-      {
-         try
-         {
-            return stack.pop();
-         }
-         finally
-         {
-            if (stack.isEmpty())
-            {
-               interceptionContexts.remove();
-            }
-         }
-      }
+      endFrame(stack);
    }
-   
-   public static Set<CombinedInterceptorAndDecoratorStackMethodHandler> push(Set<CombinedInterceptorAndDecoratorStackMethodHandler> item)
+
+   public static void startInterceptorContext()
+   {
+      startFrame(getStack());
+   }
+
+   /**
+    * Whether interception by the handler is suppressed in the current
+    * interception context
+    */
+   static boolean isDisabled(CombinedInterceptorAndDecoratorStackMethodHandler handler)
    {
-      Stack<Set<CombinedInterceptorAndDecoratorStackMethodHandler>> stack = interceptionContexts.get();
+      Object[] stack = interceptionContexts.get();
+      return stack != null && isDisabled(stack, handler);
+   }
+
+   /**
+    * Get the stack of the current thread, creating it if necessary. The stack
+    * may be passed to the other operations for as long as the thread runs.
+    */
+   static Object[] getStack()
+   {
+      Object[] stack = interceptionContexts.get();
       if (stack == null)
       {
-         stack = new Stack<Set<CombinedInterceptorAndDecoratorStackMethodHandler>>();
+         stack = new Object[] { new Object[INITIAL_CAPACITY], new int[FIRST_FRAME + INITIAL_CAPACITY] };
          interceptionContexts.set(stack);
       }
-      stack.push(item);
-      return item;
+      return stack;
+   }
+
+   static boolean empty(Object[] stack)
+   {
+      return counts(stack)[FRAME_COUNT] == 0;
    }
-   
-   public static Set<CombinedInterceptorAndDecoratorStackMethodHandler> peek()
+
+   static void startFrame(Object[] stack)
    {
-      Stack<Set<CombinedInterceptorAndDecoratorStackMethodHandler>> stack = interceptionContexts.get();
-      if (stack == null)
+      int[] counts = counts(stack);
+      int frameCount = counts[FRAME_COUNT];
+      if (FIRST_FRAME + frameCount == counts.length)
+      {
+         counts = copyOf(counts, counts.length * 2);
+         stack[COUNTS] = counts;
+      }
+      counts[FIRST_FRAME + frameCount] = counts[HANDLER_COUNT];
+      counts[FRAME_COUNT] = frameCount + 1;
+   }
+
+   static void endFrame(Object[] stack)
+   {
+      int[] counts = counts(stack);
+      int frameCount = counts[FRAME_COUNT];
+      if (frameCount == 0)
       {
          throw new EmptyStackException();
       }
-      else
+      int frameStart = counts[FIRST_FRAME + frameCount - 1];
+      // Don't keep the handlers of the frame reachable
+      Arrays.fill(handlers(stack), frameStart, counts[HANDLER_COUNT], null);
+      counts[HANDLER_COUNT] = frameStart;
+      counts[FRAME_COUNT] = frameCount - 1;
+   }
+
+   static boolean isDisabled(Object[] stack, CombinedInterceptorAndDecoratorStackMethodHandler handler)
+   {
+      int[] counts = counts(stack);
+      int frameCount = counts[FRAME_COUNT];
+      if (frameCount == 0)
       {
-         return stack.peek();
+         return false;
       }
+      Object[] handlers = handlers(stack);
+      for (int i = counts[HANDLER_COUNT] - 1; i >= counts[FIRST_FRAME + frameCount - 1]; i--)
+      {
+         if (handlers[i] == handler)
+         {
+            return true;
+         }
+      }
+      return false;
    }
-   
-   public static boolean empty()
+
+   static void disable(Object[] stack, CombinedInterceptorAndDecoratorStackMethodHandler handler)
    {
-      Stack<Set<CombinedInterceptorAndDecoratorStackMethodHandler>> stack = interceptionContexts.get();
-      if (stack == null)
+      int[] counts = counts(stack);
+      if (counts[FRAME_COUNT] == 0)
       {
-         return true;
+         throw new EmptyStackException();
       }
-      else
+      Object[] handlers = handlers(stack);
+      int handlerCount = counts[HANDLER_COUNT];
+      if (handlerCount == handlers.length)
       {
-         return stack.empty();
+         handlers = copyOf(handlers, handlers.length * 2);
+         stack[HANDLERS] = handlers;
       }
+      handlers[handlerCount] = handler;
+      counts[HANDLER_COUNT] = handlerCount + 1;
    }
-   
 
-   public static void endInterceptorContext()
+   static void enable(Object[] stack, CombinedInterceptorAndDecoratorStackMethodHandler handler)
    {
-      pop();
+      int[] counts = counts(stack);
+      int frameCount = counts[FRAME_COUNT];
+      if (frameCount == 0)
+      {
+         return;
+      }
+      Object[] handlers = handlers(stack);
+      int handlerCount = counts[HANDLER_COUNT];
+      // Handlers are enabled in the reverse order to which they were
+      // disabled, so this is almost always the last handler
+      for (int i = handlerCount - 1; i >= counts[FIRST_FRAME + frameCount - 1]; i--)
+      {
+         if (handlers[i] == handler)
+         {
+            System.arraycopy(handlers, i + 1, handlers, i, handlerCount - i - 1);
+            handlers[handlerCount - 1] = null;
+            counts[HANDLER_COUNT] = handlerCount - 1;
+            return;
+         }
+      }
    }
 
-   public static void startInterceptorContext()
+   private static Object[] handlers(Object[] stack)
    {
-      push(new HashSet<CombinedInterceptorAndDecoratorStackMethodHandler>());
+      return (Object[]) stack[HANDLERS];
    }
+
+   private static int[] counts(Object[] stack)
+   {
+      return (int[]) stack[COUNTS];
+   }
+
+   private static Object[] copyOf(Object[] array, int length)
+   {
+      Object[] copy = new Object[length];
+      System.arraycopy(array, 0, copy, 0, array.length);
+      return copy;
+   }
+
+   private static int[] copyOf(int[] array, int length)
+   {
+      int[] copy = new int[length];
+      System.arraycopy(array, 0, copy, 0, array.length);
+      return copy;
+   }
+
 }
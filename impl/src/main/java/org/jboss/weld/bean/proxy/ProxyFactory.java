@@ -241,7 +241,10 @@ public class ProxyFactory<T>
          proxyClassName = proxyClassName.replaceFirst("java", "org.jboss.weld");
       }
       Class<T> proxyClass = null;
-      log.trace("Retrieving/generating proxy class " + proxyClassName);
+      if (log.isTraceEnabled())
+      {
+         log.trace("Retrieving/generating proxy class " + proxyClassName);
+      }
       try
       {
          // First check to see if we already have this proxy class
@@ -372,7 +375,10 @@ public class ProxyFactory<T>
       }
 
       Class<T> proxyClass = cast(ClassFileUtils.toClass(proxyClassType, classLoader, domain));
-      log.trace("Created Proxy class of type " + proxyClass + " supporting interfaces " + Arrays.toString(proxyClass.getInterfaces()));
+      if (log.isTraceEnabled())
+      {
+         log.trace("Created Proxy class of type " + proxyClass + " supporting interfaces " + Arrays.toString(proxyClass.getInterfaces()));
+      }
       return proxyClass;
    }
 
@@ -604,7 +610,10 @@ public class ProxyFactory<T>
                   {
                      MethodInformation methodInfo = new RuntimeMethodInformation(method);
                      proxyClassType.addMethod(MethodUtils.makeMethod(methodInfo, method.getExceptionTypes(), addConstructedGuardToMethodBody(proxyClassType, createForwardingMethodBody(proxyClassType, methodInfo), methodInfo), proxyClassType.getConstPool()));
-                     log.trace("Adding method " + method);
+                     if (log.isTraceEnabled())
+                     {
+                        log.trace("Adding method " + method);
+                     }
                   }
                   catch (DuplicateMemberException e)
                   {
@@ -623,7 +632,10 @@ public class ProxyFactory<T>
                {
                   MethodInformation methodInfo = new RuntimeMethodInformation(method);
                   proxyClassType.addMethod(MethodUtils.makeMethod(methodInfo, method.getExceptionTypes(), createSpecialMethodBody(proxyClassType, methodInfo), proxyClassType.getConstPool()));
-                  log.trace("Adding method " + method);
+                  if (log.isTraceEnabled())
+                  {
+                     log.trace("Adding method " + method);
+                  }
                }
                catch (DuplicateMemberException e)
                {
@@ -864,7 +876,10 @@ public class ProxyFactory<T>
          // Add special methods for interceptors
          for (Method method : LifecycleMixin.class.getDeclaredMethods())
          {
-            log.trace("Adding method " + method);
+            if (log.isTraceEnabled())
+            {
+               log.trace("Adding method " + method);
+            }
             MethodInformation methodInfo = new RuntimeMethodInformation(method);
             proxyClassType.addMethod(MethodUtils.makeMethod(methodInfo, method.getExceptionTypes(), createInterceptorBody(proxyClassType, methodInfo), proxyClassType.getConstPool()));
          }
@@ -79,15 +79,19 @@ public class ProxyMethodHandler implements MethodHandler, Serializable
    {
       if (thisMethod == null)
       {
-         log.trace("MethodHandler processing returning bean instance for " + self.getClass());
+         // Client proxies call the target instance directly, and only use the
+         // handler to obtain it, so keep this path as cheap as possible
          if (beanInstance == null)
          {
             throw new WeldException(BEAN_INSTANCE_NOT_SET_ON_PROXY);
          }
          return beanInstance.getInstance();
       }
-      log.trace("MethodHandler processing call to " + thisMethod + " for " + self.getClass());
-      if (thisMethod.getDeclaringClass().equals(TargetInstanceProxy.class))
+      if (log.isTraceEnabled())
+      {
+         log.trace("MethodHandler processing call to " + thisMethod + " for " + self.getClass());
+      }
+      if (thisMethod.getDeclaringClass() == TargetInstanceProxy.class)
       {
          if (beanInstance == null)
          {
@@ -112,7 +116,10 @@ public class ProxyMethodHandler implements MethodHandler, Serializable
       }
       else if (thisMethod.getName().equals("_initMH"))
       {
-         log.trace("Setting new MethodHandler with bean instance for " + args[0] + " on " + self.getClass());
+         if (log.isTraceEnabled())
+         {
+            log.trace("Setting new MethodHandler with bean instance for " + args[0] + " on " + self.getClass());
+         }
          return new ProxyMethodHandler(new TargetBeanInstance(args[0]), getBean());
       }
       else
@@ -92,7 +92,10 @@ public class TargetBeanInstance extends AbstractBeanInstance implements Serializ
    {
       if (interceptorsHandler != null)
       {
-         log.trace("Invoking interceptor chain for method " + method.toGenericString() + " on " + instance);
+         if (log.isTraceEnabled())
+         {
+            log.trace("Invoking interceptor chain for method " + method.toGenericString() + " on " + instance);
+         }
          if (method.getDeclaringClass().isInterface())
          {
             return interceptorsHandler.invoke(instance, method, null, arguments);
@@ -104,7 +107,10 @@ public class TargetBeanInstance extends AbstractBeanInstance implements Serializ
       }
       else
       {
-         log.trace("Invoking method " + method.toGenericString() + " directly on " + instance);
+         if (log.isTraceEnabled())
+         {
+            log.trace("Invoking method " + method.toGenericString() + " directly on " + instance);
+         }
          return super.invoke(instance, method, arguments);
       }
    }
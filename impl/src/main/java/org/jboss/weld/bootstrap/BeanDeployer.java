@@ -24,6 +24,7 @@ import static org.slf4j.ext.XLogger.Level.DEBUG;
 
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 
 import javax.decorator.Decorator;
@@ -46,7 +47,9 @@ import org.jboss.weld.util.reflection.Reflections;
 import org.slf4j.cal10n.LocLogger;
 import org.slf4j.ext.XLogger;
 
+import com.google.common.base.Function;
 import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
 
 /**
@@ -62,6 +65,7 @@ public class BeanDeployer extends AbstractBeanDeployer<BeanDeployerEnvironment>
    private final Set<WeldClass<?>> classes;
    private final ResourceLoader resourceLoader;
    private final ClassTransformer classTransformer;
+   private final DeploymentExecutor deploymentExecutor;
 
    /**
     * @param manager
@@ -73,9 +77,25 @@ public class BeanDeployer extends AbstractBeanDeployer<BeanDeployerEnvironment>
       this.classes = new HashSet<WeldClass<?>>();
       this.resourceLoader = manager.getServices().get(ResourceLoader.class);
       this.classTransformer = Container.instance().services().get(ClassTransformer.class);
+      this.deploymentExecutor = DeploymentExecutor.of(Container.instance().services());
    }
 
    public BeanDeployer addClass(String className)
+   {
+      WeldClass<?> weldClass = loadWeldClass(className);
+      if (weldClass != null)
+      {
+         processAnnotatedType(weldClass);
+      }
+      return this;
+   }
+
+   /**
+    * Load and introspect a class, returning null if the class can't be loaded
+    * or is an annotation or enum. This doesn't touch the state of the
+    * deployer, so may be called concurrently.
+    */
+   private WeldClass<?> loadWeldClass(String className)
    {
       Class<?> clazz = null;
       try
@@ -90,34 +110,33 @@ public class BeanDeployer extends AbstractBeanDeployer<BeanDeployerEnvironment>
       
       if (clazz != null && !clazz.isAnnotation() && !clazz.isEnum())
       {
-         WeldClass<?> weldClass = null;
          try
          {
-            weldClass = classTransformer.loadClass(clazz);
+            return classTransformer.loadClass(clazz);
          }
          catch (ResourceLoadingException e)
          {
             log.debug(IGNORING_CLASS_DUE_TO_LOADING_ERROR, className);
             xlog.catching(DEBUG, e);
          }
-         
-         if (weldClass != null)
+      }
+      return null;
+   }
+
+   private void processAnnotatedType(WeldClass<?> weldClass)
+   {
+      ProcessAnnotatedTypeImpl<?> event = ProcessAnnotatedTypeImpl.fire(getManager(), weldClass);
+      if (!event.isVeto())
+      {
+         if (event.getAnnotatedType() instanceof WeldClass<?>)
          {
-            ProcessAnnotatedTypeImpl<?> event = ProcessAnnotatedTypeImpl.fire(getManager(), weldClass);
-            if (!event.isVeto())
-            {
-               if (event.getAnnotatedType() instanceof WeldClass<?>)
-               {
-                  classes.add((WeldClass<?>) event.getAnnotatedType());
-               }
-               else
-               {
-                  classes.add(classTransformer.loadClass(ExternalAnnotatedType.of(event.getAnnotatedType())));
-               }
-            }
+            classes.add((WeldClass<?>) event.getAnnotatedType());
+         }
+         else
+         {
+            classes.add(classTransformer.loadClass(ExternalAnnotatedType.of(event.getAnnotatedType())));
          }
       }
-      return this;
    }
    
    public BeanDeployer addClass(AnnotatedType<?> clazz)
@@ -126,11 +145,28 @@ public class BeanDeployer extends AbstractBeanDeployer<BeanDeployerEnvironment>
       return this;
    }
 
+   /**
+    * Add the classes, loading and introspecting them concurrently. The
+    * ProcessAnnotatedType event is then fired for each class in the order
+    * the classes are given, so extensions observe a deterministic order.
+    */
    public BeanDeployer addClasses(Iterable<String> classes)
    {
-      for (String className : classes)
+      List<WeldClass<?>> weldClasses = deploymentExecutor.transform(Lists.newArrayList(classes), new Function<String, WeldClass<?>>()
       {
-         addClass(className);
+
+         public WeldClass<?> apply(String className)
+         {
+            return loadWeldClass(className);
+         }
+
+      });
+      for (WeldClass<?> weldClass : weldClasses)
+      {
+         if (weldClass != null)
+         {
+            processAnnotatedType(weldClass);
+         }
       }
       return this;
    }
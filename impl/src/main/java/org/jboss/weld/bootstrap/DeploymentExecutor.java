@@ -0,0 +1,310 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bootstrap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.weld.bootstrap.api.Service;
+import org.jboss.weld.bootstrap.api.ServiceRegistry;
+import org.jboss.weld.exceptions.WeldException;
+
+import com.google.common.base.Function;
+
+/**
+ * Runs the parts of bootstrap which can proceed concurrently (such as loading
+ * and introspecting classes) on a bounded pool of threads.
+ * 
+ * Results are always returned in the order of the tasks, so that the
+ * outcome of bootstrap doesn't depend on how the tasks were scheduled. If a
+ * task fails, the failure of the first failed task (in task order) is thrown
+ * once every task has finished.
+ * 
+ * The number of threads defaults to the number of processors, and may be set
+ * using the system property <code>org.jboss.weld.bootstrap.concurrency</code>
+ * or by an integrator adding an instance to the deployment services. A
+ * concurrency of 1 runs every task on the calling thread. The calling thread
+ * also runs any of its tasks which haven't yet been started by the pool,
+ * only waiting for tasks which are running. A task may therefore itself use
+ * the executor without any risk of the pool being exhausted. The threads are
+ * discarded when idle, so none are kept once bootstrap has finished.
+ * 
+ * @author Pete Muir
+ * 
+ */
+public class DeploymentExecutor implements Service
+{
+
+   public static final String CONCURRENCY_PROPERTY_NAME = "org.jboss.weld.bootstrap.concurrency";
+
+   private static final long KEEP_ALIVE_SECONDS = 10;
+
+   // The number of items in each task when transforming a list
+   private static final int TASKS_PER_THREAD = 4;
+
+   private static class DeploymentThreadFactory implements ThreadFactory
+   {
+
+      private final AtomicInteger threadCount = new AtomicInteger();
+
+      public Thread newThread(Runnable r)
+      {
+         Thread thread = new Thread(r, "weld-bootstrap-" + threadCount.incrementAndGet());
+         thread.setDaemon(true);
+         return thread;
+      }
+
+   }
+
+   private static class Task<T> implements Callable<T>
+   {
+
+      private final Callable<T> task;
+      private final ClassLoader contextClassLoader;
+
+      private Task(Callable<T> task, ClassLoader contextClassLoader)
+      {
+         this.task = task;
+         this.contextClassLoader = contextClassLoader;
+      }
+
+      public T call() throws Exception
+      {
+         Thread thread = Thread.currentThread();
+         ClassLoader originalContextClassLoader = thread.getContextClassLoader();
+         // Resources are loaded as they would be on the bootstrap thread
+         thread.setContextClassLoader(contextClassLoader);
+         try
+         {
+            return task.call();
+         }
+         finally
+         {
+            thread.setContextClassLoader(originalContextClassLoader);
+         }
+      }
+
+   }
+
+   private static int getDefaultConcurrency()
+   {
+      String concurrency = System.getProperty(CONCURRENCY_PROPERTY_NAME);
+      if (concurrency == null)
+      {
+         return Runtime.getRuntime().availableProcessors();
+      }
+      else
+      {
+         return Integer.parseInt(concurrency);
+      }
+   }
+
+   private static final DeploymentExecutor SEQUENTIAL = new DeploymentExecutor(1);
+
+   private final int concurrency;
+   private final ThreadPoolExecutor executor;
+
+   public DeploymentExecutor()
+   {
+      this(getDefaultConcurrency());
+   }
+
+   /**
+    * @param concurrency the maximum number of threads to use
+    */
+   public DeploymentExecutor(int concurrency)
+   {
+      this.concurrency = Math.max(1, concurrency);
+      if (this.concurrency > 1)
+      {
+         this.executor = new ThreadPoolExecutor(this.concurrency, this.concurrency, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new DeploymentThreadFactory());
+         this.executor.allowCoreThreadTimeOut(true);
+      }
+      else
+      {
+         this.executor = null;
+      }
+   }
+
+   /**
+    * Get the executor from the services, falling back to one which runs every
+    * task on the calling thread if none is registered
+    */
+   public static DeploymentExecutor of(ServiceRegistry services)
+   {
+      if (services.contains(DeploymentExecutor.class))
+      {
+         return services.get(DeploymentExecutor.class);
+      }
+      else
+      {
+         return SEQUENTIAL;
+      }
+   }
+
+   public int getConcurrency()
+   {
+      return concurrency;
+   }
+
+   /**
+    * Run the tasks, returning their results in the order of the tasks
+    */
+   public <T> List<T> invokeAll(List<? extends Callable<T>> tasks)
+   {
+      if (executor == null || tasks.size() < 2)
+      {
+         return callAll(tasks);
+      }
+      ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+      List<FutureTask<T>> futures = new ArrayList<FutureTask<T>>(tasks.size());
+      for (Callable<T> task : tasks)
+      {
+         FutureTask<T> future = new FutureTask<T>(new Task<T>(task, contextClassLoader));
+         futures.add(future);
+         executor.execute(future);
+      }
+      // Help, running the tasks which no thread has started yet; a task which
+      // has been started (or finished) isn't run again
+      for (FutureTask<T> future : futures)
+      {
+         future.run();
+      }
+      List<T> results = new ArrayList<T>(tasks.size());
+      Throwable failure = null;
+      boolean interrupted = false;
+      for (FutureTask<T> future : futures)
+      {
+         // Wait for every task, so no task is still running when we return
+         while (true)
+         {
+            try
+            {
+               results.add(future.get());
+               break;
+            }
+            catch (InterruptedException e)
+            {
+               interrupted = true;
+            }
+            catch (ExecutionException e)
+            {
+               if (failure == null)
+               {
+                  failure = e.getCause();
+               }
+               results.add(null);
+               break;
+            }
+         }
+      }
+      if (interrupted)
+      {
+         Thread.currentThread().interrupt();
+      }
+      if (failure != null)
+      {
+         throw rethrow(failure);
+      }
+      return results;
+   }
+
+   /**
+    * Apply the function to each item, returning the results in the order of
+    * the items. The items are split into a few tasks per thread.
+    */
+   public <F, T> List<T> transform(final List<F> items, final Function<? super F, ? extends T> function)
+   {
+      int taskCount = Math.min(items.size(), concurrency * TASKS_PER_THREAD);
+      List<Callable<List<T>>> tasks = new ArrayList<Callable<List<T>>>(taskCount);
+      for (int i = 0; i < taskCount; i++)
+      {
+         final int fromIndex = (int) ((long) items.size() * i / taskCount);
+         final int toIndex = (int) ((long) items.size() * (i + 1) / taskCount);
+         tasks.add(new Callable<List<T>>()
+         {
+
+            public List<T> call() throws Exception
+            {
+               List<T> results = new ArrayList<T>(toIndex - fromIndex);
+               for (F item : items.subList(fromIndex, toIndex))
+               {
+                  results.add(function.apply(item));
+               }
+               return results;
+            }
+
+         });
+      }
+      List<T> results = new ArrayList<T>(items.size());
+      for (List<T> taskResults : invokeAll(tasks))
+      {
+         results.addAll(taskResults);
+      }
+      return results;
+   }
+
+   private static <T> List<T> callAll(List<? extends Callable<T>> tasks)
+   {
+      List<T> results = new ArrayList<T>(tasks.size());
+      for (Callable<T> task : tasks)
+      {
+         try
+         {
+            results.add(task.call());
+         }
+         catch (Exception e)
+         {
+            throw rethrow(e);
+         }
+      }
+      return results;
+   }
+
+   private static RuntimeException rethrow(Throwable failure)
+   {
+      if (failure instanceof RuntimeException)
+      {
+         throw (RuntimeException) failure;
+      }
+      else if (failure instanceof Error)
+      {
+         throw (Error) failure;
+      }
+      else
+      {
+         throw new WeldException(failure);
+      }
+   }
+
+   public void cleanup()
+   {
+      if (executor != null)
+      {
+         executor.shutdownNow();
+      }
+   }
+
+}
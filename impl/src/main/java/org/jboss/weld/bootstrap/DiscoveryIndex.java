@@ -0,0 +1,320 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bootstrap;
+
+import static org.jboss.weld.logging.Category.BOOTSTRAP;
+import static org.jboss.weld.logging.LoggerFactory.loggerFactory;
+import static org.jboss.weld.logging.messages.BootstrapMessage.DISCOVERY_INDEX_NOT_STORED;
+import static org.jboss.weld.logging.messages.BootstrapMessage.DISCOVERY_INDEX_OUT_OF_DATE;
+import static org.jboss.weld.logging.messages.BootstrapMessage.DISCOVERY_INDEX_UNREADABLE;
+import static org.jboss.weld.logging.messages.BootstrapMessage.DISCOVERY_INDEX_USED;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.slf4j.cal10n.LocLogger;
+import org.slf4j.ext.XLogger;
+import org.slf4j.ext.XLogger.Level;
+
+/**
+ * An on-disk index of the classes and beans.xml files discovered in each
+ * archive, so that an environment need not scan an archive again if it hasn't
+ * changed since it was last scanned.
+ * 
+ * Each archive is indexed in its own file, keyed by the path of the archive
+ * and, optionally, a variant (such as the kind of classes discovered). An
+ * index is reused only if the fingerprint of the archive still matches: the
+ * size and modification time of a jar, or of every file in a directory. Any
+ * problem reading an index simply causes the archive to be scanned again.
+ * 
+ * The URLs of the beans.xml files are indexed, rather than their content, as
+ * the files are unchanged whilst the fingerprint of their archive matches.
+ * 
+ * @author Pete Muir
+ * 
+ */
+public class DiscoveryIndex
+{
+
+   private static final LocLogger log = loggerFactory().getLogger(BOOTSTRAP);
+   private static final XLogger xLog = loggerFactory().getXLogger(BOOTSTRAP);
+
+   private static final String INDEX_FILE_SUFFIX = ".index";
+   private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+
+   /**
+    * The classes and beans.xml files discovered in an archive
+    */
+   public static class Entry implements Serializable
+   {
+
+      private static final long serialVersionUID = 8446301575420393094L;
+
+      private final String path;
+      private final String fingerprint;
+      private final String variant;
+      private final List<String> classes;
+      private final List<String> beansXmlUrls;
+      private final int skippedClassCount;
+
+      /**
+       * @param path the absolute path of the archive
+       * @param fingerprint the fingerprint of the archive, taken before it was
+       *           scanned
+       * @param variant the variant of the index, or null
+       * @param classes the classes discovered
+       * @param beansXmlUrls the beans.xml files discovered
+       * @param skippedClassCount the number of classes which the scan skipped
+       */
+      public Entry(String path, String fingerprint, String variant, Collection<String> classes, Collection<URL> beansXmlUrls, int skippedClassCount)
+      {
+         this.path = path;
+         this.fingerprint = fingerprint;
+         this.variant = variant;
+         this.classes = new ArrayList<String>(classes);
+         this.beansXmlUrls = new ArrayList<String>(beansXmlUrls.size());
+         for (URL url : beansXmlUrls)
+         {
+            this.beansXmlUrls.add(url.toExternalForm());
+         }
+         this.skippedClassCount = skippedClassCount;
+      }
+
+      public List<String> getClasses()
+      {
+         return Collections.unmodifiableList(classes);
+      }
+
+      public List<URL> getBeansXmlUrls() throws MalformedURLException
+      {
+         List<URL> urls = new ArrayList<URL>(beansXmlUrls.size());
+         for (String url : beansXmlUrls)
+         {
+            urls.add(new URL(url));
+         }
+         return urls;
+      }
+
+      public int getSkippedClassCount()
+      {
+         return skippedClassCount;
+      }
+
+      private boolean matches(File archive, String variant)
+      {
+         return path.equals(archive.getAbsolutePath()) && (this.variant == null ? variant == null : this.variant.equals(variant)) && fingerprint.equals(fingerprint(archive));
+      }
+
+   }
+
+   private final File directory;
+
+   public DiscoveryIndex(File directory)
+   {
+      this.directory = directory;
+   }
+
+   /**
+    * Get the index stored in the directory named by a system property, or null
+    * if the property isn't set
+    * 
+    * @param propertyName the name of the system property
+    */
+   public static DiscoveryIndex fromSystemProperty(String propertyName)
+   {
+      String directory = System.getProperty(propertyName);
+      if (directory == null)
+      {
+         return null;
+      }
+      else
+      {
+         return new DiscoveryIndex(new File(directory));
+      }
+   }
+
+   /**
+    * Load the index of an archive
+    * 
+    * @param archive the jar or directory
+    * @param variant the variant of the index, or null
+    * @return the index, or null if the archive hasn't been indexed or has
+    *         changed since
+    */
+   public Entry load(File archive, String variant)
+   {
+      File indexFile = getIndexFile(archive, variant);
+      if (!indexFile.isFile())
+      {
+         return null;
+      }
+      try
+      {
+         ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(indexFile)));
+         try
+         {
+            Entry entry = (Entry) in.readObject();
+            if (entry.matches(archive, variant))
+            {
+               log.debug(DISCOVERY_INDEX_USED, archive);
+               return entry;
+            }
+            else
+            {
+               log.debug(DISCOVERY_INDEX_OUT_OF_DATE, archive);
+               return null;
+            }
+         }
+         finally
+         {
+            in.close();
+         }
+      }
+      catch (IOException e)
+      {
+         unreadable(indexFile, e);
+      }
+      catch (ClassNotFoundException e)
+      {
+         unreadable(indexFile, e);
+      }
+      catch (ClassCastException e)
+      {
+         unreadable(indexFile, e);
+      }
+      return null;
+   }
+
+   private static void unreadable(File indexFile, Exception e)
+   {
+      log.debug(DISCOVERY_INDEX_UNREADABLE, indexFile);
+      xLog.throwing(Level.DEBUG, e);
+   }
+
+   /**
+    * Store the index of an archive, replacing any existing index. A failure
+    * to store the index is logged, but otherwise ignored.
+    * 
+    * The index is written to a temporary file unique to this call, which is
+    * then renamed, so that processes started at the same time never read a
+    * partially written index, nor write to the same file.
+    */
+   public void store(File archive, Entry entry)
+   {
+      File indexFile = getIndexFile(archive, entry.variant);
+      File temporaryFile = null;
+      try
+      {
+         if (!directory.isDirectory() && !directory.mkdirs() && !directory.isDirectory())
+         {
+            throw new IOException("Could not create directory " + directory);
+         }
+         temporaryFile = File.createTempFile(indexFile.getName(), TEMPORARY_FILE_SUFFIX, directory);
+         ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(temporaryFile)));
+         try
+         {
+            out.writeObject(entry);
+         }
+         finally
+         {
+            out.close();
+         }
+         // Renaming within a directory replaces the index atomically, except
+         // where the platform won't rename over an existing file; then the
+         // index is briefly missing, which just causes a scan
+         if (!temporaryFile.renameTo(indexFile) && !(indexFile.delete() && temporaryFile.renameTo(indexFile)))
+         {
+            throw new IOException("Could not rename " + temporaryFile + " to " + indexFile);
+         }
+      }
+      catch (IOException e)
+      {
+         log.warn(DISCOVERY_INDEX_NOT_STORED, archive);
+         xLog.throwing(Level.DEBUG, e);
+         if (temporaryFile != null)
+         {
+            temporaryFile.delete();
+         }
+      }
+   }
+
+   /**
+    * Create the fingerprint of an archive, which changes if the archive
+    * changes. This must be taken before the archive is scanned, so that a
+    * change made during the scan causes it to be scanned again.
+    */
+   public static String fingerprint(File archive)
+   {
+      if (archive.isDirectory())
+      {
+         long[] fingerprint = new long[3];
+         fingerprintDirectory(archive, fingerprint);
+         return "directory:" + fingerprint[0] + ":" + fingerprint[1] + ":" + fingerprint[2];
+      }
+      else
+      {
+         return "file:" + archive.length() + ":" + archive.lastModified();
+      }
+   }
+
+   private static void fingerprintDirectory(File directory, long[] fingerprint)
+   {
+      File[] children = directory.listFiles();
+      if (children == null)
+      {
+         return;
+      }
+      for (File child : children)
+      {
+         // The order in which files are listed isn't defined, so the values
+         // are combined in a way which doesn't depend on it
+         fingerprint[0]++;
+         fingerprint[1] += 31L * child.getName().hashCode() + child.length();
+         fingerprint[2] = Math.max(fingerprint[2], child.lastModified());
+         if (child.isDirectory())
+         {
+            fingerprintDirectory(child, fingerprint);
+         }
+      }
+   }
+
+   private File getIndexFile(File archive, String variant)
+   {
+      String path = archive.getAbsolutePath();
+      // The index records the path, so a hash collision just causes a rescan
+      String name = archive.getName() + "-" + Integer.toHexString(path.hashCode());
+      if (variant != null)
+      {
+         name = name + "-" + variant;
+      }
+      return new File(directory, name + INDEX_FILE_SUFFIX);
+   }
+
+}
@@ -16,7 +16,9 @@
  */
 package org.jboss.weld.bootstrap;
 
+import com.google.common.base.Function;
 import com.google.common.base.Supplier;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.SetMultimap;
 import org.jboss.interceptor.spi.metadata.ClassMetadata;
@@ -45,6 +47,7 @@ import org.jboss.weld.exceptions.UnproxyableResolutionException;
 import org.jboss.weld.exceptions.UnserializableDependencyException;
 import org.jboss.weld.introspector.WeldClass;
 import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.manager.InjectionTargetValidator;
 import org.jboss.weld.metadata.cache.MetaAnnotationStore;
 import org.jboss.weld.resources.ClassTransformer;
 import org.jboss.weld.serialization.spi.helpers.SerializableContextual;
@@ -85,6 +88,7 @@ import java.util.Set;
 
 import static org.jboss.weld.logging.Category.BOOTSTRAP;
 import static org.jboss.weld.logging.LoggerFactory.loggerFactory;
+import static org.jboss.weld.logging.messages.BootstrapMessage.VALIDATION_STAGE_TIME;
 import static org.jboss.weld.logging.messages.ValidatorMessage.*;
 import static org.jboss.weld.util.reflection.Reflections.cast;
 
@@ -117,16 +121,15 @@ public class Validator implements Service
    }
 
    /**
-    * Validate an RIBean. This includes validating whether two beans specialize
-    * the same bean
+    * Check that no other bean specializes the same bean as an RIBean.
+    * Depends on the beans already validated, so must be called for each bean
+    * in turn.
     * 
     * @param bean the bean to validate
-    * @param beanManager the current manager
     * @param specializedBeans the existing specialized beans
     */
-   private void validateRIBean(RIBean<?> bean, BeanManagerImpl beanManager, Collection<RIBean<?>> specializedBeans)
+   private void validateSpecialization(RIBean<?> bean, Collection<RIBean<?>> specializedBeans)
    {
-      validateBean(bean, beanManager);
       if (!(bean instanceof NewManagedBean<?>) && !(bean instanceof NewSessionBean<?>))
       {
          RIBean<?> abstractBean = bean;
@@ -138,18 +141,124 @@ public class Validator implements Service
             }
             specializedBeans.add(abstractBean.getSpecializedBean());
          }
-         if ((bean instanceof AbstractClassBean<?>))
+      }
+   }
+
+   /**
+    * Validate the decorators and interceptors of an RIBean
+    * 
+    * @param bean the bean to validate
+    * @param beanManager the current manager
+    */
+   private void validateDecoratorsAndInterceptors(RIBean<?> bean, BeanManagerImpl beanManager)
+   {
+      if (!(bean instanceof NewManagedBean<?>) && !(bean instanceof NewSessionBean<?>) && (bean instanceof AbstractClassBean<?>))
+      {
+         AbstractClassBean<?> classBean = (AbstractClassBean<?>) bean;
+         if (classBean.hasDecorators())
+         {
+            validateDecorators(beanManager, classBean);
+         }
+         // validate CDI-defined interceptors
+         if (classBean.hasInterceptors())
          {
-            AbstractClassBean<?> classBean = (AbstractClassBean<?>) bean;
-            if (classBean.hasDecorators())
+            validateInterceptors(beanManager, classBean);
+         }
+      }
+   }
+
+   private static void validateDecoratorDefinition(WeldDecorator<?> bean)
+   {
+      if (!bean.getWeldAnnotated().getWeldMethods(Produces.class).isEmpty())
+      {
+         throw new DefinitionException(DECORATORS_CANNOT_HAVE_PRODUCER_METHODS, bean);
+      }
+      if (!bean.getWeldAnnotated().getWeldFields(Produces.class).isEmpty())
+      {
+         throw new DefinitionException(DECORATORS_CANNOT_HAVE_PRODUCER_FIELDS, bean);
+      }
+      if (!bean.getWeldAnnotated().getDeclaredWeldMethodsWithAnnotatedParameters(Disposes.class).isEmpty())
+      {
+         throw new DefinitionException(DECORATORS_CANNOT_HAVE_DISPOSER_METHODS, bean);
+      }
+   }
+
+   /**
+    * The failures found validating a bean, split either side of the
+    * specialization check
+    */
+   private static class BeanValidation
+   {
+
+      private RuntimeException beanFailure;
+      private RuntimeException classBeanFailure;
+
+   }
+
+   /**
+    * Validate the beans concurrently. Everything but the specialization check
+    * is independent of the other beans, so is validated concurrently; the
+    * specialization check is then made for each bean in turn. The failure
+    * thrown is the one which validating the beans in turn would have thrown.
+    *
+    * Validating the interceptors of a bean creates injection targets, which
+    * are recorded concurrently by the {@link InjectionTargetValidator} of the
+    * manager.
+    */
+   private void validateBeansConcurrently(Collection<? extends Bean<?>> beans, Collection<RIBean<?>> specializedBeans, final BeanManagerImpl manager)
+   {
+      List<Bean<?>> beanList = new ArrayList<Bean<?>>(beans);
+      List<BeanValidation> validations = DeploymentExecutor.of(Container.instance().services()).transform(beanList, new Function<Bean<?>, BeanValidation>()
+      {
+
+         public BeanValidation apply(Bean<?> bean)
+         {
+            BeanValidation validation = null;
+            try
+            {
+               validateBean(bean, manager);
+            }
+            catch (RuntimeException e)
             {
-               validateDecorators(beanManager, classBean);
+               validation = new BeanValidation();
+               validation.beanFailure = e;
+               return validation;
             }
-            // validate CDI-defined interceptors
-            if (classBean.hasInterceptors())
+            if (bean instanceof RIBean<?>)
             {
-               validateInterceptors(beanManager, classBean);
+               try
+               {
+                  validateDecoratorsAndInterceptors((RIBean<?>) bean, manager);
+                  if (bean instanceof WeldDecorator<?>)
+                  {
+                     validateDecoratorDefinition((WeldDecorator<?>) bean);
+                  }
+               }
+               catch (RuntimeException e)
+               {
+                  validation = new BeanValidation();
+                  validation.classBeanFailure = e;
+               }
             }
+            return validation;
+         }
+
+      });
+      for (int i = 0; i < beanList.size(); i++)
+      {
+         Bean<?> bean = beanList.get(i);
+         BeanValidation validation = validations.get(i);
+         if (validation != null && validation.beanFailure != null)
+         {
+            throw validation.beanFailure;
+         }
+         if (bean instanceof RIBean<?>)
+         {
+            validateSpecialization((RIBean<?>) bean, specializedBeans);
+         }
+         if (validation != null && validation.classBeanFailure != null)
+         {
+            throw validation.classBeanFailure;
          }
       }
    }
@@ -331,30 +440,34 @@ public class Validator implements Service
 
    public void validateDeployment(BeanManagerImpl manager, BeanDeployerEnvironment environment)
    {
+      long time = System.nanoTime();
       validateDecorators(manager.getDecorators(), new ArrayList<RIBean<?>>(), manager);
+      time = logStageTime("decorators", manager, time);
       validateInterceptors(manager.getInterceptors());
+      time = logStageTime("interceptors", manager, time);
       validateBeans(manager.getBeans(), new ArrayList<RIBean<?>>(), manager);
+      time = logStageTime("beans", manager, time);
       validateEnabledDecoratorClasses(manager);
       validateEnabledInterceptorClasses(manager);
       validateEnabledAlternatives(manager);
+      time = logStageTime("enabled classes", manager, time);
       validateDisposalMethods(environment);
       validateObserverMethods(environment.getObservers(), manager);
+      time = logStageTime("observer methods", manager, time);
       validateBeanNames(manager);
+      logStageTime("bean names", manager, time);
+   }
+
+   private static long logStageTime(String stage, BeanManagerImpl manager, long startTime)
+   {
+      long time = System.nanoTime();
+      log.debug(VALIDATION_STAGE_TIME, stage, manager.getId(), (time - startTime) / 1000000);
+      return time;
    }
 
    public void validateBeans(Collection<? extends Bean<?>> beans, Collection<RIBean<?>> specializedBeans, BeanManagerImpl manager)
    {
-      for (Bean<?> bean : beans)
-      {
-         if (bean instanceof RIBean<?>)
-         {
-            validateRIBean((RIBean<?>) bean, manager, specializedBeans);
-         }
-         else
-         {
-            validateBean(bean, manager);
-         }
-      }
+      validateBeansConcurrently(beans, specializedBeans, manager);
    }
 
    public void validateInterceptors(Collection<? extends Interceptor<?>> interceptors)
@@ -383,34 +496,7 @@ public class Validator implements Service
 
    public void validateDecorators(Collection<? extends Decorator<?>> beans, Collection<RIBean<?>> specializedBeans, BeanManagerImpl manager)
    {
-      for (Bean<?> bean : beans)
-      {
-         if (bean instanceof RIBean<?>)
-         {
-            validateRIBean((RIBean<?>) bean, manager, specializedBeans);
-
-            if (bean instanceof WeldDecorator<?>)
-            {
-               if (!((WeldDecorator<?>) bean).getWeldAnnotated().getWeldMethods(Produces.class).isEmpty())
-               {
-                  throw new DefinitionException(DECORATORS_CANNOT_HAVE_PRODUCER_METHODS, bean);
-               }
-               if (!((WeldDecorator<?>) bean).getWeldAnnotated().getWeldFields(Produces.class).isEmpty())
-               {
-                  throw new DefinitionException(DECORATORS_CANNOT_HAVE_PRODUCER_FIELDS, bean);
-               }
-               if (!((WeldDecorator<?>) bean).getWeldAnnotated().getDeclaredWeldMethodsWithAnnotatedParameters(Disposes.class).isEmpty())
-               {
-                  throw new DefinitionException(DECORATORS_CANNOT_HAVE_DISPOSER_METHODS, bean);
-               }
-            }
-
-         }
-         else
-         {
-            validateBean(bean, manager);
-         }
-      }
+      validateBeansConcurrently(beans, specializedBeans, manager);
    }
 
    public void validateBeanNames(BeanManagerImpl beanManager)
@@ -533,12 +619,33 @@ public class Validator implements Service
       }
    }
 
-   private void validateObserverMethods(Iterable<ObserverMethodImpl<?, ?>> observers, BeanManagerImpl beanManager)
+   private void validateObserverMethods(Iterable<ObserverMethodImpl<?, ?>> observers, final BeanManagerImpl beanManager)
    {
-      for (ObserverMethodImpl<?, ?> omi : observers)
+      // Validate concurrently, throwing the first failure in the order of the observers
+      List<RuntimeException> failures = DeploymentExecutor.of(Container.instance().services()).transform(Lists.newArrayList(observers), new Function<ObserverMethodImpl<?, ?>, RuntimeException>()
       {
-         for (InjectionPoint ip : omi.getInjectionPoints())
-            validateInjectionPoint(ip, beanManager);
+
+         public RuntimeException apply(ObserverMethodImpl<?, ?> omi)
+         {
+            try
+            {
+               for (InjectionPoint ip : omi.getInjectionPoints())
+                  validateInjectionPoint(ip, beanManager);
+               return null;
+            }
+            catch (RuntimeException e)
+            {
+               return e;
+            }
+         }
+
+      });
+      for (RuntimeException failure : failures)
+      {
+         if (failure != null)
+         {
+            throw failure;
+         }
       }
    }
 
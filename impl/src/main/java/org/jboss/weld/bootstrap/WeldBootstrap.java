@@ -19,6 +19,8 @@ package org.jboss.weld.bootstrap;
 import static org.jboss.weld.logging.Category.BOOTSTRAP;
 import static org.jboss.weld.logging.Category.VERSION;
 import static org.jboss.weld.logging.LoggerFactory.loggerFactory;
+import static org.jboss.weld.logging.messages.BootstrapMessage.BEAN_DEPLOYMENTS_VALIDATED;
+import static org.jboss.weld.logging.messages.BootstrapMessage.BOOTSTRAP_DATA_RELEASED;
 import static org.jboss.weld.logging.messages.BootstrapMessage.DEPLOYMENT_ARCHIVE_NULL;
 import static org.jboss.weld.logging.messages.BootstrapMessage.DEPLOYMENT_REQUIRED;
 import static org.jboss.weld.logging.messages.BootstrapMessage.JTA_UNAVAILABLE;
@@ -27,14 +29,19 @@ import static org.jboss.weld.logging.messages.BootstrapMessage.UNSPECIFIED_REQUI
 import static org.jboss.weld.logging.messages.BootstrapMessage.VALIDATING_BEANS;
 import static org.jboss.weld.manager.Enabled.EMPTY_ENABLED;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 
 import javax.enterprise.context.spi.Context;
@@ -88,6 +95,7 @@ import org.jboss.weld.context.unbound.RequestContextImpl;
 import org.jboss.weld.context.unbound.SingletonContextImpl;
 import org.jboss.weld.context.unbound.UnboundLiteral;
 import org.jboss.weld.ejb.spi.EjbServices;
+import org.jboss.weld.event.EventDispatchCounters;
 import org.jboss.weld.exceptions.IllegalArgumentException;
 import org.jboss.weld.exceptions.IllegalStateException;
 import org.jboss.weld.injection.CurrentInjectionPoint;
@@ -96,6 +104,7 @@ import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.manager.InjectionTargetValidator;
 import org.jboss.weld.metadata.TypeStore;
 import org.jboss.weld.metadata.cache.MetaAnnotationStore;
+import org.jboss.weld.resolution.ResolutionCacheConfiguration;
 import org.jboss.weld.resources.ClassTransformer;
 import org.jboss.weld.resources.DefaultResourceLoader;
 import org.jboss.weld.resources.SharedObjectCache;
@@ -123,6 +132,12 @@ public class WeldBootstrap implements Bootstrap
 
    private static final LocLogger log = loggerFactory().getLogger(BOOTSTRAP);
 
+   /**
+    * If set to true, the interned metadata collections, which are only needed
+    * to deploy beans, are released when initialization ends.
+    */
+   public static final String RELEASE_BOOTSTRAP_DATA_PROPERTY_NAME = "org.jboss.weld.bootstrap.releaseBootstrapData";
+
    /**
     * 
     * A Deployment visitor which can find the transitive closure of Bean
@@ -208,6 +223,16 @@ public class WeldBootstrap implements Bootstrap
 
    }
 
+   private static final Comparator<BeanDeployment> BEAN_DEPLOYMENT_ID_COMPARATOR = new Comparator<BeanDeployment>()
+   {
+
+      public int compare(BeanDeployment o1, BeanDeployment o2)
+      {
+         return o1.getBeanDeploymentArchive().getId().compareTo(o2.getBeanDeploymentArchive().getId());
+      }
+
+   };
+
    static
    {
       loggerFactory().getLogger(VERSION).info(VersionMessage.VERSION, Formats.version(WeldBootstrap.class.getPackage()));
@@ -247,6 +272,10 @@ public class WeldBootstrap implements Bootstrap
          {
             deployment.getServices().add(ProxyServices.class, new SimpleProxyServices());
          }
+         if (!deployment.getServices().contains(ResolutionCacheConfiguration.class))
+         {
+            deployment.getServices().add(ResolutionCacheConfiguration.class, new ResolutionCacheConfiguration());
+         }
 
          verifyServices(deployment.getServices(), environment.getRequiredDeploymentServices());
 
@@ -273,11 +302,23 @@ public class WeldBootstrap implements Bootstrap
          ServiceRegistry implementationServices = getImplementationServices();
 
          deployment.getServices().addAll(implementationServices.entrySet());
+         if (!deployment.getServices().contains(DeploymentExecutor.class))
+         {
+            // An integrator may provide an executor with a different concurrency
+            deployment.getServices().add(DeploymentExecutor.class, new DeploymentExecutor());
+         }
+         if (!deployment.getServices().contains(EventDispatchCounters.class))
+         {
+            // An integrator may provide counters which are enabled
+            deployment.getServices().add(EventDispatchCounters.class, new EventDispatchCounters());
+         }
 
          ServiceRegistry deploymentServices = new SimpleServiceRegistry();
          deploymentServices.add(ClassTransformer.class, implementationServices.get(ClassTransformer.class));
          deploymentServices.add(MetaAnnotationStore.class, implementationServices.get(MetaAnnotationStore.class));
          deploymentServices.add(TypeStore.class, implementationServices.get(TypeStore.class));
+         deploymentServices.add(ResolutionCacheConfiguration.class, deployment.getServices().get(ResolutionCacheConfiguration.class));
+         deploymentServices.add(EventDispatchCounters.class, deployment.getServices().get(EventDispatchCounters.class));
 
          this.environment = environment;
          this.deploymentManager = BeanManagerImpl.newRootManager("deployment", deploymentServices, EMPTY_ENABLED);
@@ -389,13 +430,33 @@ public class WeldBootstrap implements Bootstrap
       synchronized (this)
       {
          log.debug(VALIDATING_BEANS);
-         for (Entry<BeanDeploymentArchive, BeanDeployment> entry : beanDeployments.entrySet())
+         long startTime = System.nanoTime();
+         final Validator validator = deployment.getServices().get(Validator.class);
+         // Validate each bean deployment archive concurrently; the failure
+         // thrown is that of the first archive to fail, ordered by id so that
+         // the same failure is reported whatever the order of the map
+         List<BeanDeployment> orderedBeanDeployments = new ArrayList<BeanDeployment>(beanDeployments.values());
+         Collections.sort(orderedBeanDeployments, BEAN_DEPLOYMENT_ID_COMPARATOR);
+         List<Callable<Void>> validations = new ArrayList<Callable<Void>>(orderedBeanDeployments.size());
+         for (final BeanDeployment beanDeployment : orderedBeanDeployments)
          {
-            BeanManagerImpl beanManager = entry.getValue().getBeanManager(); 
-            beanManager.getBeanResolver().clear();
-            deployment.getServices().get(Validator.class).validateDeployment(beanManager, entry.getValue().getBeanDeployer().getEnvironment());
-            beanManager.getServices().get(InjectionTargetValidator.class).validate();
+            validations.add(new Callable<Void>()
+            {
+
+               public Void call() throws Exception
+               {
+                  BeanManagerImpl beanManager = beanDeployment.getBeanManager();
+                  beanManager.getBeanResolver().clear();
+                  validator.validateDeployment(beanManager, beanDeployment.getBeanDeployer().getEnvironment());
+                  beanManager.getServices().get(InjectionTargetValidator.class).validate();
+                  return null;
+               }
+
+            });
          }
+         DeploymentExecutor deploymentExecutor = DeploymentExecutor.of(deployment.getServices());
+         deploymentExecutor.invokeAll(validations);
+         log.debug(BEAN_DEPLOYMENTS_VALIDATED, validations.size(), deploymentExecutor.getConcurrency(), (System.nanoTime() - startTime) / 1000000);
          AfterDeploymentValidationImpl.fire(deploymentManager, beanDeployments);
       }
       return this;
@@ -424,13 +485,49 @@ public class WeldBootstrap implements Bootstrap
                {
                   RIBean<?> riBean = (RIBean<?>) bean;
                   riBean.cleanupAfterBoot();
+                  riBean.freezeMostSpecializedBean();
                }
             }
          }
+         if (Boolean.getBoolean(RELEASE_BOOTSTRAP_DATA_PROPERTY_NAME))
+         {
+            releaseBootstrapData();
+         }
       }
       return this;
    }
 
+   /**
+    * Release the interned metadata collections, which are only needed whilst
+    * deploying beans. Collections still referenced by beans are kept.
+    * 
+    * The class metadata held by the {@link ClassTransformer} is not released,
+    * as it is still used at runtime, for example by
+    * {@link BeanManagerImpl#createAnnotatedType(Class)} and
+    * {@link BeanManagerImpl#createInjectionTarget(javax.enterprise.inject.spi.AnnotatedType)}.
+    */
+   private void releaseBootstrapData()
+   {
+      SharedObjectCache sharedObjectCache = Container.instance().services().get(SharedObjectCache.class);
+      int sharedObjects = sharedObjectCache.size();
+      if (log.isDebugEnabled())
+      {
+         // Only a collected heap gives a meaningful difference, so the heap
+         // is only collected when the measurement is going to be logged
+         MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+         memory.gc();
+         long usedHeapBefore = memory.getHeapMemoryUsage().getUsed();
+         sharedObjectCache.cleanup();
+         memory.gc();
+         long usedHeapAfter = memory.getHeapMemoryUsage().getUsed();
+         log.debug(BOOTSTRAP_DATA_RELEASED, sharedObjects, usedHeapBefore / 1024, usedHeapAfter / 1024);
+      }
+      else
+      {
+         sharedObjectCache.cleanup();
+      }
+   }
+
    protected Collection<ContextHolder<? extends Context>> createContexts(ServiceRegistry services)
    {
       List<ContextHolder<? extends Context>> contexts = new ArrayList<ContextHolder<? extends Context>>();
@@ -64,7 +64,7 @@ public abstract class AbstractContainerEvent
       Type eventType = new ParameterizedTypeImpl(getRawType(), getActualTypeArguments(), null);
       try
       {
-         beanManager.fireEvent(eventType, this);
+         beanManager.fireContainerEvent(eventType, this);
       }
       catch (Exception e) 
       {
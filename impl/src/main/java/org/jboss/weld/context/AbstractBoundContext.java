@@ -61,6 +61,50 @@ public abstract class AbstractBoundContext<S> extends AbstractManagedContext imp
       }
    }
    
+   /**
+    * Get the bean store of the context if it is active on the current thread,
+    * so that it can be propagated to another thread
+    * 
+    * @return the bean store, or null if the context isn't active
+    */
+   public BoundBeanStore getActiveBeanStore()
+   {
+      return isActive() ? getBeanStore() : null;
+   }
+   
+   /**
+    * Associate a bean store propagated from another thread with the current
+    * thread, and activate the context. The bean store is neither attached nor
+    * detached, as it remains owned by the thread it was propagated from.
+    * 
+    * @param beanStore the bean store
+    * @return true if the bean store was associated, false if a bean store is
+    *         already associated with the current thread
+    */
+   public boolean associatePropagated(BoundBeanStore beanStore)
+   {
+      if (getBeanStore() == null)
+      {
+         setBeanStore(beanStore);
+         setActive(true);
+         return true;
+      }
+      else
+      {
+         return false;
+      }
+   }
+   
+   /**
+    * Deactivate the context, and dissociate a bean store propagated from
+    * another thread, without destroying its instances
+    */
+   public void dissociatePropagated()
+   {
+      setBeanStore(null);
+      cleanup();
+   }
+   
    @Override
    public void cleanup()
    {
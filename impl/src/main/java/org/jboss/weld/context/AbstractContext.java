@@ -23,8 +23,6 @@ import static org.jboss.weld.logging.messages.ContextMessage.CONTEXTUAL_IS_NULL;
 import static org.jboss.weld.logging.messages.ContextMessage.CONTEXT_CLEARED;
 import static org.jboss.weld.logging.messages.ContextMessage.NO_BEAN_STORE_AVAILABLE;
 
-import java.util.concurrent.locks.ReentrantLock;
-
 import javax.enterprise.context.ContextNotActiveException;
 import javax.enterprise.context.spi.Context;
 import javax.enterprise.context.spi.Contextual;
@@ -32,6 +30,7 @@ import javax.enterprise.context.spi.CreationalContext;
 
 import org.jboss.weld.Container;
 import org.jboss.weld.bootstrap.api.ServiceRegistry;
+import org.jboss.weld.context.CreationLocks.CreationLock;
 import org.jboss.weld.context.api.ContextualInstance;
 import org.jboss.weld.context.beanstore.BeanStore;
 import org.jboss.weld.exceptions.IllegalArgumentException;
@@ -56,7 +55,7 @@ public abstract class AbstractContext implements Context
 {
    private static final LocLogger log = loggerFactory().getLogger(CONTEXT);
 
-   private static ReentrantLock creationLock = new ReentrantLock();
+   private final CreationLocks creationLocks;
    
    private final boolean multithreaded;
    
@@ -70,6 +69,7 @@ public abstract class AbstractContext implements Context
    public AbstractContext(boolean multithreaded)
    {
       this.multithreaded = multithreaded;
+      this.creationLocks = multithreaded ? new CreationLocks() : null;
       this.serviceRegistry = Container.instance().services();
    }
 
@@ -106,12 +106,12 @@ public abstract class AbstractContext implements Context
       }
       else if (creationalContext != null)
       {
+         CreationLock creationLock = null;
          try
          {
             if (multithreaded)
             {
-               
-               creationLock.lock();
+               creationLock = creationLocks.lock(id);
                beanInstance = getBeanStore().get(id);
                if (beanInstance != null)
                {
@@ -128,9 +128,9 @@ public abstract class AbstractContext implements Context
          }
          finally
          {
-            if (multithreaded)
+            if (creationLock != null)
             {
-               creationLock.unlock();
+               creationLocks.unlock(creationLock);
             }
          }
       }
@@ -153,7 +153,10 @@ public abstract class AbstractContext implements Context
       }
       ContextualInstance<T> beanInstance = getBeanStore().get(id);
       beanInstance.getContextual().destroy(beanInstance.getInstance(), beanInstance.getCreationalContext());
-      log.trace(CONTEXTUAL_INSTANCE_REMOVED, id, this);
+      if (log.isTraceEnabled())
+      {
+         log.trace(CONTEXTUAL_INSTANCE_REMOVED, id, this);
+      }
    }
    
 
@@ -162,7 +165,10 @@ public abstract class AbstractContext implements Context
     */
    protected void destroy()
    {
-      log.trace(CONTEXT_CLEARED, this);
+      if (log.isTraceEnabled())
+      {
+         log.trace(CONTEXT_CLEARED, this);
+      }
       if (getBeanStore() == null)
       {
          throw new IllegalStateException(NO_BEAN_STORE_AVAILABLE, this);
@@ -199,6 +205,17 @@ public abstract class AbstractContext implements Context
       return serviceRegistry.get(ContextualStore.class).putIfAbsent(contextual);
    }
    
+   /**
+    * Get the locks used to serialize creation of contextual instances in this
+    * context, keyed by contextual id.
+    * 
+    * @return the creation locks, or null if the context is not multithreaded
+    */
+   public CreationLocks getCreationLocks()
+   {
+      return creationLocks;
+   }
+   
    protected ServiceRegistry getServiceRegistry()
    {
       return serviceRegistry;
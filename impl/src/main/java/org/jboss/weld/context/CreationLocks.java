@@ -0,0 +1,207 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.context;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serializes creation of contextual instances per contextual id, rather than
+ * across the whole container. A lock only exists whilst at least one thread
+ * holds or waits for it, so the store does not grow with the number of
+ * contextuals.
+ *
+ * Simple counters are kept for lock acquisitions, contended acquisitions and
+ * the total time locks were held, so that creation hotspots can be observed.
+ *
+ * @author Pete Muir
+ *
+ */
+public class CreationLocks
+{
+
+   /**
+    * A reentrant lock which knows how many threads currently reference it. A
+    * lock whose reference count has dropped to zero is retired, and can't be
+    * retained again.
+    */
+   public static class CreationLock extends ReentrantLock
+   {
+
+      private static final long serialVersionUID = -5092386925617262530L;
+
+      private static final int RETIRED = -1;
+
+      private final String id;
+      private final AtomicInteger references;
+      // Only ever written and read by the thread owning the lock
+      private long acquiredAt;
+
+      private CreationLock(String id)
+      {
+         this.id = id;
+         this.references = new AtomicInteger(0);
+      }
+
+      private boolean retain()
+      {
+         for (;;)
+         {
+            int current = references.get();
+            if (current == RETIRED)
+            {
+               return false;
+            }
+            if (references.compareAndSet(current, current + 1))
+            {
+               return true;
+            }
+         }
+      }
+
+      private boolean release()
+      {
+         return references.decrementAndGet() == 0 && references.compareAndSet(0, RETIRED);
+      }
+
+      public String getId()
+      {
+         return id;
+      }
+
+   }
+
+   private final ConcurrentMap<String, CreationLock> locks;
+   private final AtomicLong acquisitions;
+   private final AtomicLong contendedAcquisitions;
+   private final AtomicLong holdTime;
+
+   public CreationLocks()
+   {
+      this.locks = new ConcurrentHashMap<String, CreationLock>();
+      this.acquisitions = new AtomicLong();
+      this.contendedAcquisitions = new AtomicLong();
+      this.holdTime = new AtomicLong();
+   }
+
+   /**
+    * Acquire the creation lock for the given contextual id, blocking until it
+    * is available. Every call must be paired with a call to
+    * {@link #unlock(CreationLock)} in a finally block.
+    *
+    * @param id the contextual id
+    * @return the acquired lock
+    */
+   public CreationLock lock(String id)
+   {
+      CreationLock lock = retain(id);
+      if (!lock.tryLock())
+      {
+         contendedAcquisitions.incrementAndGet();
+         lock.lock();
+      }
+      acquisitions.incrementAndGet();
+      if (lock.getHoldCount() == 1)
+      {
+         lock.acquiredAt = System.nanoTime();
+      }
+      return lock;
+   }
+
+   /**
+    * Release a lock obtained from {@link #lock(String)}
+    *
+    * @param lock the lock to release
+    */
+   public void unlock(CreationLock lock)
+   {
+      if (lock.getHoldCount() == 1)
+      {
+         holdTime.addAndGet(System.nanoTime() - lock.acquiredAt);
+      }
+      lock.unlock();
+      if (lock.release())
+      {
+         locks.remove(lock.getId(), lock);
+      }
+   }
+
+   private CreationLock retain(String id)
+   {
+      for (;;)
+      {
+         CreationLock lock = locks.get(id);
+         if (lock == null)
+         {
+            CreationLock newLock = new CreationLock(id);
+            lock = locks.putIfAbsent(id, newLock);
+            if (lock == null)
+            {
+               lock = newLock;
+            }
+         }
+         if (lock.retain())
+         {
+            return lock;
+         }
+         // The lock was retired concurrently, make sure it's gone and retry
+         locks.remove(id, lock);
+      }
+   }
+
+   /**
+    * @return the number of times a creation lock has been acquired
+    */
+   public long getAcquisitions()
+   {
+      return acquisitions.get();
+   }
+
+   /**
+    * @return the number of acquisitions which had to wait for another thread
+    */
+   public long getContendedAcquisitions()
+   {
+      return contendedAcquisitions.get();
+   }
+
+   /**
+    * @return the total time, in nanoseconds, creation locks have been held
+    */
+   public long getHoldTime()
+   {
+      return holdTime.get();
+   }
+
+   /**
+    * @return the number of contextual ids currently locked or waited on
+    */
+   public int getActiveLocks()
+   {
+      return locks.size();
+   }
+
+   @Override
+   public String toString()
+   {
+      return "creation locks: " + acquisitions.get() + " acquisitions, " + contendedAcquisitions.get() + " contended, " + holdTime.get() + "ns held";
+   }
+
+}
@@ -18,10 +18,7 @@ package org.jboss.weld.context;
 
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import javax.enterprise.context.spi.Contextual;
 import javax.enterprise.context.spi.CreationalContext;
@@ -31,68 +28,150 @@ import org.jboss.weld.util.reflection.Reflections;
 
 import edu.umd.cs.findbugs.annotations.SuppressWarnings;
 
+/**
+ * A creational context, which tracks the incomplete instances and dependent
+ * instances of a tree of contextual instances being created.
+ * <p>
+ * Each child context sees the incomplete instances pushed to its ancestors
+ * before it was created. Rather than copying them into a map for every child,
+ * the incomplete instances are held in an immutable linked list, which the
+ * child shares with its parent. Pushing an instance prepends it to the
+ * list held by the pushing context only.
+ * <p>
+ * The storage for dependent instances is only created when the first child
+ * context is created, so a leaf of the tree allocates none. Creation is almost
+ * always done by a single thread, so the storage is a plain list guarded by
+ * its own, uncontended, monitor rather than a synchronized list.
+ * 
+ * @author Pete Muir
+ */
 public class CreationalContextImpl<T> implements CreationalContext<T>, WeldCreationalContext<T>, Serializable
 {
 
    private static final long serialVersionUID = 7375854583908262422L;
    
+   private static class IncompleteInstance
+   {
+      
+      private final Contextual<?> contextual;
+      private final Object instance;
+      private final IncompleteInstance next;
+      
+      private IncompleteInstance(Contextual<?> contextual, Object instance, IncompleteInstance next)
+      {
+         this.contextual = contextual;
+         this.instance = instance;
+         this.next = next;
+      }
+      
+   }
+   
    @SuppressWarnings(value="SE_TRANSIENT_FIELD_NOT_RESTORED", justification="Not needed after initial creation")
-   private final transient Map<Contextual<?>, Object> incompleteInstances;
+   private transient IncompleteInstance incompleteInstances;
    @SuppressWarnings(value="SE_TRANSIENT_FIELD_NOT_RESTORED", justification="Not needed after initial creation")
    private final transient Contextual<T> contextual;
    
-   private final List<ContextualInstance<?>> dependentInstances;
+   // Created with the first child context, guarded by this
+   private List<ContextualInstance<?>> dependentInstances;
    
+   // Guarded by itself
    private final List<ContextualInstance<?>> parentDependentInstances;
    
    public CreationalContextImpl(Contextual<T> contextual)
    {
-      this(contextual, new HashMap<Contextual<?>, Object>(), Collections.synchronizedList(new ArrayList<ContextualInstance<?>>()));
+      this(contextual, null, null);
    }
    
-   private CreationalContextImpl(Contextual<T> contextual, Map<Contextual<?>, Object> incompleteInstances, List<ContextualInstance<?>> parentDependentInstancesStore)
+   private CreationalContextImpl(Contextual<T> contextual, IncompleteInstance incompleteInstances, List<ContextualInstance<?>> parentDependentInstances)
    {
       this.incompleteInstances = incompleteInstances;
       this.contextual = contextual;
-      this.dependentInstances = Collections.synchronizedList(new ArrayList<ContextualInstance<?>>());
-      this.parentDependentInstances = parentDependentInstancesStore;
+      this.parentDependentInstances = parentDependentInstances;
    }
    
    public void push(T incompleteInstance)
    {
-      incompleteInstances.put(contextual, incompleteInstance);
+      incompleteInstances = new IncompleteInstance(contextual, incompleteInstance, incompleteInstances);
    }
    
    public <S> WeldCreationalContext<S> getCreationalContext(Contextual<S> contextual)
    {
-      return new CreationalContextImpl<S>(contextual, incompleteInstances == null ? new HashMap<Contextual<?>, Object>() : new HashMap<Contextual<?>, Object>(incompleteInstances), dependentInstances);
+      return new CreationalContextImpl<S>(contextual, incompleteInstances, getDependentInstances());
    }
    
    public <S> S getIncompleteInstance(Contextual<S> bean)
    {
-      return incompleteInstances == null ? null : Reflections.<S>cast(incompleteInstances.get(bean));
+      IncompleteInstance incompleteInstance = findIncompleteInstance(bean);
+      return incompleteInstance == null ? null : Reflections.<S>cast(incompleteInstance.instance);
    }
    
    public boolean containsIncompleteInstance(Contextual<?> bean)
    {
-      return incompleteInstances == null ? false : incompleteInstances.containsKey(bean);
+      return findIncompleteInstance(bean) != null;
+   }
+   
+   private IncompleteInstance findIncompleteInstance(Contextual<?> bean)
+   {
+      // The most recently pushed instance wins
+      for (IncompleteInstance incompleteInstance = incompleteInstances; incompleteInstance != null; incompleteInstance = incompleteInstance.next)
+      {
+         if (bean.equals(incompleteInstance.contextual))
+         {
+            return incompleteInstance;
+         }
+      }
+      return null;
    }
    
    public void addDependentInstance(ContextualInstance<?> contextualInstance)
    {
-      parentDependentInstances.add(contextualInstance);
+      // A root context has no parent to destroy the instance with
+      if (parentDependentInstances != null)
+      {
+         synchronized (parentDependentInstances)
+         {
+            parentDependentInstances.add(contextualInstance);
+         }
+      }
    }
-
-   public void release()
+   
+   private synchronized List<ContextualInstance<?>> getDependentInstances()
    {
-      for (ContextualInstance<?> dependentInstance : dependentInstances)
+      if (dependentInstances == null)
+      {
+         dependentInstances = new ArrayList<ContextualInstance<?>>(4);
+      }
+      return dependentInstances;
+   }
+   
+   private ContextualInstance<?>[] copyDependentInstances()
+   {
+      List<ContextualInstance<?>> dependentInstances;
+      synchronized (this)
+      {
+         dependentInstances = this.dependentInstances;
+      }
+      if (dependentInstances == null)
+      {
+         return null;
+      }
+      synchronized (dependentInstances)
       {
-         destroy(dependentInstance);
+         return dependentInstances.toArray(new ContextualInstance<?>[dependentInstances.size()]);
       }
-      if (incompleteInstances != null)
+   }
+
+   public void release()
+   {
+      ContextualInstance<?>[] dependentInstances = copyDependentInstances();
+      if (dependentInstances != null)
       {
-         incompleteInstances.clear();
+         for (ContextualInstance<?> dependentInstance : dependentInstances)
+         {
+            destroy(dependentInstance);
+         }
       }
+      incompleteInstances = null;
    }
    
    private static <T> void destroy(ContextualInstance<T> beanInstance)
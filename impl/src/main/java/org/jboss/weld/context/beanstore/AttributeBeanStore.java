@@ -72,7 +72,10 @@ public abstract class AttributeBeanStore implements BoundBeanStore
       if (attached)
       {
          attached = false;
-         log.trace("Bean store " + this + " is detached");
+         if (log.isTraceEnabled())
+         {
+            log.trace("Bean store " + this + " is detached");
+         }
          return true;
       }
       else
@@ -102,7 +105,10 @@ public abstract class AttributeBeanStore implements BoundBeanStore
          {
             ContextualInstance<?> instance = beanStore.get(id);
             String prefixedId = getNamingScheme().prefix(id);
-            log.trace("Updating underlying store with contextual " + instance + " under ID " + id);
+            if (log.isTraceEnabled())
+            {
+               log.trace("Updating underlying store with contextual " + instance + " under ID " + id);
+            }
             setAttribute(prefixedId, instance);
          }
 
@@ -117,7 +123,10 @@ public abstract class AttributeBeanStore implements BoundBeanStore
             {
                ContextualInstance<?> instance = (ContextualInstance<?>) getAttribute(prefixedId);
                beanStore.put(id, instance);
-               log.trace("Adding detached contextual " + instance + " under ID " + id);
+               if (log.isTraceEnabled())
+               {
+                  log.trace("Adding detached contextual " + instance + " under ID " + id);
+               }
             }
          }
          return true;
@@ -136,7 +145,10 @@ public abstract class AttributeBeanStore implements BoundBeanStore
    public <T> ContextualInstance<T> get(String id)
    {
       ContextualInstance<T> instance = beanStore.get(id);
-      log.trace(CONTEXTUAL_INSTANCE_FOUND, id, instance, this);
+      if (log.isTraceEnabled())
+      {
+         log.trace(CONTEXTUAL_INSTANCE_FOUND, id, instance, this);
+      }
       return instance;
    }
 
@@ -148,7 +160,10 @@ public abstract class AttributeBeanStore implements BoundBeanStore
          setAttribute(prefixedId, instance);
       }
       beanStore.put(id, instance);
-      log.trace(CONTEXTUAL_INSTANCE_ADDED, instance.getContextual(), id, this);
+      if (log.isTraceEnabled())
+      {
+         log.trace(CONTEXTUAL_INSTANCE_ADDED, instance.getContextual(), id, this);
+      }
    }
 
    public void clear()
@@ -163,9 +178,15 @@ public abstract class AttributeBeanStore implements BoundBeanStore
             removeAttribute(prefixedId);
          }
          it.remove();
-         log.trace(CONTEXTUAL_INSTANCE_REMOVED, id, this);
+         if (log.isTraceEnabled())
+         {
+            log.trace(CONTEXTUAL_INSTANCE_REMOVED, id, this);
+         }
+      }
+      if (log.isTraceEnabled())
+      {
+         log.trace(CONTEXT_CLEARED, this);
       }
-      log.trace(CONTEXT_CLEARED, this);
    }
 
    public boolean contains(String id)
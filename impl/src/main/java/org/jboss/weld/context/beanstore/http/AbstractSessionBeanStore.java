@@ -58,11 +58,17 @@ public abstract class AbstractSessionBeanStore extends AttributeBeanStore
       if (session != null)
       {
          session.removeAttribute(key);
-         log.trace("Removed " + key + " from session " + this.getSession(false).getId());
+         if (log.isTraceEnabled())
+         {
+            log.trace("Removed " + key + " from session " + this.getSession(false).getId());
+         }
       }
       else
       {
-         log.trace("Unable to remove " + key + " from non-existent session");
+         if (log.isTraceEnabled())
+         {
+            log.trace("Unable to remove " + key + " from non-existent session");
+         }
       }
    }
 
@@ -73,11 +79,17 @@ public abstract class AbstractSessionBeanStore extends AttributeBeanStore
       if (session != null)
       {
          session.setAttribute(key, instance);
-         log.trace("Added " + key + " to session " + this.getSession(false).getId());
+         if (log.isTraceEnabled())
+         {
+            log.trace("Added " + key + " to session " + this.getSession(false).getId());
+         }
       }
       else
       {
-         log.trace("Unable to add " + key + " to session as no session could be obtained");
+         if (log.isTraceEnabled())
+         {
+            log.trace("Unable to add " + key + " to session as no session could be obtained");
+         }
       }
    }
 
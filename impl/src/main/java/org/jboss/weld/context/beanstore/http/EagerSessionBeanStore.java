@@ -40,7 +40,10 @@ public class EagerSessionBeanStore extends AbstractSessionBeanStore
    {
       super(namingScheme);
       this.session = session;
-      log.trace("Loading bean store " + this + " map from session " + getSession(false));
+      if (log.isTraceEnabled())
+      {
+         log.trace("Loading bean store " + this + " map from session " + getSession(false));
+      }
    }
 
    @Override
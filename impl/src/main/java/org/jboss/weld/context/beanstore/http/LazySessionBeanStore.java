@@ -57,7 +57,10 @@ public class LazySessionBeanStore extends AbstractSessionBeanStore
    {
       super(namingScheme);
       this.request = request;
-      log.trace("Loading bean store " + this + " map from session " + getSession(false));
+      if (log.isTraceEnabled())
+      {
+         log.trace("Loading bean store " + this + " map from session " + getSession(false));
+      }
    }
 
    @Override
@@ -0,0 +1,321 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.context.beanstore.http;
+
+import static org.jboss.weld.logging.Category.CONTEXT;
+import static org.jboss.weld.logging.LoggerFactory.loggerFactory;
+import static org.jboss.weld.logging.messages.ContextMessage.CONTEXTUAL_INSTANCE_ADDED;
+import static org.jboss.weld.logging.messages.ContextMessage.CONTEXTUAL_INSTANCE_FOUND;
+import static org.jboss.weld.logging.messages.ContextMessage.CONTEXT_CLEARED;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.inject.spi.Bean;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpSession;
+
+import org.jboss.weld.context.api.ContextualInstance;
+import org.jboss.weld.context.beanstore.BoundBeanStore;
+import org.jboss.weld.context.beanstore.NamingScheme;
+import org.jboss.weld.context.http.MutableState;
+import org.jboss.weld.util.reflection.Reflections;
+import org.slf4j.cal10n.LocLogger;
+
+import com.google.common.base.Function;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.MapMaker;
+
+/**
+ * <p>
+ * An HttpSession backed, bound bean store which keeps every instance in a
+ * single session attribute, rather than an attribute per instance.
+ * </p>
+ *
+ * <p>
+ * Attaching the bean store reads the one attribute, rather than scanning the
+ * session's attribute names. The instances are shared by every request in
+ * the session, so are held in a concurrent map. The attribute is only set
+ * when the bean store is detached, and only if the bean store is dirty - if
+ * an instance has been added or removed, or an instance of a bean annotated
+ * {@link MutableState} has been used. As most containers replicate a
+ * session attribute when it is set, this keeps the cost of replicating the
+ * session down.
+ * </p>
+ *
+ * <p>
+ * Whilst detached, modifications are made to a copy of the instances, which
+ * is merged into the session when the bean store is reattached. The detached
+ * state is assumed to be authoritative if there are any conflicts.
+ * </p>
+ *
+ * <p>
+ * This construct is not thread safe.
+ * </p>
+ *
+ * @author Pete Muir
+ *
+ */
+public class SingleAttributeSessionBeanStore implements BoundBeanStore
+{
+
+   private static final long serialVersionUID = -1523476381276433546L;
+
+   private static final LocLogger log = loggerFactory().getLogger(CONTEXT);
+
+   // Whether each bean class is annotated @MutableState, so that using an
+   // instance doesn't need a reflective lookup. The keys are weak, so that
+   // the classes of undeployed applications can be unloaded.
+   private static final ConcurrentMap<Class<?>, Boolean> MUTABLE_BEAN_CLASSES = new MapMaker().weakKeys().makeComputingMap(new Function<Class<?>, Boolean>()
+   {
+
+      public Boolean apply(Class<?> from)
+      {
+         return from.isAnnotationPresent(MutableState.class);
+      }
+
+   });
+
+   private final String attributeName;
+   private final HttpServletRequest request;
+   private final HttpSession session;
+
+   private ConcurrentHashMap<String, ContextualInstance<?>> instances;
+   // Whether instances is the map held in the session
+   private boolean bound;
+   private boolean attached;
+   private boolean dirty;
+
+   /**
+    * Create a bean store which obtains the session from the request, only
+    * creating the session when an instance is added
+    */
+   public SingleAttributeSessionBeanStore(NamingScheme namingScheme, HttpServletRequest request)
+   {
+      this(namingScheme, request, null);
+   }
+
+   /**
+    * Create a bean store backed by the session
+    */
+   public SingleAttributeSessionBeanStore(NamingScheme namingScheme, HttpSession session)
+   {
+      this(namingScheme, null, session);
+   }
+
+   private SingleAttributeSessionBeanStore(NamingScheme namingScheme, HttpServletRequest request, HttpSession session)
+   {
+      this.attributeName = namingScheme.prefix(SingleAttributeSessionBeanStore.class.getName());
+      this.request = request;
+      this.session = session;
+      this.instances = new ConcurrentHashMap<String, ContextualInstance<?>>();
+   }
+
+   public boolean attach()
+   {
+      if (!attached)
+      {
+         attached = true;
+         HttpSession session = getSession(false);
+         if (session != null)
+         {
+            bind(session);
+         }
+         return true;
+      }
+      else
+      {
+         return false;
+      }
+   }
+
+   public boolean detach()
+   {
+      if (attached)
+      {
+         attached = false;
+         if (bound && dirty)
+         {
+            dirty = false;
+            HttpSession session = getSession(false);
+            if (session != null)
+            {
+               // Set the attribute again so that the container replicates it
+               session.setAttribute(attributeName, instances);
+               if (log.isTraceEnabled())
+               {
+                  log.trace("Updated bean store attribute " + attributeName + " in session " + session.getId());
+               }
+            }
+         }
+         return true;
+      }
+      else
+      {
+         return false;
+      }
+   }
+
+   public boolean isAttached()
+   {
+      return attached;
+   }
+
+   /**
+    * Whether the attribute will be set in the session when the bean store is
+    * detached
+    */
+   public boolean isDirty()
+   {
+      return dirty;
+   }
+
+   public <T> ContextualInstance<T> get(String id)
+   {
+      ContextualInstance<T> instance = Reflections.cast(instances.get(id));
+      if (instance != null && attached && !dirty && isMutable(instance.getContextual()))
+      {
+         dirty = true;
+      }
+      if (log.isTraceEnabled())
+      {
+         log.trace(CONTEXTUAL_INSTANCE_FOUND, id, instance, this);
+      }
+      return instance;
+   }
+
+   public boolean contains(String id)
+   {
+      return instances.containsKey(id);
+   }
+
+   public <T> void put(String id, ContextualInstance<T> instance)
+   {
+      if (attached && !bound)
+      {
+         instances.put(id, instance);
+         HttpSession session = getSession(true);
+         if (session != null)
+         {
+            bind(session);
+         }
+      }
+      else
+      {
+         copyIfDetached();
+         instances.put(id, instance);
+         dirty = true;
+      }
+      if (log.isTraceEnabled())
+      {
+         log.trace(CONTEXTUAL_INSTANCE_ADDED, instance.getContextual(), id, this);
+      }
+   }
+
+   public void clear()
+   {
+      if (attached && bound)
+      {
+         HttpSession session = getSession(false);
+         if (session != null)
+         {
+            session.removeAttribute(attributeName);
+         }
+      }
+      instances = new ConcurrentHashMap<String, ContextualInstance<?>>();
+      bound = false;
+      dirty = false;
+      if (log.isTraceEnabled())
+      {
+         log.trace(CONTEXT_CLEARED, this);
+      }
+   }
+
+   public Iterator<String> iterator()
+   {
+      return Iterators.unmodifiableIterator(instances.keySet().iterator());
+   }
+
+   /**
+    * Use the instances held in the session, merging in any instances added
+    * whilst detached. If the session holds no instances, store ours in it.
+    */
+   private void bind(HttpSession session)
+   {
+      ConcurrentHashMap<String, ContextualInstance<?>> sessionInstances = Reflections.cast(session.getAttribute(attributeName));
+      if (sessionInstances != null)
+      {
+         if (!instances.isEmpty())
+         {
+            sessionInstances.putAll(instances);
+            dirty = true;
+         }
+         instances = sessionInstances;
+         bound = true;
+      }
+      else if (!instances.isEmpty())
+      {
+         session.setAttribute(attributeName, instances);
+         if (log.isTraceEnabled())
+         {
+            log.trace("Added bean store attribute " + attributeName + " to session " + session.getId());
+         }
+         bound = true;
+         dirty = false;
+      }
+   }
+
+   /**
+    * Modifications made whilst detached mustn't be seen by other requests, so
+    * stop sharing the instances held in the session
+    */
+   private void copyIfDetached()
+   {
+      if (!attached && bound)
+      {
+         instances = new ConcurrentHashMap<String, ContextualInstance<?>>(instances);
+         bound = false;
+      }
+   }
+
+   private HttpSession getSession(boolean create)
+   {
+      if (session != null)
+      {
+         return session;
+      }
+      try
+      {
+         return request.getSession(create);
+      }
+      catch (IllegalStateException e)
+      {
+         // If container can't create an underlying session, invalidate the
+         // current one
+         detach();
+         return null;
+      }
+   }
+
+   private static boolean isMutable(Contextual<?> contextual)
+   {
+      return contextual instanceof Bean<?> && MUTABLE_BEAN_CLASSES.get(((Bean<?>) contextual).getBeanClass());
+   }
+
+}
@@ -9,6 +9,7 @@ import org.jboss.weld.context.AbstractBoundContext;
 import org.jboss.weld.context.beanstore.MapBeanStore;
 import org.jboss.weld.context.beanstore.NamingScheme;
 import org.jboss.weld.context.beanstore.SimpleNamingScheme;
+import org.jboss.weld.context.cache.RequestScopedBeanCache;
 
 public class BoundRequestContextImpl extends AbstractBoundContext<Map<String, Object>> implements BoundRequestContext
 {
@@ -16,11 +17,24 @@ public class BoundRequestContextImpl extends AbstractBoundContext<Map<String, Ob
    private static final String IDENTIFIER = BoundRequestContextImpl.class.getName();
 
    private final NamingScheme namingScheme;
+   private final boolean memoizeInstances;
 
    public BoundRequestContextImpl()
+   {
+      this(Boolean.getBoolean(RequestScopedBeanCache.MEMOIZE_INSTANCES_PROPERTY_NAME));
+   }
+
+   /**
+    * @param memoizeInstances whether client proxies may memoize request scoped
+    *           instances whilst the context is active
+    * 
+    * @see RequestScopedBeanCache
+    */
+   public BoundRequestContextImpl(boolean memoizeInstances)
    {
       super(false);
       this.namingScheme = new SimpleNamingScheme(BoundRequestContext.class.getName());
+      this.memoizeInstances = memoizeInstances;
    }
 
    public Class<? extends Annotation> getScope()
@@ -28,11 +42,40 @@ public class BoundRequestContextImpl extends AbstractBoundContext<Map<String, Ob
       return RequestScoped.class;
    }
 
+   @Override
+   public void activate()
+   {
+      super.activate();
+      if (memoizeInstances)
+      {
+         RequestScopedBeanCache.beginRequest();
+      }
+   }
+
+   @Override
+   public void deactivate()
+   {
+      if (memoizeInstances)
+      {
+         RequestScopedBeanCache.endRequest();
+      }
+      super.deactivate();
+   }
+
+   @Override
+   public void cleanup()
+   {
+      RequestScopedBeanCache.invalidate();
+      super.cleanup();
+   }
+
    public boolean associate(Map<String, Object> storage)
    {
       if (getBeanStore() == null)
       {
          storage.put(IDENTIFIER, IDENTIFIER);
+         // Instances memoized for another bean store must not be seen
+         RequestScopedBeanCache.invalidate();
          setBeanStore(new MapBeanStore(namingScheme, storage));
          getBeanStore().attach();
          return true;
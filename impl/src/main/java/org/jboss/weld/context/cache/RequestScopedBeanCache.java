@@ -0,0 +1,158 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.context.cache;
+
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Tracks thread locals used to memoize request scoped instances, so that
+ * they can be cleared when the request ends.
+ *
+ * Memoizing instances is opt-in. A request context only takes part if it was
+ * created with memoizing enabled, which by default it is when the
+ * {@value #MEMOIZE_INSTANCES_PROPERTY_NAME} system property is true. A request
+ * context which takes part begins the cache when it is activated and ends it
+ * when it is deactivated. Whilst the cache is active on a thread, a client
+ * proxy may memoize the instance of its request scoped bean in a thread local,
+ * registering the thread local here so that it is removed when the request
+ * ends. Request contexts which don't take part simply leave the cache
+ * inactive, and no instances are memoized.
+ *
+ * The memoized instances belong to the bean store of a single activation, so
+ * they are removed whenever a request is begun or ended, and whenever a
+ * request context is associated with or dissociated from a bean store. A
+ * nested activation, which may use another bean store, therefore never sees
+ * the instances of the outer activation, and a request on a pooled thread
+ * never sees the instances of an earlier request whose deactivation was
+ * missed. Activations are counted, so that the cache stays active until the
+ * outermost activation ends.
+ *
+ * @author Pete Muir
+ *
+ */
+public class RequestScopedBeanCache
+{
+
+   private static class Cache
+   {
+
+      // The number of nested activations on this thread
+      private int depth;
+
+      private final List<ThreadLocal<?>> items = new LinkedList<ThreadLocal<?>>();
+
+      private void clear()
+      {
+         for (ThreadLocal<?> item : items)
+         {
+            item.remove();
+         }
+         items.clear();
+      }
+
+   }
+
+   /**
+    * If true, the built in request contexts memoize request scoped instances
+    */
+   public static final String MEMOIZE_INSTANCES_PROPERTY_NAME = "org.jboss.weld.context.request.memoizeInstances";
+
+   private static final ThreadLocal<Cache> CACHE = new ThreadLocal<Cache>();
+
+   private RequestScopedBeanCache()
+   {
+   }
+
+   /**
+    * Whether instances may be memoized on this thread
+    */
+   public static boolean isActive()
+   {
+      return CACHE.get() != null;
+   }
+
+   /**
+    * Register a thread local to be removed when the request ends.
+    *
+    * @param item the thread local
+    * @return true if the thread local was registered, false if the cache is
+    *         not active, in which case the caller must not set the thread
+    *         local
+    */
+   public static boolean addItemIfActive(ThreadLocal<?> item)
+   {
+      Cache cache = CACHE.get();
+      if (cache == null)
+      {
+         return false;
+      }
+      cache.items.add(item);
+      return true;
+   }
+
+   /**
+    * Begin the cache for a request on the current thread. Any instances
+    * memoized for an outer or earlier request are removed.
+    */
+   public static void beginRequest()
+   {
+      Cache cache = CACHE.get();
+      if (cache == null)
+      {
+         cache = new Cache();
+         CACHE.set(cache);
+      }
+      else
+      {
+         cache.clear();
+      }
+      cache.depth++;
+   }
+
+   /**
+    * End the cache for a request on the current thread, removing all memoized
+    * instances. The cache stays active until the outermost activation ends.
+    */
+   public static void endRequest()
+   {
+      Cache cache = CACHE.get();
+      if (cache != null)
+      {
+         cache.clear();
+         if (--cache.depth <= 0)
+         {
+            CACHE.remove();
+         }
+      }
+   }
+
+   /**
+    * Remove all instances memoized on the current thread, for example because
+    * the request context has been associated with another bean store, leaving
+    * the cache active
+    */
+   public static void invalidate()
+   {
+      Cache cache = CACHE.get();
+      if (cache != null)
+      {
+         cache.clear();
+      }
+   }
+
+}
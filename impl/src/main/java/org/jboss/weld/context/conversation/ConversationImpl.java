@@ -207,7 +207,10 @@ public class ConversationImpl implements ManagedConversation, Serializable
       }
       if (success)
       {
-         log.trace(CONVERSATION_LOCKED, this);
+         if (log.isTraceEnabled())
+         {
+            log.trace(CONVERSATION_LOCKED, this);
+         }
       }
       else
       {
@@ -226,7 +229,10 @@ public class ConversationImpl implements ManagedConversation, Serializable
       if (concurrencyLock.isHeldByCurrentThread())
       {
          concurrencyLock.unlock();
-         log.trace(CONVERSATION_UNLOCKED, this);
+         if (log.isTraceEnabled())
+         {
+            log.trace(CONVERSATION_UNLOCKED, this);
+         }
       }
       else
       {
@@ -9,6 +9,7 @@ import org.jboss.weld.context.AbstractBoundContext;
 import org.jboss.weld.context.beanstore.NamingScheme;
 import org.jboss.weld.context.beanstore.SimpleNamingScheme;
 import org.jboss.weld.context.beanstore.ejb.InvocationContextBeanStore;
+import org.jboss.weld.context.cache.RequestScopedBeanCache;
 import org.jboss.weld.context.http.HttpSessionContextImpl;
 
 public class EjbRequestContextImpl extends AbstractBoundContext<InvocationContext> implements EjbRequestContext
@@ -17,11 +18,24 @@ public class EjbRequestContextImpl extends AbstractBoundContext<InvocationContex
    private static final String IDENTIFIER = HttpSessionContextImpl.class.getName();
 
    private final NamingScheme namingScheme;
+   private final boolean memoizeInstances;
 
    public EjbRequestContextImpl()
+   {
+      this(Boolean.getBoolean(RequestScopedBeanCache.MEMOIZE_INSTANCES_PROPERTY_NAME));
+   }
+
+   /**
+    * @param memoizeInstances whether client proxies may memoize request scoped
+    *           instances whilst the context is active
+    * 
+    * @see RequestScopedBeanCache
+    */
+   public EjbRequestContextImpl(boolean memoizeInstances)
    {
       super(false);
       this.namingScheme = new SimpleNamingScheme(EjbRequestContext.class.getName());
+      this.memoizeInstances = memoizeInstances;
    }
 
    public Class<? extends Annotation> getScope()
@@ -29,12 +43,41 @@ public class EjbRequestContextImpl extends AbstractBoundContext<InvocationContex
       return RequestScoped.class;
    }
 
+   @Override
+   public void activate()
+   {
+      super.activate();
+      if (memoizeInstances)
+      {
+         RequestScopedBeanCache.beginRequest();
+      }
+   }
+
+   @Override
+   public void deactivate()
+   {
+      if (memoizeInstances)
+      {
+         RequestScopedBeanCache.endRequest();
+      }
+      super.deactivate();
+   }
+
+   @Override
+   public void cleanup()
+   {
+      RequestScopedBeanCache.invalidate();
+      super.cleanup();
+   }
+
    public boolean associate(InvocationContext ctx)
    {
       if (!ctx.getContextData().containsKey(IDENTIFIER))
       {
          // Don't reassociate
          ctx.getContextData().put(IDENTIFIER, IDENTIFIER);
+         // Instances memoized for another bean store must not be seen
+         RequestScopedBeanCache.invalidate();
          setBeanStore(new InvocationContextBeanStore(namingScheme, ctx));
 
          return true;
@@ -31,6 +31,7 @@ import org.jboss.weld.context.AbstractBoundContext;
 import org.jboss.weld.context.beanstore.SimpleNamingScheme;
 import org.jboss.weld.context.beanstore.NamingScheme;
 import org.jboss.weld.context.beanstore.http.RequestBeanStore;
+import org.jboss.weld.context.cache.RequestScopedBeanCache;
 
 public class HttpRequestContextImpl extends AbstractBoundContext<ServletRequest> implements HttpRequestContext
 {
@@ -38,14 +39,24 @@ public class HttpRequestContextImpl extends AbstractBoundContext<ServletRequest>
    private static final String IDENTIFIER = HttpRequestContextImpl.class.getName();
 
    private final NamingScheme namingScheme;
+   private final boolean memoizeInstances;
+
+   public HttpRequestContextImpl()
+   {
+      this(Boolean.getBoolean(RequestScopedBeanCache.MEMOIZE_INSTANCES_PROPERTY_NAME));
+   }
 
    /**
-    * Constructor
+    * @param memoizeInstances whether client proxies may memoize request scoped
+    *           instances whilst the context is active
+    * 
+    * @see RequestScopedBeanCache
     */
-   public HttpRequestContextImpl()
+   public HttpRequestContextImpl(boolean memoizeInstances)
    {
       super(false);
       this.namingScheme = new SimpleNamingScheme(HttpRequestContext.class.getName());
+      this.memoizeInstances = memoizeInstances;
    }
 
    public boolean associate(ServletRequest request)
@@ -53,6 +64,8 @@ public class HttpRequestContextImpl extends AbstractBoundContext<ServletRequest>
       if (request.getAttribute(IDENTIFIER) == null)
       {
          request.setAttribute(IDENTIFIER, IDENTIFIER);
+         // Instances memoized for another bean store must not be seen
+         RequestScopedBeanCache.invalidate();
          setBeanStore(new RequestBeanStore(request, namingScheme));
          getBeanStore().attach();
          return true;
@@ -90,4 +103,31 @@ public class HttpRequestContextImpl extends AbstractBoundContext<ServletRequest>
       return RequestScoped.class;
    }
 
+   @Override
+   public void activate()
+   {
+      super.activate();
+      if (memoizeInstances)
+      {
+         RequestScopedBeanCache.beginRequest();
+      }
+   }
+
+   @Override
+   public void deactivate()
+   {
+      if (memoizeInstances)
+      {
+         RequestScopedBeanCache.endRequest();
+      }
+      super.deactivate();
+   }
+
+   @Override
+   public void cleanup()
+   {
+      RequestScopedBeanCache.invalidate();
+      super.cleanup();
+   }
+
 }
@@ -13,18 +13,37 @@ import org.jboss.weld.context.beanstore.NamingScheme;
 import org.jboss.weld.context.beanstore.SimpleNamingScheme;
 import org.jboss.weld.context.beanstore.http.EagerSessionBeanStore;
 import org.jboss.weld.context.beanstore.http.LazySessionBeanStore;
+import org.jboss.weld.context.beanstore.http.SingleAttributeSessionBeanStore;
 
 public class HttpSessionContextImpl extends AbstractBoundContext<HttpServletRequest> implements HttpSessionContext
 {
 
    private static final String IDENTIFIER = HttpSessionContextImpl.class.getName();
 
+   /**
+    * If true, each session's instances are kept in a single session attribute
+    * 
+    * @see SingleAttributeSessionBeanStore
+    */
+   public static final String SINGLE_ATTRIBUTE_PROPERTY_NAME = "org.jboss.weld.context.http.session.singleAttribute";
+
    private final NamingScheme namingScheme;
+   private final boolean singleAttribute;
 
    public HttpSessionContextImpl()
+   {
+      this(Boolean.getBoolean(SINGLE_ATTRIBUTE_PROPERTY_NAME));
+   }
+
+   /**
+    * @param singleAttribute whether to keep each session's instances in a
+    *           single session attribute, rather than an attribute per instance
+    */
+   public HttpSessionContextImpl(boolean singleAttribute)
    {
       super(true);
       this.namingScheme = new SimpleNamingScheme(HttpSessionContext.class.getName());
+      this.singleAttribute = singleAttribute;
    }
 
    public boolean associate(HttpServletRequest request)
@@ -33,7 +52,14 @@ public class HttpSessionContextImpl extends AbstractBoundContext<HttpServletRequ
       {
          // Don't reassociate
          request.setAttribute(IDENTIFIER, IDENTIFIER);
-         setBeanStore(new LazySessionBeanStore(request, namingScheme));
+         if (singleAttribute)
+         {
+            setBeanStore(new SingleAttributeSessionBeanStore(namingScheme, request));
+         }
+         else
+         {
+            setBeanStore(new LazySessionBeanStore(request, namingScheme));
+         }
          return true;
       }
       else
@@ -72,7 +98,14 @@ public class HttpSessionContextImpl extends AbstractBoundContext<HttpServletRequ
          try
          {
             HttpConversationContext conversationContext = getConversationContext();
-            setBeanStore(new EagerSessionBeanStore(namingScheme, session));
+            if (singleAttribute)
+            {
+               setBeanStore(new SingleAttributeSessionBeanStore(namingScheme, session));
+            }
+            else
+            {
+               setBeanStore(new EagerSessionBeanStore(namingScheme, session));
+            }
             activate();
             invalidate();
             conversationContext.destroy(session);
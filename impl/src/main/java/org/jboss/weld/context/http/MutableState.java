@@ -0,0 +1,48 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.context.http;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a session scoped bean whose state changes after it is created. When
+ * the session context keeps its instances in a single session attribute, the
+ * attribute is only written back to the session (and so replicated) when an
+ * instance is added or removed, or when an instance of a bean with mutable
+ * state has been used.
+ *
+ * This annotation is internal to Weld. It isn't part of the CDI API, nor of
+ * the Weld API or SPI, and may change or be removed in a later release.
+ * Beans using it are tied to this implementation.
+ *
+ * @see org.jboss.weld.context.beanstore.http.SingleAttributeSessionBeanStore
+ *
+ * @author Pete Muir
+ *
+ */
+@Documented
+@Retention(RUNTIME)
+@Target(TYPE)
+public @interface MutableState
+{
+
+}
@@ -7,13 +7,28 @@ import javax.enterprise.context.RequestScoped;
 import org.jboss.weld.context.AbstractUnboundContext;
 import org.jboss.weld.context.RequestContext;
 import org.jboss.weld.context.beanstore.HashMapBeanStore;
+import org.jboss.weld.context.cache.RequestScopedBeanCache;
 
 public class RequestContextImpl extends AbstractUnboundContext implements RequestContext
 {
 
+   private final boolean memoizeInstances;
+
    public RequestContextImpl()
+   {
+      this(Boolean.getBoolean(RequestScopedBeanCache.MEMOIZE_INSTANCES_PROPERTY_NAME));
+   }
+
+   /**
+    * @param memoizeInstances whether client proxies may memoize request scoped
+    *           instances whilst the context is active
+    * 
+    * @see RequestScopedBeanCache
+    */
+   public RequestContextImpl(boolean memoizeInstances)
    {
       super(false);
+      this.memoizeInstances = memoizeInstances;
    }
 
    public Class<? extends Annotation> getScope()
@@ -26,11 +41,24 @@ public class RequestContextImpl extends AbstractUnboundContext implements Reques
       // Attach bean store (this context is unbound, so this can simply be thread-scoped
       setBeanStore(new HashMapBeanStore());
       super.activate();
+      if (memoizeInstances)
+      {
+         RequestScopedBeanCache.beginRequest();
+      }
+      else
+      {
+         // A new bean store replaces any from an outer activation
+         RequestScopedBeanCache.invalidate();
+      }
    }
    
    @Override
    public void deactivate()
    {
+      if (memoizeInstances)
+      {
+         RequestScopedBeanCache.endRequest();
+      }
       super.deactivate();
       // Dettach the bean store
       setBeanStore(null);
@@ -20,13 +20,19 @@ import org.jboss.weld.bean.proxy.ClientProxyProvider;
 import org.jboss.weld.manager.BeanManagerImpl;
 import org.slf4j.cal10n.LocLogger;
 
+import com.google.common.base.Function;
+import com.google.common.collect.MapMaker;
+
 import javax.el.ELContext;
 import javax.el.ELResolver;
 import javax.enterprise.context.Dependent;
 import javax.enterprise.inject.spi.Bean;
 import java.beans.FeatureDescriptor;
-import java.lang.annotation.Annotation;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static org.jboss.weld.logging.Category.EL;
 import static org.jboss.weld.logging.LoggerFactory.loggerFactory;
@@ -34,13 +40,89 @@ import static org.jboss.weld.logging.messages.ElMessage.PROPERTY_LOOKUP;
 import static org.jboss.weld.logging.messages.ElMessage.PROPERTY_RESOLVED;
 
 /**
- * An EL-resolver against the named beans
+ * An EL-resolver against the named beans.
+ * 
+ * The bean (and, for a normal scoped bean, the client proxy) resolved for each
+ * name is held in a table per manager, which is invalidated when the manager's
+ * name based resolver is cleared. The values resolved for names are also
+ * cached in each ELContext, so that a name used many times in a page is only
+ * looked up once.
  *  
  * @author Pete Muir
  */
 public abstract class AbstractWeldELResolver extends ELResolver
 {
    private static final LocLogger log = loggerFactory().getLogger(EL);
+
+   /**
+    * The bean resolved for a name
+    */
+   private static class ResolvedName
+   {
+
+      private final Bean<?> bean;
+      // The client proxy, if the bean is normal scoped
+      private final Object proxy;
+      private final int generation;
+
+      private ResolvedName(Bean<?> bean, Object proxy, int generation)
+      {
+         this.bean = bean;
+         this.proxy = proxy;
+         this.generation = generation;
+      }
+
+   }
+
+   /**
+    * The client proxies resolved for names in an ELContext, by manager, as the
+    * same name may resolve to different beans in different managers. An
+    * ELContext is only used by one thread at a time, so the cache isn't
+    * synchronized.
+    */
+   private static class ResolvedNameCache
+   {
+
+      private final Map<BeanManagerImpl, Map<String, Object>> proxies = new HashMap<BeanManagerImpl, Map<String, Object>>();
+
+      private Map<String, Object> getProxies(BeanManagerImpl beanManager)
+      {
+         Map<String, Object> proxies = this.proxies.get(beanManager);
+         if (proxies == null)
+         {
+            proxies = new HashMap<String, Object>();
+            this.proxies.put(beanManager, proxies);
+         }
+         return proxies;
+      }
+
+      private static ResolvedNameCache of(ELContext context)
+      {
+         ResolvedNameCache cache = (ResolvedNameCache) context.getContext(ResolvedNameCache.class);
+         if (cache == null)
+         {
+            cache = new ResolvedNameCache();
+            context.putContext(ResolvedNameCache.class, cache);
+         }
+         return cache;
+      }
+
+   }
+
+   private final Map<BeanManagerImpl, ConcurrentMap<String, ResolvedName>> resolvedNames;
+
+   public AbstractWeldELResolver()
+   {
+      this.resolvedNames = new MapMaker().weakKeys().makeComputingMap(new Function<BeanManagerImpl, ConcurrentMap<String, ResolvedName>>()
+      {
+
+         public ConcurrentMap<String, ResolvedName> apply(BeanManagerImpl from)
+         {
+            return new ConcurrentHashMap<String, ResolvedName>();
+         }
+
+      });
+   }
    
    protected abstract BeanManagerImpl getManager(ELContext context);
 
@@ -65,19 +147,26 @@ public abstract class AbstractWeldELResolver extends ELResolver
    @Override
    public Object getValue(final ELContext context, Object base, Object property)
    {
-      BeanManagerImpl beanManager = getManager(context);
       if (property != null)
       {
          String propertyString = property.toString();
-         log.trace(PROPERTY_LOOKUP, propertyString);
+         if (log.isTraceEnabled())
+         {
+            log.trace(PROPERTY_LOOKUP, propertyString);
+         }
+         BeanManagerImpl beanManager = getManager(context);
          Namespace namespace = null;
          if (base == null)
          {
-            if (beanManager.getRootNamespace().contains(propertyString))
+            Namespace rootNamespace = beanManager.getRootNamespace();
+            if (rootNamespace.contains(propertyString))
             {
-               Object value = beanManager.getRootNamespace().get(propertyString);
+               Object value = rootNamespace.get(propertyString);
                context.setPropertyResolved(true);
-               log.trace(PROPERTY_RESOLVED, propertyString, value);
+               if (log.isTraceEnabled())
+               {
+                  log.trace(PROPERTY_RESOLVED, propertyString, value);
+               }
                return value;
             }
          }
@@ -90,7 +179,10 @@ public abstract class AbstractWeldELResolver extends ELResolver
             {
                // There is a child namespace
                Object value = namespace.get(propertyString);
-               log.trace(PROPERTY_RESOLVED, propertyString, value);
+               if (log.isTraceEnabled())
+               {
+                  log.trace(PROPERTY_RESOLVED, propertyString, value);
+               }
                return value;
             }
          }
@@ -113,7 +205,10 @@ public abstract class AbstractWeldELResolver extends ELResolver
          if (value != null)
          {
             context.setPropertyResolved(true);
-            log.trace(PROPERTY_RESOLVED, propertyString, value);
+            if (log.isTraceEnabled())
+            {
+               log.trace(PROPERTY_RESOLVED, propertyString, value);
+            }
             return value;
          }
       }
@@ -122,23 +217,25 @@ public abstract class AbstractWeldELResolver extends ELResolver
    
    private Object lookup(BeanManagerImpl beanManager, ELContext context, String name)
    {
-      final Bean<?> bean = beanManager.resolve(beanManager.getBeans(name));
+      Map<String, Object> proxies = ResolvedNameCache.of(context).getProxies(beanManager);
+      Object proxy = proxies.get(name);
+      if (proxy != null)
+      {
+         return proxy;
+      }
+      ResolvedName resolvedName = getResolvedName(beanManager, name);
+      final Bean<?> bean = resolvedName.bean;
       if (bean == null)
       {
          return null;
       }
-      Class<? extends Annotation> scope = bean.getScope();
-      if (!scope.equals(Dependent.class))
+      else if (resolvedName.proxy != null)
+      {
+         proxies.put(name, resolvedName.proxy);
+         return resolvedName.proxy;
+      }
+      else if (!bean.getScope().equals(Dependent.class))
       {
-         ClientProxyProvider cpp = beanManager.getClientProxyProvider();
-         if (cpp != null)
-         {
-            Object value = cpp.getClientProxy(bean);
-            if (value != null)
-            {
-               return value;
-            }
-         }
          return beanManager.getReference(bean, beanManager.createCreationalContext(bean), false);
       }
       else
@@ -156,6 +253,31 @@ public abstract class AbstractWeldELResolver extends ELResolver
       }
    }
 
+   private ResolvedName getResolvedName(BeanManagerImpl beanManager, String name)
+   {
+      ConcurrentMap<String, ResolvedName> resolvedNames = this.resolvedNames.get(beanManager);
+      int generation = beanManager.getNameBasedResolver().getGeneration();
+      ResolvedName resolvedName = resolvedNames.get(name);
+      if (resolvedName == null || resolvedName.generation != generation)
+      {
+         // Resolving is idempotent, so if two threads resolve the same name
+         // concurrently, it doesn't matter which result is kept
+         Bean<?> bean = beanManager.resolve(beanManager.getBeans(name));
+         Object proxy = null;
+         if (bean != null && !bean.getScope().equals(Dependent.class))
+         {
+            ClientProxyProvider cpp = beanManager.getClientProxyProvider();
+            if (cpp != null)
+            {
+               proxy = cpp.getClientProxy(bean);
+            }
+         }
+         resolvedName = new ResolvedName(bean, proxy, generation);
+         resolvedNames.put(name, resolvedName);
+      }
+      return resolvedName;
+   }
+
    @Override
    public boolean isReadOnly(ELContext context, Object base, Object property)
    {
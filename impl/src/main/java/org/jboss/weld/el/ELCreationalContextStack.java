@@ -16,14 +16,25 @@
  */
 package org.jboss.weld.el;
 
-import java.util.Stack;
+import java.util.ArrayList;
+import java.util.EmptyStackException;
 
 import javax.el.ELContext;
 
-class ELCreationalContextStack extends Stack<CreationalContextCallable>
+/**
+ * The stack of creational contexts for the expressions being evaluated in an
+ * ELContext. An ELContext is only used by one thread at a time, so the stack
+ * isn't synchronized.
+ */
+class ELCreationalContextStack
 {
    
-   private static final long serialVersionUID = -57142365866995726L;
+   private final ArrayList<CreationalContextCallable> callables;
+   
+   private ELCreationalContextStack()
+   {
+      this.callables = new ArrayList<CreationalContextCallable>();
+   }
    
    public static ELCreationalContextStack addToContext(ELContext context)
    {
@@ -45,4 +56,32 @@ class ELCreationalContextStack extends Stack<CreationalContextCallable>
       }
    }
    
-}
\ No newline at end of file
+   public void push(CreationalContextCallable callable)
+   {
+      callables.add(callable);
+   }
+   
+   public CreationalContextCallable pop()
+   {
+      if (callables.isEmpty())
+      {
+         throw new EmptyStackException();
+      }
+      return callables.remove(callables.size() - 1);
+   }
+   
+   public CreationalContextCallable peek()
+   {
+      if (callables.isEmpty())
+      {
+         throw new EmptyStackException();
+      }
+      return callables.get(callables.size() - 1);
+   }
+   
+   public boolean isEmpty()
+   {
+      return callables.isEmpty();
+   }
+   
+}
@@ -0,0 +1,412 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.event;
+
+import static org.jboss.weld.logging.Category.EVENT;
+import static org.jboss.weld.logging.LoggerFactory.loggerFactory;
+import static org.jboss.weld.logging.messages.EventMessage.ASYNC_FIRE;
+import static org.jboss.weld.logging.messages.EventMessage.ASYNC_OBSERVER_FAILURE;
+
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.enterprise.event.TransactionPhase;
+import javax.enterprise.inject.spi.ObserverMethod;
+
+import org.jboss.weld.Container;
+import org.jboss.weld.bootstrap.api.Service;
+import org.jboss.weld.context.AbstractBoundContext;
+import org.jboss.weld.context.SessionContext;
+import org.jboss.weld.context.beanstore.BoundBeanStore;
+import org.jboss.weld.manager.FixedThreadPoolExecutorServices;
+import org.jboss.weld.manager.api.ExecutorServices;
+import org.slf4j.cal10n.LocLogger;
+import org.slf4j.ext.XLogger;
+import org.slf4j.ext.XLogger.Level;
+
+/**
+ * Notifies observers of events fired through {@link EventImpl} asynchronously,
+ * using the task executor of an {@link ExecutorServices}. Asynchronous
+ * notification is opt-in: an integrator enables it by adding an instance to
+ * the deployment services. Events fired through the BeanManager, including
+ * container lifecycle events, are always delivered synchronously.
+ * 
+ * Transactional observers are still notified on the firing thread, so that
+ * they are deferred to the current transaction exactly as before. The
+ * request context of the firing thread isn't propagated, as the request which
+ * fired the event may end before its observers are notified. Instead each
+ * notification runs in a request context of its own, as a deferred
+ * transactional notification does. The session context active on the firing
+ * thread is propagated, so an observer shares the session of the caller; the
+ * session should outlive the notification, and the caller shouldn't create
+ * the session scoped instances an observer creates concurrently. The
+ * conversation context isn't active. The thread context class loader of the
+ * firing thread is propagated.
+ * 
+ * A failure of an observer is logged and reported through the
+ * {@link EventDelivery}, rather than being thrown to the caller.
+ * 
+ * @author Pete Muir
+ * 
+ */
+public class AsynchronousObserverNotifier implements Service
+{
+
+   private static final LocLogger log = loggerFactory().getLogger(EVENT);
+   private static final XLogger xLog = loggerFactory().getXLogger(EVENT);
+
+   public enum Ordering
+   {
+
+      /**
+       * Each observer is notified of one event at a time, in the order the
+       * events were fired. Different observers may be notified concurrently.
+       */
+      ORDERED,
+
+      /**
+       * Every notification is a separate task, so an observer may be notified
+       * of several events concurrently, in any order.
+       */
+      PARALLEL
+
+   }
+
+   private final Ordering ordering;
+   private final ExecutorServices executorServices;
+   private final boolean ownsExecutorServices;
+   private final ConcurrentMap<ObserverMethod<?>, SerialExecutor> serialExecutors;
+
+   /**
+    * Notify observers using a pool of threads owned by the notifier, with one
+    * thread for each processor
+    * 
+    * @param ordering the ordering of notifications
+    */
+   public AsynchronousObserverNotifier(Ordering ordering)
+   {
+      this(ordering, new FixedThreadPoolExecutorServices(), true);
+   }
+
+   /**
+    * Notify observers using the task executor of the executor services. With
+    * an executor which runs one task at a time, {@link Ordering#PARALLEL}
+    * notifies one observer at a time.
+    * 
+    * @param ordering the ordering of notifications
+    * @param executorServices the executor services
+    */
+   public AsynchronousObserverNotifier(Ordering ordering, ExecutorServices executorServices)
+   {
+      this(ordering, executorServices, false);
+   }
+
+   private AsynchronousObserverNotifier(Ordering ordering, ExecutorServices executorServices, boolean ownsExecutorServices)
+   {
+      this.ordering = ordering;
+      this.executorServices = executorServices;
+      this.ownsExecutorServices = ownsExecutorServices;
+      this.serialExecutors = new ConcurrentHashMap<ObserverMethod<?>, SerialExecutor>();
+   }
+
+   /**
+    * Notify the observers of an event, which must already have been resolved
+    * and validated
+    * 
+    * @param event the event object
+    * @param observers the observers to notify
+    * @return a handle on the asynchronous notifications
+    */
+   public <T> EventDelivery notify(T event, Set<ObserverMethod<? super T>> observers)
+   {
+      int asynchronousObservers = 0;
+      for (ObserverMethod<? super T> observer : observers)
+      {
+         if (isAsynchronous(observer))
+         {
+            asynchronousObservers++;
+         }
+      }
+      EventDelivery delivery = new EventDelivery(asynchronousObservers);
+      ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+      PropagatedSession session = asynchronousObservers == 0 ? null : PropagatedSession.capture();
+      for (ObserverMethod<? super T> observer : observers)
+      {
+         if (isAsynchronous(observer))
+         {
+            Notification<T> notification = new Notification<T>(event, observer, session, contextClassLoader, delivery);
+            try
+            {
+               getExecutor(observer).execute(notification);
+            }
+            catch (RuntimeException e)
+            {
+               notification.failed(e);
+            }
+         }
+         else
+         {
+            observer.notify(event);
+         }
+      }
+      return delivery;
+   }
+
+   public Ordering getOrdering()
+   {
+      return ordering;
+   }
+
+   private static boolean isAsynchronous(ObserverMethod<?> observer)
+   {
+      return TransactionPhase.IN_PROGRESS.equals(observer.getTransactionPhase());
+   }
+
+   private Executor getExecutor(ObserverMethod<?> observer)
+   {
+      if (ordering == Ordering.PARALLEL)
+      {
+         return executorServices.getTaskExecutor();
+      }
+      SerialExecutor serialExecutor = serialExecutors.get(observer);
+      if (serialExecutor == null)
+      {
+         SerialExecutor newSerialExecutor = new SerialExecutor(executorServices.getTaskExecutor());
+         serialExecutor = serialExecutors.putIfAbsent(observer, newSerialExecutor);
+         if (serialExecutor == null)
+         {
+            serialExecutor = newSerialExecutor;
+         }
+      }
+      return serialExecutor;
+   }
+
+   public void cleanup()
+   {
+      serialExecutors.clear();
+      if (ownsExecutorServices)
+      {
+         executorServices.cleanup();
+      }
+   }
+
+   /**
+    * Notifies a single observer
+    */
+   private static class Notification<T> implements Runnable
+   {
+
+      private final T event;
+      private final ObserverMethod<? super T> observer;
+      private final PropagatedSession session;
+      private final ClassLoader contextClassLoader;
+      private final EventDelivery delivery;
+
+      private Notification(T event, ObserverMethod<? super T> observer, PropagatedSession session, ClassLoader contextClassLoader, EventDelivery delivery)
+      {
+         this.event = event;
+         this.observer = observer;
+         this.session = session;
+         this.contextClassLoader = contextClassLoader;
+         this.delivery = delivery;
+      }
+
+      public void run()
+      {
+         Thread thread = Thread.currentThread();
+         ClassLoader previousContextClassLoader = thread.getContextClassLoader();
+         thread.setContextClassLoader(contextClassLoader);
+         try
+         {
+            log.debug(ASYNC_FIRE, event, observer);
+            boolean sessionAssociated = session != null && session.associate();
+            try
+            {
+               new DeferredEventNotification.RunInRequest()
+               {
+
+                  @Override
+                  protected void execute()
+                  {
+                     observer.notify(event);
+                  }
+
+               }.run();
+            }
+            finally
+            {
+               if (sessionAssociated)
+               {
+                  session.dissociate();
+               }
+            }
+            delivery.delivered();
+         }
+         catch (Throwable e)
+         {
+            failed(e);
+         }
+         finally
+         {
+            thread.setContextClassLoader(previousContextClassLoader);
+         }
+      }
+
+      private void failed(Throwable e)
+      {
+         log.error(ASYNC_OBSERVER_FAILURE, event);
+         xLog.throwing(Level.DEBUG, e);
+         delivery.failed(e);
+      }
+
+      @Override
+      public String toString()
+      {
+         return "Asynchronous event [" + event + "] for [" + observer + "]";
+      }
+
+   }
+
+   /**
+    * The session context active on the firing thread, and its bean store
+    */
+   private static class PropagatedSession
+   {
+
+      /**
+       * Capture the session context active on the current thread
+       * 
+       * @return the session, or null if no session context which binds its
+       *         bean store to the thread is active
+       */
+      private static PropagatedSession capture()
+      {
+         for (SessionContext sessionContext : Container.instance().deploymentManager().instance().select(SessionContext.class))
+         {
+            if (sessionContext instanceof AbstractBoundContext<?>)
+            {
+               AbstractBoundContext<?> context = (AbstractBoundContext<?>) sessionContext;
+               BoundBeanStore beanStore = context.getActiveBeanStore();
+               if (beanStore != null)
+               {
+                  return new PropagatedSession(context, beanStore);
+               }
+            }
+         }
+         return null;
+      }
+
+      private final AbstractBoundContext<?> context;
+      private final BoundBeanStore beanStore;
+
+      private PropagatedSession(AbstractBoundContext<?> context, BoundBeanStore beanStore)
+      {
+         this.context = context;
+         this.beanStore = beanStore;
+      }
+
+      /**
+       * Associate the bean store with the current thread and activate the
+       * context, unless it's already active (e.g. because the executor runs
+       * the notification on the firing thread)
+       * 
+       * @return true if the session must be dissociated
+       */
+      private boolean associate()
+      {
+         return !context.isActive() && context.associatePropagated(beanStore);
+      }
+
+      private void dissociate()
+      {
+         context.dissociatePropagated();
+      }
+
+   }
+
+   /**
+    * Runs the tasks submitted to it one at a time, in order, on the underlying
+    * executor
+    */
+   private static class SerialExecutor implements Executor, Runnable
+   {
+
+      private final Executor executor;
+      private final Queue<Runnable> tasks;
+      private final AtomicBoolean scheduled;
+
+      private SerialExecutor(Executor executor)
+      {
+         this.executor = executor;
+         this.tasks = new ConcurrentLinkedQueue<Runnable>();
+         this.scheduled = new AtomicBoolean();
+      }
+
+      public void execute(Runnable task)
+      {
+         tasks.add(task);
+         try
+         {
+            schedule();
+         }
+         catch (RuntimeException e)
+         {
+            tasks.remove(task);
+            throw e;
+         }
+      }
+
+      private void schedule()
+      {
+         if (scheduled.compareAndSet(false, true))
+         {
+            try
+            {
+               executor.execute(this);
+            }
+            catch (RuntimeException e)
+            {
+               scheduled.set(false);
+               throw e;
+            }
+         }
+      }
+
+      public void run()
+      {
+         Runnable task;
+         while ((task = tasks.poll()) != null)
+         {
+            task.run();
+         }
+         scheduled.set(false);
+         // A task may have been added after the queue was drained, but before
+         // the flag was cleared
+         if (!tasks.isEmpty())
+         {
+            schedule();
+         }
+      }
+
+   }
+
+}
@@ -86,7 +86,7 @@ public class DeferredEventNotification<T> implements Runnable
       return "Deferred event [" + event + "] for [" + observer + "]";
    }
 
-   private abstract static class RunInRequest
+   abstract static class RunInRequest
    {
 
       protected abstract void execute();
@@ -0,0 +1,91 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A handle on the delivery of an event to its observers, allowing the caller
+ * to wait for delivery to complete.
+ * 
+ * @author Pete Muir
+ * 
+ */
+public class EventDelivery
+{
+
+   private final CountDownLatch pending;
+   private final Queue<Throwable> failures;
+
+   EventDelivery(int observers)
+   {
+      this.pending = new CountDownLatch(observers);
+      this.failures = new ConcurrentLinkedQueue<Throwable>();
+   }
+
+   void delivered()
+   {
+      pending.countDown();
+   }
+
+   void failed(Throwable failure)
+   {
+      failures.add(failure);
+      pending.countDown();
+   }
+
+   /**
+    * Whether every observer has been notified
+    */
+   public boolean isDone()
+   {
+      return pending.getCount() == 0;
+   }
+
+   /**
+    * Wait until every observer has been notified
+    */
+   public void await() throws InterruptedException
+   {
+      pending.await();
+   }
+
+   /**
+    * Wait until every observer has been notified, or the timeout elapses
+    * 
+    * @return true if every observer has been notified, false if the timeout
+    *         elapsed first
+    */
+   public boolean await(long timeout, TimeUnit unit) throws InterruptedException
+   {
+      return pending.await(timeout, unit);
+   }
+
+   /**
+    * Get the failures thrown by observers notified so far
+    */
+   public List<Throwable> getFailures()
+   {
+      return new ArrayList<Throwable>(failures);
+   }
+
+}
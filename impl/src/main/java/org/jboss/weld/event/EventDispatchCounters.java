@@ -0,0 +1,197 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.event;
+
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.weld.bootstrap.api.Service;
+import org.jboss.weld.util.reflection.Reflections;
+
+/**
+ * Counts the events fired, keyed by the raw class of the event type they were
+ * fired with, and the event objects validated. Container lifecycle events
+ * aren't counted.
+ *
+ * The counters are a diagnostic, and are disabled by default. They are
+ * enabled if the {@value #ENABLED_PROPERTY_NAME} system property is true, or
+ * if an integrator adds an enabled instance to the deployment services. By
+ * default at most {@value #DEFAULT_MAXIMUM_EVENT_CLASSES} event classes are
+ * counted separately, any further classes are counted together.
+ *
+ * @author Pete Muir
+ *
+ */
+public class EventDispatchCounters implements Service
+{
+
+   /**
+    * If true, the counters are enabled
+    */
+   public static final String ENABLED_PROPERTY_NAME = "org.jboss.weld.event.countDispatches";
+
+   public static final int DEFAULT_MAXIMUM_EVENT_CLASSES = 1000;
+
+   private final boolean enabled;
+   private final int maximumEventClasses;
+   private final ConcurrentMap<Class<?>, AtomicLong> counters;
+   private final AtomicLong otherCounter;
+   private final AtomicLong validationCount;
+
+   public EventDispatchCounters()
+   {
+      this(Boolean.getBoolean(ENABLED_PROPERTY_NAME));
+   }
+
+   /**
+    * @param enabled whether events are counted
+    */
+   public EventDispatchCounters(boolean enabled)
+   {
+      this(enabled, DEFAULT_MAXIMUM_EVENT_CLASSES);
+   }
+
+   /**
+    * @param enabled whether events are counted
+    * @param maximumEventClasses the maximum number of event classes counted
+    *           separately
+    */
+   public EventDispatchCounters(boolean enabled, int maximumEventClasses)
+   {
+      this.enabled = enabled;
+      this.maximumEventClasses = maximumEventClasses;
+      this.counters = new ConcurrentHashMap<Class<?>, AtomicLong>();
+      this.otherCounter = new AtomicLong();
+      this.validationCount = new AtomicLong();
+   }
+
+   public boolean isEnabled()
+   {
+      return enabled;
+   }
+
+   /**
+    * Get the counter for the raw class of an event type, creating it if
+    * needed. The counter may be held on to and incremented directly.
+    *
+    * @param eventType the event type
+    * @return the counter, or null if the counters are disabled
+    */
+   public AtomicLong getCounter(Type eventType)
+   {
+      if (!enabled)
+      {
+         return null;
+      }
+      Class<?> eventClass = Reflections.getRawType(eventType);
+      if (eventClass == null)
+      {
+         return otherCounter;
+      }
+      AtomicLong counter = counters.get(eventClass);
+      if (counter == null)
+      {
+         if (counters.size() >= maximumEventClasses)
+         {
+            return otherCounter;
+         }
+         AtomicLong newCounter = new AtomicLong();
+         counter = counters.putIfAbsent(eventClass, newCounter);
+         if (counter == null)
+         {
+            counter = newCounter;
+         }
+      }
+      return counter;
+   }
+
+   /**
+    * Count an event fired with the event type, if the counters are enabled
+    */
+   public void recordDispatch(Type eventType)
+   {
+      if (enabled)
+      {
+         getCounter(eventType).incrementAndGet();
+      }
+   }
+
+   /**
+    * Get the number of events fired with the raw class of the event type
+    */
+   public long getDispatchCount(Type eventType)
+   {
+      AtomicLong counter = counters.get(Reflections.getRawType(eventType));
+      return counter == null ? 0 : counter.get();
+   }
+
+   /**
+    * Get a snapshot of the number of events fired, by raw event class
+    */
+   public Map<Class<?>, Long> getDispatchCounts()
+   {
+      Map<Class<?>, Long> dispatchCounts = new HashMap<Class<?>, Long>();
+      for (Entry<Class<?>, AtomicLong> entry : counters.entrySet())
+      {
+         dispatchCounts.put(entry.getKey(), entry.getValue().get());
+      }
+      return dispatchCounts;
+   }
+
+   /**
+    * Get the number of events fired whose class isn't counted separately
+    */
+   public long getOtherDispatchCount()
+   {
+      return otherCounter.get();
+   }
+
+   /**
+    * Record that the type of an event object was validated, if the counters
+    * are enabled
+    */
+   public void recordValidation()
+   {
+      if (enabled)
+      {
+         validationCount.incrementAndGet();
+      }
+   }
+
+   /**
+    * Get the number of event objects whose type was validated. An event
+    * object fired through an Event is only validated if its class differs from
+    * the class of the last event object it fired.
+    */
+   public long getValidationCount()
+   {
+      return validationCount.get();
+   }
+
+   public void cleanup()
+   {
+      counters.clear();
+      otherCounter.set(0);
+      validationCount.set(0);
+   }
+
+}
@@ -23,21 +23,31 @@ import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.enterprise.event.Event;
 import javax.enterprise.inject.spi.InjectionPoint;
+import javax.enterprise.inject.spi.ObserverMethod;
 import javax.enterprise.util.TypeLiteral;
 
 import org.jboss.weld.bean.builtin.AbstractFacade;
 import org.jboss.weld.bean.builtin.FacadeInjectionPoint;
 import org.jboss.weld.exceptions.InvalidObjectException;
 import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.resolution.TypeSafeResolver;
 import org.jboss.weld.util.Observers;
 import org.jboss.weld.util.reflection.Formats;
 
 /**
  * Implementation of the Event interface
  * 
+ * The observers of the event are resolved the first time an event is fired,
+ * and reused until the observer resolver is cleared. The event object is only
+ * validated when its class differs from the class of the last event fired.
+ * If an {@link AsynchronousObserverNotifier} is registered, the observers are
+ * notified through it.
+ * 
  * @author David Allen
  * 
  * @param <T> The type of event being wrapped
@@ -48,6 +58,54 @@ public class EventImpl<T> extends AbstractFacade<T, Event<T>> implements Event<T
 {
    
    private static final long serialVersionUID = 656782657242515455L;
+   
+   /**
+    * The observers resolved for an event type and qualifiers, bound to the
+    * generation of the resolver they were resolved by
+    */
+   private static class DispatchPlan<T>
+   {
+      
+      private final TypeSafeResolver<?, ?> resolver;
+      private final int generation;
+      private final Set<ObserverMethod<? super T>> observers;
+      // Null unless the counters are enabled
+      private final AtomicLong counter;
+      private final EventDispatchCounters counters;
+      private final AsynchronousObserverNotifier notifier;
+      private volatile Class<?> validatedEventClass;
+      
+      private DispatchPlan(TypeSafeResolver<?, ?> resolver, int generation, Set<ObserverMethod<? super T>> observers, AtomicLong counter, EventDispatchCounters counters, AsynchronousObserverNotifier notifier)
+      {
+         this.resolver = resolver;
+         this.generation = generation;
+         this.observers = observers;
+         this.counter = counter;
+         this.counters = counters;
+         this.notifier = notifier;
+      }
+      
+      private boolean isValid(TypeSafeResolver<?, ?> resolver)
+      {
+         return this.resolver == resolver && this.generation == resolver.getGeneration();
+      }
+      
+      private void checkEventObjectType(Object event)
+      {
+         Class<?> eventClass = event.getClass();
+         if (eventClass != validatedEventClass)
+         {
+            Observers.checkEventObjectType(event);
+            counters.recordValidation();
+            validatedEventClass = eventClass;
+         }
+      }
+      
+   }
+   
+   private static final EventDelivery DELIVERED = new EventDelivery(0);
+   
+   private transient volatile DispatchPlan<T> dispatchPlan;
 
    public static <E> EventImpl<E> of(InjectionPoint injectionPoint, BeanManagerImpl beanManager)
    {
@@ -72,7 +130,54 @@ public class EventImpl<T> extends AbstractFacade<T, Event<T>> implements Event<T
 
    public void fire(T event)
    {
-      getBeanManager().fireEvent(getType(), event, getQualifiers());
+      fireAsync(event);
+   }
+   
+   /**
+    * Fire an event, returning a handle on its delivery. Unless an
+    * {@link AsynchronousObserverNotifier} is registered, the observers are
+    * notified synchronously, and the delivery is complete when this method
+    * returns.
+    * 
+    * @param event the event object
+    * @return the delivery of the event
+    */
+   public EventDelivery fireAsync(T event)
+   {
+      BeanManagerImpl beanManager = getBeanManager();
+      DispatchPlan<T> dispatchPlan = getDispatchPlan(beanManager);
+      dispatchPlan.checkEventObjectType(event);
+      if (dispatchPlan.counter != null)
+      {
+         dispatchPlan.counter.incrementAndGet();
+      }
+      if (dispatchPlan.notifier == null)
+      {
+         beanManager.notifyObservers(event, dispatchPlan.observers);
+         return DELIVERED;
+      }
+      else
+      {
+         return dispatchPlan.notifier.notify(event, dispatchPlan.observers);
+      }
+   }
+   
+   private DispatchPlan<T> getDispatchPlan(BeanManagerImpl beanManager)
+   {
+      TypeSafeResolver<?, ?> resolver = beanManager.getObserverResolver();
+      DispatchPlan<T> dispatchPlan = this.dispatchPlan;
+      if (dispatchPlan == null || !dispatchPlan.isValid(resolver))
+      {
+         // Read the generation before resolving, so a concurrent clear causes
+         // the observers to be resolved again on the next fire
+         int generation = resolver.getGeneration();
+         Set<ObserverMethod<? super T>> observers = beanManager.resolveObserverMethods(getType(), getQualifiers());
+         EventDispatchCounters counters = beanManager.getServices().get(EventDispatchCounters.class);
+         AsynchronousObserverNotifier notifier = beanManager.getServices().get(AsynchronousObserverNotifier.class);
+         dispatchPlan = new DispatchPlan<T>(resolver, generation, observers, counters.getCounter(getType()), counters, notifier);
+         this.dispatchPlan = dispatchPlan;
+      }
+      return dispatchPlan;
    }
    
    public Event<T> select(Annotation... qualifiers)
@@ -85,6 +85,8 @@ public class ObserverMethodImpl<T, X> implements ObserverMethod<T>
 
    private final Set<WeldInjectionPoint<?, ?>> injectionPoints;
    private final Set<WeldInjectionPoint<?, ?>> newInjectionPoints;
+   // The client proxy of a normal scoped declaring bean, once obtained
+   private volatile Object normalScopedReceiver;
 
    /**
     * Creates an Observer which describes and encapsulates an observer method
@@ -258,6 +260,13 @@ public class ObserverMethodImpl<T, X> implements ObserverMethod<T>
             sendEvent(event, receiver, null);
          }
       }
+      else if (declaringBean.isProxyRequired())
+      {
+         // The client proxy doesn't hold on to a creational context, so one is
+         // only needed if parameters other than the event are injected
+         CreationalContext<?> creationalContext = injectionPoints.isEmpty() ? null : beanManager.createCreationalContext(declaringBean);
+         sendEvent(event, getNormalScopedReceiver(), creationalContext);
+      }
       else
       {
          CreationalContext<?> creationalContext = beanManager.createCreationalContext(declaringBean);
@@ -291,6 +300,22 @@ public class ObserverMethodImpl<T, X> implements ObserverMethod<T>
       }
    }
    
+   private Object getNormalScopedReceiver()
+   {
+      Object receiver = this.normalScopedReceiver;
+      if (receiver == null)
+      {
+         receiver = beanManager.getReference(declaringBean, beanManager.createCreationalContext(declaringBean), false);
+         // Until deployment ends, the bean the client proxy is for may still
+         // be specialized, so the client proxy is only held on to afterwards
+         if (declaringBean.getMostSpecializedBean() != null)
+         {
+            this.normalScopedReceiver = receiver;
+         }
+      }
+      return receiver;
+   }
+   
    private Object getReceiverIfExists()
    {
       try
@@ -28,7 +28,8 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Member;
 import java.lang.reflect.Type;
-import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
@@ -54,30 +55,13 @@ import edu.umd.cs.findbugs.annotations.SuppressWarnings;
 public class ConstructorInjectionPoint<T> extends ForwardingWeldConstructor<T> implements WeldInjectionPoint<T, Constructor<T>>, Serializable
 {
 
-   private static abstract class ForwardingParameterInjectionPointList<T, X> extends AbstractList<ParameterInjectionPoint<T, X>>
-   {
-
-      protected abstract List<? extends WeldParameter<T, X>> delegate();
-
-      protected abstract Bean<X> declaringBean();
-
-      @Override
-      public ParameterInjectionPoint<T, X> get(int index)
-      {
-         return ParameterInjectionPoint.of(declaringBean(), delegate().get(index));
-      }
-
-      @Override
-      public int size()
-      {
-         return delegate().size();
-      }
-
-   }
-
    @SuppressWarnings(value="SE_BAD_FIELD", justification="If the bean is not serializable, we won't ever try to serialize the injection point")
    private final Bean<T> declaringBean;
    private final WeldConstructor<T> constructor;
+   // Built once, so each parameter can hold on to it's resolved bean. Not
+   // serialized, as the injection point is serialized through a proxy, and
+   // rebuilt when deserialized
+   private final transient List<ParameterInjectionPoint<?, T>> parameters;
 
    public static <T> ConstructorInjectionPoint<T> of(Bean<T> declaringBean, WeldConstructor<T> constructor)
    {
@@ -88,6 +72,17 @@ public class ConstructorInjectionPoint<T> extends ForwardingWeldConstructor<T> i
    {
       this.declaringBean = declaringBean;
       this.constructor = constructor;
+      this.parameters = getParameterInjectionPoints(declaringBean, constructor);
+   }
+
+   private static <T> List<ParameterInjectionPoint<?, T>> getParameterInjectionPoints(Bean<T> declaringBean, WeldConstructor<T> constructor)
+   {
+      List<ParameterInjectionPoint<?, T>> parameters = new ArrayList<ParameterInjectionPoint<?, T>>();
+      for (WeldParameter<?, T> parameter : constructor.getWeldParameters())
+      {
+         parameters.add(ParameterInjectionPoint.of(declaringBean, parameter));
+      }
+      return Collections.unmodifiableList(parameters);
    }
 
    @Override
@@ -155,23 +150,7 @@ public class ConstructorInjectionPoint<T> extends ForwardingWeldConstructor<T> i
    @Override
    public List<ParameterInjectionPoint<?, T>> getWeldParameters()
    {
-      final List<? extends WeldParameter<?, T>> delegate = super.getWeldParameters();
-      return new ForwardingParameterInjectionPointList()
-      {
-
-         @Override
-         protected Bean<T> declaringBean()
-         {
-            return declaringBean;
-         }
-
-         @Override
-         protected List<? extends WeldParameter<?, T>> delegate()
-         {
-            return delegate;
-         }
-
-      };
+      return parameters;
    }
 
    public void inject(Object declaringInstance, Object value)
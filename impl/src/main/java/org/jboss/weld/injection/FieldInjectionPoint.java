@@ -58,7 +58,7 @@ public class FieldInjectionPoint<T, X> extends ForwardingWeldField<T, X> impleme
    private final WeldField<T, X> field;
    private final boolean delegate;
    private final boolean cacheable;
-   private Bean<?> cachedBean;
+   private final transient ResolvedBeanHolder resolvedBean;
 
    
    public static <T, X> FieldInjectionPoint<T, X> of(Bean<?> declaringBean, WeldField<T, X> field)
@@ -72,6 +72,7 @@ public class FieldInjectionPoint<T, X> extends ForwardingWeldField<T, X> impleme
       this.field = field;
       this.delegate = isAnnotationPresent(Inject.class) && isAnnotationPresent(Delegate.class) && declaringBean instanceof Decorator<?>;
       this.cacheable = !delegate && !InjectionPoint.class.isAssignableFrom(field.getJavaMember().getType()) && !Instance.class.isAssignableFrom(field.getJavaMember().getType());
+      this.resolvedBean = cacheable ? new ResolvedBeanHolder(this) : null;
    }
 
    @Override
@@ -131,11 +132,7 @@ public class FieldInjectionPoint<T, X> extends ForwardingWeldField<T, X> impleme
          }
          else
          {
-            if (cachedBean == null)
-            {
-               cachedBean = manager.resolve(manager.getBeans(this));
-            }
-            objectToInject = manager.getReference(this, cachedBean, creationalContext);
+            objectToInject = manager.getReference(this, resolvedBean.get(manager), creationalContext, true);
          }
          delegate().set(instanceToInject, objectToInject);
       }
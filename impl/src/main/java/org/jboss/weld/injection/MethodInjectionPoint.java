@@ -26,7 +26,8 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
-import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
@@ -48,29 +49,12 @@ import org.jboss.weld.util.AnnotatedTypes;
 public class MethodInjectionPoint<T, X> extends ForwardingWeldMethod<T, X> implements WeldInjectionPoint<T, Method>
 {
 
-   private static abstract class ForwardingParameterInjectionPointList<T, X> extends AbstractList<ParameterInjectionPoint<T, X>>
-   {
-
-      protected abstract List<? extends WeldParameter<T, X>> delegate();
-
-      protected abstract Bean<X> declaringBean();
-
-      @Override
-      public ParameterInjectionPoint<T, X> get(int index)
-      {
-         return ParameterInjectionPoint.of(declaringBean(), delegate().get(index));
-      }
-
-      @Override
-      public int size()
-      {
-         return delegate().size();
-      }
-
-   }
-
    private final Bean<?> declaringBean;
    private final WeldMethod<T, X> method;
+   // Built once, so each parameter can hold on to it's resolved bean. Not
+   // serialized, as the injection point is serialized through a proxy, and
+   // rebuilt when deserialized
+   private final transient List<ParameterInjectionPoint<?, X>> parameters;
 
    public static <T, X> MethodInjectionPoint<T, X> of(Bean<?> declaringBean, WeldMethod<T, X> method)
    {
@@ -81,6 +65,17 @@ public class MethodInjectionPoint<T, X> extends ForwardingWeldMethod<T, X> imple
    {
       this.declaringBean = declaringBean;
       this.method = method;
+      this.parameters = getParameterInjectionPoints(declaringBean, method);
+   }
+
+   private static <X> List<ParameterInjectionPoint<?, X>> getParameterInjectionPoints(Bean<?> declaringBean, WeldMethod<?, X> method)
+   {
+      List<ParameterInjectionPoint<?, X>> parameters = new ArrayList<ParameterInjectionPoint<?, X>>();
+      for (WeldParameter<?, X> parameter : method.getWeldParameters())
+      {
+         parameters.add(ParameterInjectionPoint.of(declaringBean, parameter));
+      }
+      return Collections.unmodifiableList(parameters);
    }
 
    @Override
@@ -223,23 +218,7 @@ public class MethodInjectionPoint<T, X> extends ForwardingWeldMethod<T, X> imple
    @Override
    public List<ParameterInjectionPoint<?, X>> getWeldParameters()
    {
-      final List<? extends WeldParameter<?, X>> delegate = super.getWeldParameters();
-      return new ForwardingParameterInjectionPointList()
-      {
-
-         @Override
-         protected Bean<?> declaringBean()
-         {
-            return declaringBean;
-         }
-
-         @Override
-         protected List<? extends WeldParameter<?, X>> delegate()
-         {
-            return delegate;
-         }
-
-      };
+      return parameters;
    }
 
    public void inject(Object declaringInstance, Object value)
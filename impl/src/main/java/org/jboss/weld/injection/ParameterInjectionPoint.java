@@ -66,7 +66,7 @@ public class ParameterInjectionPoint<T, X> extends ForwardingWeldParameter<T, X>
    private final WeldParameter<T, X> parameter;
    private final boolean delegate;
    private final boolean cacheable;
-   private Bean<?> cachedBean;
+   private final transient ResolvedBeanHolder resolvedBean;
 
    private ParameterInjectionPoint(Bean<?> declaringBean, WeldParameter<T, X> parameter)
    {
@@ -74,6 +74,7 @@ public class ParameterInjectionPoint<T, X> extends ForwardingWeldParameter<T, X>
       this.parameter = parameter;
       this.delegate = isAnnotationPresent(Delegate.class) && declaringBean instanceof Decorator<?>;
       this.cacheable = !delegate && !InjectionPoint.class.isAssignableFrom(parameter.getJavaClass()) && !Instance.class.isAssignableFrom(parameter.getJavaClass());
+      this.resolvedBean = cacheable ? new ResolvedBeanHolder(this) : null;
    }
 
    @Override
@@ -132,11 +133,7 @@ public class ParameterInjectionPoint<T, X> extends ForwardingWeldParameter<T, X>
       }
       else
       {
-         if (cachedBean == null)
-         {
-            cachedBean = manager.resolve(manager.getBeans(this));
-         }
-         objectToInject = Reflections.<T>cast(manager.getReference(this, cachedBean, creationalContext));
+         objectToInject = Reflections.<T>cast(manager.getReference(this, resolvedBean.get(manager), creationalContext, true));
       }
       return objectToInject;
    }
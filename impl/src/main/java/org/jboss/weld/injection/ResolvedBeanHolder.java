@@ -0,0 +1,87 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.injection;
+
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.InjectionPoint;
+
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.resolution.TypeSafeBeanResolver;
+
+/**
+ * Holds the bean resolved for an injection point, so that repeated injections
+ * don't need to build and hash a resolvable.
+ *
+ * The bean is bound to the generation of the bean resolver it was resolved
+ * against, and is resolved again if the resolver is cleared (e.g. because a
+ * bean was added) or the injection point is used with another manager. The
+ * injection point is checked to be proxyable when the bean is resolved,
+ * rather than on every injection.
+ *
+ * @author Pete Muir
+ *
+ */
+class ResolvedBeanHolder
+{
+
+   private static class Resolution
+   {
+
+      private final TypeSafeBeanResolver<?> resolver;
+      private final int generation;
+      private final Bean<?> bean;
+
+      private Resolution(TypeSafeBeanResolver<?> resolver, int generation, Bean<?> bean)
+      {
+         this.resolver = resolver;
+         this.generation = generation;
+         this.bean = bean;
+      }
+
+   }
+
+   private final InjectionPoint injectionPoint;
+   private volatile Resolution resolution;
+
+   ResolvedBeanHolder(InjectionPoint injectionPoint)
+   {
+      this.injectionPoint = injectionPoint;
+   }
+
+   Bean<?> get(BeanManagerImpl manager)
+   {
+      TypeSafeBeanResolver<?> resolver = manager.getBeanResolver();
+      Resolution resolution = this.resolution;
+      if (resolution != null && resolution.resolver == resolver && resolution.generation == resolver.getGeneration())
+      {
+         return resolution.bean;
+      }
+      // Read the generation before resolving, so a concurrent clear causes
+      // the result to be discarded on the next injection
+      int generation = resolver.getGeneration();
+      Bean<?> bean = manager.resolve(manager.getBeans(injectionPoint));
+      if (bean != null)
+      {
+         // The type of the injection point can't change, so only check it
+         // when resolving
+         manager.validateProxyable(injectionPoint, bean);
+         this.resolution = new Resolution(resolver, generation, bean);
+      }
+      return bean;
+   }
+
+}
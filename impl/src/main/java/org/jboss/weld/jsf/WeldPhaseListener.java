@@ -120,11 +120,17 @@ public class WeldPhaseListener implements PhaseListener
       {
          if (conversationContext.getCurrentConversation().isTransient())
          {
-            log.trace(CLEANING_UP_TRANSIENT_CONVERSATION, phaseId);
+            if (log.isTraceEnabled())
+            {
+               log.trace(CLEANING_UP_TRANSIENT_CONVERSATION, phaseId);
+            }
          }
          else
          {
-            log.trace(CLEANING_UP_CONVERSATION, conversationContext.getCurrentConversation().getId(), phaseId);
+            if (log.isTraceEnabled())
+            {
+               log.trace(CLEANING_UP_CONVERSATION, conversationContext.getCurrentConversation().getId(), phaseId);
+            }
          }
       }
       conversationContext.invalidate();
@@ -154,7 +160,10 @@ public class WeldPhaseListener implements PhaseListener
    {
       String cidName = conversationContext.getParameterName();
       String cid = facesContext.getExternalContext().getRequestParameterMap().get(cidName);
-      log.trace(FOUND_CONVERSATION_FROM_REQUEST, cid);
+      if (log.isTraceEnabled())
+      {
+         log.trace(FOUND_CONVERSATION_FROM_REQUEST, cid);
+      }
       return cid;
    }
 
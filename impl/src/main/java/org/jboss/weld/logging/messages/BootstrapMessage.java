@@ -53,7 +53,14 @@ public enum BootstrapMessage
    @MessageId("000116") MANAGER_NOT_INITIALIZED,
    @MessageId("000117") UNSPECIFIED_REQUIRED_SERVICE,
    @MessageId("000118") PASSIVATING_NON_NORMAL_SCOPE_ILLEGAL,
-   @MessageId("000119") IGNORING_CLASS_DUE_TO_LOADING_ERROR
+   @MessageId("000119") IGNORING_CLASS_DUE_TO_LOADING_ERROR,
+   @MessageId("000120") VALIDATION_STAGE_TIME,
+   @MessageId("000121") BEAN_DEPLOYMENTS_VALIDATED,
+   @MessageId("000122") BOOTSTRAP_DATA_RELEASED,
+   @MessageId("000123") DISCOVERY_INDEX_USED,
+   @MessageId("000124") DISCOVERY_INDEX_OUT_OF_DATE,
+   @MessageId("000125") DISCOVERY_INDEX_UNREADABLE,
+   @MessageId("000126") DISCOVERY_INDEX_NOT_STORED
    ;
 
 }
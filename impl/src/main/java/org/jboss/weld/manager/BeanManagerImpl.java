@@ -51,6 +51,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.el.ELResolver;
 import javax.el.ExpressionFactory;
@@ -94,6 +95,7 @@ import org.jboss.weld.ejb.spi.EjbDescriptor;
 import org.jboss.weld.el.Namespace;
 import org.jboss.weld.el.WeldELResolver;
 import org.jboss.weld.el.WeldExpressionFactory;
+import org.jboss.weld.event.EventDispatchCounters;
 import org.jboss.weld.exceptions.AmbiguousResolutionException;
 import org.jboss.weld.exceptions.DeploymentException;
 import org.jboss.weld.exceptions.IllegalArgumentException;
@@ -169,6 +171,10 @@ public class BeanManagerImpl implements WeldManager, Serializable
    // TODO This isn't right, specialization should follow accessibility rules, but I think we can enforce these in resolve()
    private transient final Map<Contextual<?>, Contextual<?>> specializedBeans;
    
+   // The number of times a reference was obtained for a bean whose
+   // specialization wasn't frozen when deployment ended
+   private transient final AtomicLong referenceSlowPathCount = new AtomicLong();
+   
    /*
     * Archive scoped data structures
     * ******************************
@@ -616,16 +622,48 @@ public class BeanManagerImpl implements WeldManager, Serializable
    public void fireEvent(Type eventType, Object event, Annotation... qualifiers)
    {
       Observers.checkEventObjectType(event);
+      recordDispatch(eventType);
       notifyObservers(event, resolveObserverMethods(eventType, qualifiers));
    }
    
    public void fireEvent(Type eventType, Object event, Set<Annotation> qualifiers)
    {
       Observers.checkEventObjectType(event);
+      recordDispatch(eventType);
       notifyObservers(event, resolveObserverMethods(eventType, qualifiers));
    }
 
-   private <T> void notifyObservers(final T event, final Set<ObserverMethod<? super T>> observers)
+   private void recordDispatch(Type eventType)
+   {
+      EventDispatchCounters counters = getServices().get(EventDispatchCounters.class);
+      if (counters.isEnabled())
+      {
+         counters.recordValidation();
+         counters.recordDispatch(eventType);
+      }
+   }
+
+   /**
+    * Fire a container lifecycle event. The event isn't counted by the
+    * {@link EventDispatchCounters}. For internal use
+    * 
+    * @param eventType the type of the event
+    * @param event the event object
+    */
+   public void fireContainerEvent(Type eventType, Object event)
+   {
+      Observers.checkEventObjectType(event);
+      notifyObservers(event, resolveObserverMethods(eventType));
+   }
+
+   /**
+    * Notify the observers of an event, which must already have been resolved
+    * and validated. For internal use
+    * 
+    * @param event the event object
+    * @param observers the observers to notify
+    */
+   public <T> void notifyObservers(final T event, final Set<ObserverMethod<? super T>> observers)
    {
       for (ObserverMethod<? super T> observer : observers)
       {
@@ -669,7 +707,7 @@ public class BeanManagerImpl implements WeldManager, Serializable
    
    public Object getReference(Bean<?> bean, CreationalContext<?> creationalContext, boolean noProxy)
    {
-      bean = getMostSpecializedBean(bean);
+      bean = getMostSpecializedBeanForReference(bean);
       if (creationalContext instanceof WeldCreationalContext<?>)
       {
          creationalContext = ((WeldCreationalContext<?>) creationalContext).getCreationalContext(bean);
@@ -691,6 +729,25 @@ public class BeanManagerImpl implements WeldManager, Serializable
       }
    }
    
+   private Bean<?> getMostSpecializedBeanForReference(Bean<?> bean)
+   {
+      if (bean instanceof RIBean<?>)
+      {
+         Bean<?> mostSpecializedBean = ((RIBean<?>) bean).getMostSpecializedBean();
+         if (mostSpecializedBean != null)
+         {
+            return mostSpecializedBean;
+         }
+         referenceSlowPathCount.incrementAndGet();
+         return getMostSpecializedBean(bean);
+      }
+      else
+      {
+         // Only beans defined by Weld can be specialized
+         return bean;
+      }
+   }
+   
    private boolean isProxyRequired(Bean<?> bean)
    {
       if (bean instanceof RIBean<?>)
@@ -738,6 +795,22 @@ public class BeanManagerImpl implements WeldManager, Serializable
     * @return
     */
    public Object getReference(InjectionPoint injectionPoint, Bean<?> resolvedBean, CreationalContext<?> creationalContext)
+   {
+      return getReference(injectionPoint, resolvedBean, creationalContext, false);
+   }
+   
+   /**
+    * Get a reference, registering the injection point used.
+    * 
+    * @param injectionPoint the injection point to register
+    * @param resolvedBean the bean to get a reference to 
+    * @param creationalContext the creationalContext
+    * @param proxyabilityChecked whether the injection point has already been
+    *           checked to be proxyable if the bean is normal scoped, see
+    *           {@link #validateProxyable(InjectionPoint, Bean)}
+    * @return
+    */
+   public Object getReference(InjectionPoint injectionPoint, Bean<?> resolvedBean, CreationalContext<?> creationalContext, boolean proxyabilityChecked)
    {
       if (resolvedBean == null)
       {
@@ -755,9 +828,9 @@ public class BeanManagerImpl implements WeldManager, Serializable
          {
             Container.instance().services().get(CurrentInjectionPoint.class).push(injectionPoint);
          }
-         if (getServices().get(MetaAnnotationStore.class).getScopeModel(resolvedBean.getScope()).isNormal() && !Proxies.isTypeProxyable(injectionPoint.getType()))
+         if (!proxyabilityChecked)
          {
-            throw new UnproxyableResolutionException(UNPROXYABLE_RESOLUTION, resolvedBean, injectionPoint);
+            validateProxyable(injectionPoint, resolvedBean);
          }
          // TODO Can we move this logic to getReference?
          if (creationalContext instanceof WeldCreationalContext<?>)
@@ -787,6 +860,33 @@ public class BeanManagerImpl implements WeldManager, Serializable
    }
   
 
+   /**
+    * Check that the type of an injection point can be proxied if the bean
+    * resolved for it is normal scoped
+    * 
+    * @throws UnproxyableResolutionException if the bean is normal scoped, but
+    *            the type of the injection point can't be proxied
+    */
+   public void validateProxyable(InjectionPoint injectionPoint, Bean<?> resolvedBean)
+   {
+      if (isProxyRequired(resolvedBean) && !Proxies.isTypeProxyable(injectionPoint.getType()))
+      {
+         throw new UnproxyableResolutionException(UNPROXYABLE_RESOLUTION, resolvedBean, injectionPoint);
+      }
+   }
+   
+   /**
+    * The number of times a reference was obtained for a bean defined by Weld
+    * whose most specialized bean wasn't frozen when deployment ended, so that
+    * the specialized beans had to be walked. Once deployment has ended,
+    * obtaining a reference to a bean which was deployed shouldn't increase the
+    * count.
+    */
+   public long getReferenceSlowPathCount()
+   {
+      return referenceSlowPathCount.get();
+   }
+
    public Object getInjectableReference(InjectionPoint injectionPoint, CreationalContext<?> creationalContext)
    {
       if (!injectionPoint.isDelegate())
@@ -822,6 +922,11 @@ public class BeanManagerImpl implements WeldManager, Serializable
       return nameBasedResolver.resolve(name);
    }
 
+   public NameBasedResolver getNameBasedResolver()
+   {
+      return nameBasedResolver;
+   }
+
    public List<Decorator<?>> resolveDecorators(Set<Type> types, Annotation... qualifiers)
    {
       checkResolveDecoratorsArguments(types);
@@ -1,7 +1,7 @@
 package org.jboss.weld.manager;
 
-import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import javax.enterprise.inject.spi.InjectionTarget;
 
@@ -14,14 +14,15 @@ public class InjectionTargetValidator implements Service
 {
    
    private final Validator validator;
-   private final Collection<InjectionTarget<?>> injectionTargets;
+   // Injection targets may be added concurrently whilst beans are validated
+   private final Queue<InjectionTarget<?>> injectionTargets;
    private final Container container;
    private final BeanManagerImpl beanManager;
    
    public InjectionTargetValidator(BeanManagerImpl beanManager)
    {
       this.validator = new Validator();
-      this.injectionTargets = new ArrayList<InjectionTarget<?>>();
+      this.injectionTargets = new ConcurrentLinkedQueue<InjectionTarget<?>>();
       this.container = Container.instance();
       this.beanManager = beanManager;
    }
@@ -41,11 +42,11 @@ public class InjectionTargetValidator implements Service
    
    public void validate()
    {
-      for (InjectionTarget<?> injectionTarget : injectionTargets)
+      InjectionTarget<?> injectionTarget;
+      while ((injectionTarget = injectionTargets.poll()) != null)
       {
          validator.validateInjectionTarget(injectionTarget, beanManager);
       }
-      injectionTargets.clear();
    }
 
    public void cleanup()
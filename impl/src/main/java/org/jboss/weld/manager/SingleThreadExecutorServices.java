@@ -16,55 +16,18 @@
  */
 package org.jboss.weld.manager;
 
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
-
-import org.jboss.weld.manager.api.ExecutorServices;
 
 /**
  * @author pmuir
  *
  */
-public class SingleThreadExecutorServices implements ExecutorServices
+public class SingleThreadExecutorServices extends AbstractExecutorServices
 {
    
-   private transient final ExecutorService taskExecutor = Executors.newSingleThreadExecutor();
-   
-
-   /**
-    * Provides access to the executor service used for asynchronous tasks.
-    * 
-    * @return the ExecutorService for this manager
-    */
-   public ExecutorService getTaskExecutor()
-   {
-      return taskExecutor;
-   }
-
-   public void cleanup()
+   public SingleThreadExecutorServices()
    {
-      taskExecutor.shutdown();
-      try
-      {
-         // Wait a while for existing tasks to terminate
-         if (!taskExecutor.awaitTermination(60, TimeUnit.SECONDS))
-         {
-            taskExecutor.shutdownNow(); // Cancel currently executing tasks
-            // Wait a while for tasks to respond to being cancelled
-            if (!taskExecutor.awaitTermination(60, TimeUnit.SECONDS))
-            {
-               // Log the error here
-            }
-         }
-      }
-      catch (InterruptedException ie)
-      {
-         // (Re-)Cancel if current thread also interrupted
-         taskExecutor.shutdownNow();
-         // Preserve interrupt status
-         Thread.currentThread().interrupt();
-      }
+      super(Executors.newSingleThreadExecutor());
    }
 
 }
@@ -0,0 +1,216 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.resolution;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Map.Entry;
+
+import javax.enterprise.inject.spi.Bean;
+
+import org.jboss.weld.util.Types;
+
+import com.google.common.collect.Iterables;
+
+/**
+ * An inverted index of beans, keyed by the (boxed) raw type of each bean type
+ * and by the annotation type of each qualifier.
+ *
+ * Type safe resolution only considers a bean if one of it's types has the same
+ * raw type as a required type, and if it has a qualifier of the same
+ * annotation type for each required qualifier. The index uses this to answer
+ * the candidate beans for a resolvable with a few map lookups, picking the
+ * smallest candidate list, rather than scanning every bean. The candidates
+ * must still be checked using the full assignability and qualifier rules.
+ *
+ * Bean types which have no raw type (type variables, wildcards and generic
+ * arrays) may match by their bounds, so beans declaring such types are always
+ * considered candidates.
+ *
+ * @author Pete Muir
+ *
+ */
+class BeanIndex<T extends Bean<?>>
+{
+
+   private final List<T> allBeans;
+   private final Map<Class<?>, List<T>> beansByRawType;
+   private final Map<Class<? extends Annotation>, List<T>> beansByQualifierType;
+   private final List<T> beansWithUnboundedTypes;
+
+   BeanIndex(Iterable<T> beans)
+   {
+      ArrayList<T> all = new ArrayList<T>();
+      Map<Class<?>, ArrayList<T>> byRawType = new HashMap<Class<?>, ArrayList<T>>();
+      Map<Class<? extends Annotation>, ArrayList<T>> byQualifierType = new HashMap<Class<? extends Annotation>, ArrayList<T>>();
+      ArrayList<T> unbounded = new ArrayList<T>();
+      for (T bean : beans)
+      {
+         all.add(bean);
+         boolean addedToUnbounded = false;
+         for (Type type : bean.getTypes())
+         {
+            Class<?> rawType = getIndexableRawType(type);
+            if (rawType == null)
+            {
+               if (!addedToUnbounded)
+               {
+                  unbounded.add(bean);
+                  addedToUnbounded = true;
+               }
+            }
+            else
+            {
+               addToIndex(byRawType, rawType, bean);
+            }
+         }
+         for (Annotation qualifier : bean.getQualifiers())
+         {
+            addToIndex(byQualifierType, qualifier.annotationType(), bean);
+         }
+      }
+      all.trimToSize();
+      unbounded.trimToSize();
+      this.allBeans = Collections.unmodifiableList(all);
+      this.beansWithUnboundedTypes = Collections.unmodifiableList(unbounded);
+      this.beansByRawType = freeze(byRawType);
+      this.beansByQualifierType = freeze(byQualifierType);
+   }
+
+   /**
+    * Get the beans which may match the resolvable. Every bean which matches
+    * the resolvable is guaranteed to be returned, but some returned beans may
+    * not match.
+    *
+    * @param resolvable the resolvable
+    * @return the candidate beans
+    */
+   Iterable<T> getCandidates(Resolvable resolvable)
+   {
+      Iterable<T> candidates = allBeans;
+      int candidateCount = allBeans.size();
+      List<List<T>> beansForTypes = getBeansForTypes(resolvable.getTypes());
+      if (beansForTypes != null)
+      {
+         int count = beansWithUnboundedTypes.size();
+         for (List<T> beansForType : beansForTypes)
+         {
+            count += beansForType.size();
+         }
+         if (count < candidateCount)
+         {
+            beansForTypes.add(beansWithUnboundedTypes);
+            candidates = Iterables.concat(beansForTypes);
+            candidateCount = count;
+         }
+      }
+      for (Annotation qualifier : resolvable.getQualifiers())
+      {
+         List<T> beansForQualifier = beansByQualifierType.get(qualifier.annotationType());
+         if (beansForQualifier == null)
+         {
+            // No bean declares this qualifier, nothing can match
+            return Collections.emptyList();
+         }
+         else if (beansForQualifier.size() < candidateCount)
+         {
+            candidates = beansForQualifier;
+            candidateCount = beansForQualifier.size();
+         }
+      }
+      return candidates;
+   }
+
+   List<T> getAllBeans()
+   {
+      return allBeans;
+   }
+
+   /**
+    * Returns the beans having a type with the same raw type as one of the
+    * required types, or null if any of the required types can't be looked up
+    * by raw type
+    */
+   private List<List<T>> getBeansForTypes(Set<Type> requiredTypes)
+   {
+      List<List<T>> beansForTypes = new ArrayList<List<T>>(requiredTypes.size() + 1);
+      for (Type requiredType : requiredTypes)
+      {
+         Class<?> rawType = getIndexableRawType(requiredType);
+         if (rawType == null)
+         {
+            return null;
+         }
+         List<T> beansForType = beansByRawType.get(rawType);
+         if (beansForType != null)
+         {
+            beansForTypes.add(beansForType);
+         }
+      }
+      return beansForTypes;
+   }
+
+   private static Class<?> getIndexableRawType(Type type)
+   {
+      if (type instanceof Class<?>)
+      {
+         return Types.boxedClass((Class<?>) type);
+      }
+      else if (type instanceof ParameterizedType && ((ParameterizedType) type).getRawType() instanceof Class<?>)
+      {
+         return (Class<?>) ((ParameterizedType) type).getRawType();
+      }
+      else
+      {
+         return null;
+      }
+   }
+
+   private static <K, T> void addToIndex(Map<K, ArrayList<T>> index, K key, T bean)
+   {
+      ArrayList<T> beans = index.get(key);
+      if (beans == null)
+      {
+         beans = new ArrayList<T>();
+         index.put(key, beans);
+      }
+      // A bean may declare several types with the same raw type
+      if (beans.isEmpty() || beans.get(beans.size() - 1) != bean)
+      {
+         beans.add(bean);
+      }
+   }
+
+   private static <K, T> Map<K, List<T>> freeze(Map<K, ArrayList<T>> index)
+   {
+      Map<K, List<T>> frozen = new HashMap<K, List<T>>();
+      for (Entry<K, ArrayList<T>> entry : index.entrySet())
+      {
+         entry.getValue().trimToSize();
+         frozen.put(entry.getKey(), Collections.unmodifiableList(entry.getValue()));
+      }
+      return Collections.unmodifiableMap(frozen);
+   }
+
+}
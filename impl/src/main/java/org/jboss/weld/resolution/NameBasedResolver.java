@@ -19,6 +19,7 @@ package org.jboss.weld.resolution;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.enterprise.inject.spi.Bean;
 
@@ -66,6 +67,7 @@ public class NameBasedResolver
    
    // The resolved names
    private ConcurrentMap<String, Set<Bean<?>>> resolvedNames;
+   private final AtomicInteger generation;
 
    /**
     * Constructor
@@ -74,6 +76,7 @@ public class NameBasedResolver
    public NameBasedResolver(BeanManagerImpl manager, Iterable<? extends Bean<?>> allBeans)
    {
       this.resolvedNames = new MapMaker().makeComputingMap(new NameToBeanSet(manager, allBeans));
+      this.generation = new AtomicInteger();
    }
 
    /**
@@ -83,6 +86,19 @@ public class NameBasedResolver
    public void clear()
    {
       this.resolvedNames.clear();
+      this.generation.incrementAndGet();
+   }
+
+   /**
+    * Get the current generation of the resolver. The generation changes every
+    * time {@link #clear()} is called, so a caller holding on to a resolution
+    * can detect that it may be stale.
+    * 
+    * @return the generation
+    */
+   public int getGeneration()
+   {
+      return generation.get();
    }
 
    /**
@@ -0,0 +1,143 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.resolution;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.base.Function;
+
+/**
+ * A computing cache of resolution results, optionally bounded in size.
+ *
+ * When the cache grows beyond it's maximum size, arbitrary entries are
+ * evicted; an evicted result is simply computed again when next needed.
+ * Resolution is idempotent, so two threads may compute the same result
+ * concurrently, in which case the first result stored wins.
+ *
+ * Hits, misses and evictions are counted.
+ *
+ * @author Pete Muir
+ *
+ */
+public class ResolutionCache<K, V>
+{
+
+   private final ConcurrentMap<K, V> cache;
+   private final Function<K, V> function;
+   private final int maximumSize;
+   private final AtomicLong hits;
+   private final AtomicLong misses;
+   private final AtomicLong evictions;
+
+   /**
+    * Constructor
+    *
+    * @param function the function used to compute a missing value
+    * @param maximumSize the maximum number of entries to hold, or 0 for an
+    *           unbounded cache
+    */
+   public ResolutionCache(Function<K, V> function, int maximumSize)
+   {
+      this.cache = new ConcurrentHashMap<K, V>();
+      this.function = function;
+      this.maximumSize = maximumSize;
+      this.hits = new AtomicLong();
+      this.misses = new AtomicLong();
+      this.evictions = new AtomicLong();
+   }
+
+   public V get(K key)
+   {
+      V value = cache.get(key);
+      if (value != null)
+      {
+         hits.incrementAndGet();
+         return value;
+      }
+      misses.incrementAndGet();
+      value = function.apply(key);
+      V previous = cache.putIfAbsent(key, value);
+      if (previous != null)
+      {
+         return previous;
+      }
+      if (maximumSize > 0)
+      {
+         evict(key);
+      }
+      return value;
+   }
+
+   private void evict(K retained)
+   {
+      Iterator<K> iterator = cache.keySet().iterator();
+      while (cache.size() > maximumSize && iterator.hasNext())
+      {
+         K key = iterator.next();
+         if (!key.equals(retained))
+         {
+            iterator.remove();
+            evictions.incrementAndGet();
+         }
+      }
+   }
+
+   public boolean containsKey(K key)
+   {
+      return cache.containsKey(key);
+   }
+
+   public int size()
+   {
+      return cache.size();
+   }
+
+   public void clear()
+   {
+      cache.clear();
+   }
+
+   public int getMaximumSize()
+   {
+      return maximumSize;
+   }
+
+   public long getHits()
+   {
+      return hits.get();
+   }
+
+   public long getMisses()
+   {
+      return misses.get();
+   }
+
+   public long getEvictions()
+   {
+      return evictions.get();
+   }
+
+   @Override
+   public String toString()
+   {
+      return size() + " entries (maximum " + (maximumSize > 0 ? maximumSize : "unbounded") + "), " + hits.get() + " hits, " + misses.get() + " misses, " + evictions.get() + " evictions";
+   }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.resolution;
+
+import org.jboss.weld.bootstrap.api.Service;
+import org.jboss.weld.bootstrap.api.ServiceRegistry;
+
+/**
+ * Configures the size of the caches held by the type safe resolvers. An
+ * integrator may add an instance to the deployment services to override the
+ * defaults. A maximum size of 0 or less means the cache is unbounded.
+ *
+ * @author Pete Muir
+ *
+ */
+public class ResolutionCacheConfiguration implements Service
+{
+
+   public static final int DEFAULT_MAXIMUM_RESOLVED_SIZE = 10000;
+   public static final int DEFAULT_MAXIMUM_DISAMBIGUATED_SIZE = 1000;
+
+   private static final ResolutionCacheConfiguration DEFAULT = new ResolutionCacheConfiguration();
+
+   /**
+    * Get the configuration from the services, falling back to the default
+    * configuration if none is registered
+    */
+   public static ResolutionCacheConfiguration of(ServiceRegistry services)
+   {
+      if (services.contains(ResolutionCacheConfiguration.class))
+      {
+         return services.get(ResolutionCacheConfiguration.class);
+      }
+      else
+      {
+         return DEFAULT;
+      }
+   }
+
+   private final int maximumResolvedSize;
+   private final int maximumDisambiguatedSize;
+
+   public ResolutionCacheConfiguration()
+   {
+      this(DEFAULT_MAXIMUM_RESOLVED_SIZE, DEFAULT_MAXIMUM_DISAMBIGUATED_SIZE);
+   }
+
+   /**
+    * @param maximumResolvedSize the maximum number of resolutions each
+    *           resolver caches
+    * @param maximumDisambiguatedSize the maximum number of ambiguous bean sets
+    *           for which the bean resolver caches the disambiguated result
+    */
+   public ResolutionCacheConfiguration(int maximumResolvedSize, int maximumDisambiguatedSize)
+   {
+      this.maximumResolvedSize = maximumResolvedSize;
+      this.maximumDisambiguatedSize = maximumDisambiguatedSize;
+   }
+
+   public int getMaximumResolvedSize()
+   {
+      return maximumResolvedSize;
+   }
+
+   public int getMaximumDisambiguatedSize()
+   {
+      return maximumDisambiguatedSize;
+   }
+
+   public void cleanup()
+   {
+   }
+
+}
@@ -18,23 +18,10 @@ package org.jboss.weld.resolution;
 
 import static org.jboss.weld.util.reflection.Reflections.cast;
 
-import java.io.Serializable;
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.List;
-import java.util.Map;
 import java.util.Set;
-import java.util.Map.Entry;
-import java.util.concurrent.ConcurrentMap;
 
-import javax.enterprise.event.Event;
-import javax.enterprise.inject.Instance;
 import javax.enterprise.inject.spi.Bean;
-import javax.inject.Provider;
 
 import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.util.Beans;
@@ -43,8 +30,6 @@ import org.jboss.weld.util.reflection.Reflections;
 
 import com.google.common.base.Function;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.MapMaker;
-import com.google.common.primitives.Primitives;
 
 /**
  * @author pmuir
@@ -54,9 +39,9 @@ public class TypeSafeBeanResolver<T extends Bean<?>> extends TypeSafeResolver<Re
 {
 
    private final BeanManagerImpl beanManager;
-   private final ConcurrentMap<Set<Bean<?>>, Set<Bean<?>>> disambiguatedBeans;
+   private final ResolutionCache<Set<Bean<?>>, Set<Bean<?>>> disambiguatedBeans;
 
-   private final LazyValueHolder<Map<Type, ArrayList<T>>> beansByType;
+   private final LazyValueHolder<BeanIndex<T>> beanIndex;
 
    public static class BeanDisambiguation implements Function<Set<Bean<?>>, Set<Bean<?>>>
    {
@@ -91,70 +76,33 @@ public class TypeSafeBeanResolver<T extends Bean<?>> extends TypeSafeResolver<Re
 
    public TypeSafeBeanResolver(BeanManagerImpl beanManager, final Iterable<T> beans)
    {
-      super(beans);
+      this(beanManager, beans, ResolutionCacheConfiguration.of(beanManager.getServices()));
+   }
+
+   private TypeSafeBeanResolver(BeanManagerImpl beanManager, final Iterable<T> beans, ResolutionCacheConfiguration cacheConfiguration)
+   {
+      super(beans, cacheConfiguration);
       this.beanManager = beanManager;
-      this.disambiguatedBeans = new MapMaker().makeComputingMap(new BeanDisambiguation());
-      // beansByType stores a map of a type to all beans that are assignable to
-      // that type. This means that it most cases we do not need to loop through
-      // every bean in the system when performing resolution
-
-      // we build this map lazily, as we do not have access to all beans when
-      // the resolveris created. Calling the resolvers clear method will also
-      // clear this map.This task is not suitable for a computing hashmap, as
-      // the whole map should be calculated in one hit, so only a single
+      this.disambiguatedBeans = new ResolutionCache<Set<Bean<?>>, Set<Bean<?>>>(new BeanDisambiguation(), cacheConfiguration.getMaximumDisambiguatedSize());
+      // beanIndex stores an inverted index of beans by type and qualifier.
+      // This means that we do not need to loop through every bean in the
+      // system when performing resolution, even for lookups of very general
+      // types such as Object or Serializable
+
+      // we build the index lazily, as we do not have access to all beans when
+      // the resolver is created. Calling the resolvers clear method will also
+      // clear the index. This task is not suitable for a computing hashmap, as
+      // the whole index should be calculated in one hit, so only a single
       // iteration over all beans is required
+      this.beanIndex = new LazyValueHolder<BeanIndex<T>>()
+      {
 
-      this.beansByType = new LazyValueHolder<Map<Type, ArrayList<T>>>()
-        {
-        
          @Override
-         protected Map<Type, ArrayList<T>> computeValue()
+         protected BeanIndex<T> computeValue()
          {
-            Map<Type, ArrayList<T>> val = new HashMap<Type, ArrayList<T>>();
-            for (T bean : beans)
-            {
-               for (Type type : bean.getTypes())
-               {
-                  if (!val.containsKey(type))
-                  {
-                     val.put(type, new ArrayList<T>());
-                  }
-                  val.get(type).add(bean);
-                  if (type instanceof ParameterizedType)
-                  {
-                     // we need to add the raw type as well
-                     Type rawType = ((ParameterizedType) type).getRawType();
-                     if (!val.containsKey(rawType))
-                     {
-                        val.put(rawType, new ArrayList<T>());
-                     }
-                     val.get(rawType).add(bean);
-                  }
-                  else if (type instanceof Class<?>)
-                  {
-                     // if the type is a primitive we also need to add the bean
-                     // is also resolvable from the boxed class
-                     Class<?> clazz = (Class<?>) type;
-                     if (clazz.isPrimitive())
-                     {
-                        clazz = Primitives.wrap(clazz);
-                        if (!val.containsKey(clazz))
-                        {
-                           val.put(clazz, new ArrayList<T>());
-                        }
-                        val.get(clazz).add(bean);
-                     }
-                  }
-               }
-            }
-            for (Entry<Type, ArrayList<T>> entry : val.entrySet())
-            {
-               entry.getValue().trimToSize();
-            }
-            return Collections.unmodifiableMap(val);
+            return new BeanIndex<T>(beans);
          }
       };
-       
    }
 
    @Override
@@ -166,44 +114,7 @@ public class TypeSafeBeanResolver<T extends Bean<?>> extends TypeSafeResolver<Re
    @Override
    protected Iterable<? extends T> getAllBeans(Resolvable resolvable)
    {
-      if (resolvable.getTypes().contains(Object.class) || Instance.class.equals(resolvable.getJavaClass()) || Event.class.equals(resolvable.getJavaClass()) || Provider.class.equals(resolvable.getJavaClass()) || resolvable.getTypes().contains(Serializable.class))
-      {
-         return super.getAllBeans(resolvable);
-      }
-      Set<T> beans = new HashSet<T>();
-      for (Type type : resolvable.getTypes())
-      {
-         List<T> beansForType = beansByType.get().get(type);
-         if (beansForType != null)
-         {
-            beans.addAll(beansForType);
-         }
-         if (type instanceof ParameterizedType)
-         {
-            // we also need to consider the raw type
-            Type rawType = ((ParameterizedType) type).getRawType();
-            beansForType = beansByType.get().get(rawType);
-            if (beansForType != null)
-            {
-               beans.addAll(beansForType);
-            }
-         }
-         else if (type instanceof Class<?>)
-         {
-            // primitives
-            Class<?> clazz = (Class<?>) type;
-            if (clazz.isPrimitive())
-            {
-               clazz = Primitives.wrap(clazz);
-               beansForType = beansByType.get().get(clazz);
-               if (beansForType != null)
-               {
-                  beans.addAll(beansForType);
-               }
-            }
-         }
-      }
-      return beans;
+      return beanIndex.get().getCandidates(resolvable);
    }
 
    /**
@@ -240,12 +151,24 @@ public class TypeSafeBeanResolver<T extends Bean<?>> extends TypeSafeResolver<Re
       return cast(disambiguatedBeans.get(beans));
    }
 
+   /**
+    * Get the cache of disambiguated bean sets, which holds hit, miss and
+    * eviction counts
+    * 
+    * @return the cache
+    */
+   public ResolutionCache<Set<Bean<?>>, Set<Bean<?>>> getDisambiguationCache()
+   {
+      return disambiguatedBeans;
+   }
+
    @Override
    public void clear()
    {
-      super.clear();
       this.disambiguatedBeans.clear();
-      this.beansByType.clear();
+      this.beanIndex.clear();
+      // Bumps the generation, so must come last
+      super.clear();
    }
 
 }
@@ -34,7 +34,7 @@ public class TypeSafeDisposerResolver extends TypeSafeResolver<Resolvable, Dispo
 
    public TypeSafeDisposerResolver(BeanManagerImpl manager, Iterable<DisposalMethod<?, ?>> disposers)
    {
-      super(disposers);
+      super(disposers, ResolutionCacheConfiguration.of(manager.getServices()));
       this.manager = manager;
    }
 
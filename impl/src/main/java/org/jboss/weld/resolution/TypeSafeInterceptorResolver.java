@@ -35,7 +35,7 @@ public class TypeSafeInterceptorResolver extends TypeSafeResolver<InterceptorRes
 
    public TypeSafeInterceptorResolver(BeanManagerImpl manager, Iterable<Interceptor<?>> interceptors)
    {
-      super(interceptors);
+      super(interceptors, ResolutionCacheConfiguration.of(manager.getServices()));
       this.manager = manager;
    }
 
@@ -35,7 +35,7 @@ public class TypeSafeObserverResolver extends TypeSafeResolver<Resolvable, Obser
 
    public TypeSafeObserverResolver(BeanManagerImpl manager, Iterable<ObserverMethod<?>> observers)
    {
-      super(observers);
+      super(observers, ResolutionCacheConfiguration.of(manager.getServices()));
       this.manager = manager;
    }
 
@@ -18,11 +18,10 @@ package org.jboss.weld.resolution;
 
 import java.util.HashSet;
 import java.util.Set;
-import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.google.common.base.Function;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.MapMaker;
 
 /**
  * Implementation of type safe bean resolution
@@ -51,10 +50,12 @@ public abstract class TypeSafeResolver<R extends Resolvable, T>
    }
    
    // The resolved injection points
-   private final ConcurrentMap<R, Set<T>> resolved;
+   private final ResolutionCache<R, Set<T>> resolved;
    // The beans to search
    private final Iterable<? extends T> allBeans;
    private final ResolvableToBeanSet<R, T> resolverFunction;
+   // Incremented every time the cached resolutions are reset
+   private final AtomicInteger generation;
    
    
 
@@ -62,11 +63,12 @@ public abstract class TypeSafeResolver<R extends Resolvable, T>
     * Constructor
     * 
     */
-   public TypeSafeResolver(Iterable<? extends T> allBeans)
+   public TypeSafeResolver(Iterable<? extends T> allBeans, ResolutionCacheConfiguration cacheConfiguration)
    {
       this.resolverFunction = new ResolvableToBeanSet<R, T>(this);
-      this.resolved = new MapMaker().makeComputingMap(resolverFunction);
+      this.resolved = new ResolutionCache<R, Set<T>>(resolverFunction, cacheConfiguration.getMaximumResolvedSize());
       this.allBeans = allBeans;
+      this.generation = new AtomicInteger();
    }
 
    /**
@@ -75,6 +77,19 @@ public abstract class TypeSafeResolver<R extends Resolvable, T>
    public void clear()
    {
       this.resolved.clear();
+      this.generation.incrementAndGet();
+   }
+
+   /**
+    * Get the current generation of the resolver. The generation changes every
+    * time {@link #clear()} is called, so a caller holding on to a resolution
+    * can detect that it may be stale.
+    * 
+    * @return the generation
+    */
+   public int getGeneration()
+   {
+      return generation.get();
    }
 
    /**
@@ -146,6 +161,16 @@ public abstract class TypeSafeResolver<R extends Resolvable, T>
       return resolved.containsKey(wrap(resolvable));
    }
 
+   /**
+    * Get the cache of resolutions, which holds hit, miss and eviction counts
+    * 
+    * @return the cache
+    */
+   public ResolutionCache<R, Set<T>> getResolvedCache()
+   {
+      return resolved;
+   }
+
    /**
     * Gets a string representation
     * 
@@ -156,7 +181,7 @@ public abstract class TypeSafeResolver<R extends Resolvable, T>
    {
       StringBuilder buffer = new StringBuilder();
       buffer.append("Resolver\n");
-      buffer.append("Resolved injection points: " + resolved.size() + "\n");
+      buffer.append("Resolved injection points: " + resolved + "\n");
       return buffer.toString();
    }
 
@@ -19,9 +19,11 @@ package org.jboss.weld.resources;
 import java.lang.reflect.Type;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 
 import org.jboss.weld.bootstrap.api.Service;
+import org.jboss.weld.util.collections.ArraySet;
 import org.jboss.weld.util.collections.ArraySetMultimap;
 import org.jboss.weld.util.reflection.HierarchyDiscovery;
 import org.jboss.weld.util.reflection.Reflections;
@@ -32,6 +34,16 @@ import com.google.common.collect.MapMaker;
 /**
  * Allows classes to share Maps/Sets to conserve memory.
  * 
+ * Sets and maps are copied into a compact form before being interned, so the
+ * shared instance never holds more than its elements: empty and single
+ * element collections are the immutable JDK singletons, and larger sets are
+ * trimmed array sets. Equal type closures are shared as well.
+ * 
+ * The interned instances are only needed whilst the container deploys beans,
+ * as this is when the metadata is built. They can be released once the
+ * container is initialized, see {@link #cleanup()}; anything still using a
+ * shared instance keeps it.
+ * 
  * @author Stuart Douglas <stuart@baileyroberts.com.au>
  * 
  */
@@ -66,18 +78,18 @@ public class SharedObjectCache implements Service
 
       public Set<Type> apply(Type from)
       {
-         return Collections.unmodifiableSet(new HierarchyDiscovery(from).getTypeClosure());
+         return getSharedSet(new HierarchyDiscovery(from).getTypeClosure());
       }
    });
 
    public <T> Set<T> getSharedSet(Set<T> set)
    {
-      return Reflections.cast(sharedSets.get(set));
+      return Reflections.cast(sharedSets.get(compact(set)));
    }
 
    public <K, V> Map<K, V> getSharedMap(Map<K, V> map)
    {
-      return Reflections.cast(sharedMaps.get(map));
+      return Reflections.cast(sharedMaps.get(compact(map)));
    }
 
    public <K, V> ArraySetMultimap<K, V> getSharedMultimap(ArraySetMultimap<K, V> map)
@@ -90,10 +102,56 @@ public class SharedObjectCache implements Service
       return typeClosures.get(type);
    }
 
+   /**
+    * The number of distinct sets, maps, multimaps and type closures interned
+    */
+   public int size()
+   {
+      return sharedSets.size() + sharedMaps.size() + sharedMultiMaps.size() + typeClosures.size();
+   }
+
    public void cleanup()
    {
       sharedSets.clear();
       sharedMaps.clear();
       sharedMultiMaps.clear();
+      typeClosures.clear();
+   }
+
+   private static <T> Set<T> compact(Set<T> set)
+   {
+      if (set.isEmpty())
+      {
+         return Collections.emptySet();
+      }
+      else if (set.size() == 1)
+      {
+         return Collections.singleton(set.iterator().next());
+      }
+      else if (set instanceof ArraySet<?>)
+      {
+         return ((ArraySet<T>) set).trimToSize();
+      }
+      else
+      {
+         return new ArraySet<T>(set).trimToSize();
+      }
+   }
+
+   private static <K, V> Map<K, V> compact(Map<K, V> map)
+   {
+      if (map.isEmpty())
+      {
+         return Collections.emptyMap();
+      }
+      else if (map.size() == 1)
+      {
+         Entry<K, V> entry = map.entrySet().iterator().next();
+         return Collections.singletonMap(entry.getKey(), entry.getValue());
+      }
+      else
+      {
+         return map;
+      }
    }
 }
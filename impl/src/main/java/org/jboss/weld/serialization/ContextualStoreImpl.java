@@ -31,13 +31,13 @@ import org.jboss.weld.serialization.spi.helpers.SerializableContextual;
 import org.jboss.weld.serialization.spi.helpers.SerializableContextualInstance;
 import org.jboss.weld.util.reflection.Reflections;
 
-import com.google.common.collect.BiMap;
-import com.google.common.collect.HashBiMap;
-import com.google.common.collect.Maps;
-
 /**
  * Implementation of {@link org.jboss.weld.serialization.spi.ContextualStore}
  * 
+ * No locks are taken to look up a contextual or its id. Passivation capable
+ * contextuals (including all beans provided by Weld) carry their own id, so
+ * the store is only written to the first time a contextual is seen.
+ * 
  * @author Pete Muir
  * 
  */
@@ -46,8 +46,9 @@ public class ContextualStoreImpl implements ContextualStore
 
    private static final String GENERATED_ID_PREFIX = ContextualStoreImpl.class.getName();
 
-   // The map containing container-local contextuals
-   private final BiMap<Contextual<?>, String> contextuals;
+   // The maps containing container-local contextuals, in both directions
+   private final ConcurrentMap<Contextual<?>, String> contextuals;
+   private final ConcurrentMap<String, Contextual<?>> contextualsInverse;
 
    // The map containing passivation capable contextuals
    private final ConcurrentMap<String, Contextual<?>> passivationCapableContextuals;
@@ -57,9 +58,8 @@ public class ContextualStoreImpl implements ContextualStore
    public ContextualStoreImpl()
    {
       this.idGenerator = new AtomicInteger(0);
-      BiMap<Contextual<?>, String> map = HashBiMap.create();
-      // TODO Somehow remove this sync if it shows bad in a profiler
-      this.contextuals = Maps.synchronizedBiMap(map);
+      this.contextuals = new ConcurrentHashMap<Contextual<?>, String>();
+      this.contextualsInverse = new ConcurrentHashMap<String, Contextual<?>>();
       this.passivationCapableContextuals = new ConcurrentHashMap<String, Contextual<?>>();
    }
 
@@ -76,7 +76,7 @@ public class ContextualStoreImpl implements ContextualStore
    {
       if (id.startsWith(GENERATED_ID_PREFIX))
       {
-         return (C) contextuals.inverse().get(id);
+         return (C) contextualsInverse.get(id);
       }
       else
       {
@@ -97,27 +97,30 @@ public class ContextualStoreImpl implements ContextualStore
    {
       if (contextual instanceof PassivationCapable)
       {
-         PassivationCapable passivationCapable = (PassivationCapable) contextual;
-         passivationCapableContextuals.putIfAbsent(passivationCapable.getId(), contextual);
-         return passivationCapable.getId();
+         String id = ((PassivationCapable) contextual).getId();
+         // Avoid the write (and the lock it takes) if already present
+         if (!passivationCapableContextuals.containsKey(id))
+         {
+            passivationCapableContextuals.putIfAbsent(id, contextual);
+         }
+         return id;
       }
-      else if (contextuals.containsKey(contextual))
+      String id = contextuals.get(contextual);
+      if (id != null)
       {
-         return contextuals.get(contextual);
+         return id;
       }
-      else
+      id = new StringBuilder().append(GENERATED_ID_PREFIX).append(idGenerator.incrementAndGet()).toString();
+      // Make the id resolvable before it can be handed out
+      contextualsInverse.put(id, contextual);
+      String previousId = contextuals.putIfAbsent(contextual, id);
+      if (previousId != null)
       {
-         synchronized (contextual)
-         {
-            if (contextuals.containsKey(contextual))
-            {
-               return contextuals.get(contextual);
-            }
-            String id = new StringBuilder().append(GENERATED_ID_PREFIX).append(idGenerator.incrementAndGet()).toString();
-            contextuals.put(contextual, id);
-            return id;
-         }
+         // Another thread got there first, use its id
+         contextualsInverse.remove(id);
+         return previousId;
       }
+      return id;
    }
 
    public <C extends Contextual<I>, I> SerializableContextual<C, I> getSerializableContextual(Contextual<I> contextual)
@@ -133,6 +136,7 @@ public class ContextualStoreImpl implements ContextualStore
    public void cleanup()
    {
       contextuals.clear();
+      contextualsInverse.clear();
       passivationCapableContextuals.clear();
    }
 }
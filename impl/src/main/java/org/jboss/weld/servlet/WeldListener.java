@@ -101,7 +101,10 @@ public class WeldListener extends AbstractServletListener
    @Override
    public void requestDestroyed(ServletRequestEvent event)
    {
-      log.trace(REQUEST_DESTROYED, event.getServletRequest());
+      if (log.isTraceEnabled())
+      {
+         log.trace(REQUEST_DESTROYED, event.getServletRequest());
+      }
       // JBoss AS will still start the deployment even if WB fails
       if (Container.available())
       {
@@ -142,7 +145,10 @@ public class WeldListener extends AbstractServletListener
    @Override
    public void requestInitialized(ServletRequestEvent event)
    {
-      log.trace(REQUEST_INITIALIZED, event.getServletRequest());
+      if (log.isTraceEnabled())
+      {
+         log.trace(REQUEST_INITIALIZED, event.getServletRequest());
+      }
       // JBoss AS will still start the deployment even if Weld fails to start
       if (Container.available())
       {
@@ -247,7 +247,10 @@ public class Beans
       while (!t.getJavaClass().equals(Object.class))
       {
          Collection<WeldMethod<?, ? super T>> declaredMethods = cast(t.getDeclaredWeldMethods(PostConstruct.class));
-         log.trace(FOUND_POST_CONSTRUCT_METHODS, declaredMethods, type);
+         if (log.isTraceEnabled())
+         {
+            log.trace(FOUND_POST_CONSTRUCT_METHODS, declaredMethods, type);
+         }
          if (declaredMethods.size() > 1)
          {
             throw new DefinitionException(TOO_MANY_POST_CONSTRUCT_METHODS, type);
@@ -255,7 +258,10 @@ public class Beans
          else if (declaredMethods.size() == 1)
          {
             WeldMethod<?, ? super T> method = declaredMethods.iterator().next();
-            log.trace(FOUND_ONE_POST_CONSTRUCT_METHOD, method, type);
+            if (log.isTraceEnabled())
+            {
+               log.trace(FOUND_ONE_POST_CONSTRUCT_METHOD, method, type);
+            }
             methods.add(0, method);
          }
          t = t.getWeldSuperclass();
@@ -299,7 +305,10 @@ public class Beans
       while (!t.getJavaClass().equals(Object.class))
       {
          Collection<WeldMethod<?, ? super T>> declaredMethods = cast(t.getDeclaredWeldMethods(PreDestroy.class));
-         log.trace(FOUND_PRE_DESTROY_METHODS, declaredMethods, type);
+         if (log.isTraceEnabled())
+         {
+            log.trace(FOUND_PRE_DESTROY_METHODS, declaredMethods, type);
+         }
          if (declaredMethods.size() > 1)
          {
             throw new DefinitionException(TOO_MANY_PRE_DESTROY_METHODS, type);
@@ -307,7 +316,10 @@ public class Beans
          else if (declaredMethods.size() == 1)
          {
             WeldMethod<?, ? super T> method = declaredMethods.iterator().next();
-            log.trace(FOUND_ONE_PRE_DESTROY_METHOD, method, type);
+            if (log.isTraceEnabled())
+            {
+               log.trace(FOUND_ONE_PRE_DESTROY_METHOD, method, type);
+            }
             methods.add(0, method);
          }
          t = t.getWeldSuperclass();
@@ -728,7 +740,10 @@ public class Beans
    {
       ConstructorInjectionPoint<T> constructor = null;
       Collection<WeldConstructor<T>> initializerAnnotatedConstructors = type.getWeldConstructors(Inject.class);
-      log.trace(FOUND_INJECTABLE_CONSTRUCTORS, initializerAnnotatedConstructors, type);
+      if (log.isTraceEnabled())
+      {
+         log.trace(FOUND_INJECTABLE_CONSTRUCTORS, initializerAnnotatedConstructors, type);
+      }
       if (initializerAnnotatedConstructors.size() > 1)
       {
          if (initializerAnnotatedConstructors.size() > 1)
@@ -739,13 +754,19 @@ public class Beans
       else if (initializerAnnotatedConstructors.size() == 1)
       {
          constructor = ConstructorInjectionPoint.of(declaringBean, initializerAnnotatedConstructors.iterator().next());
-         log.trace(FOUND_ONE_INJECTABLE_CONSTRUCTOR, constructor, type);
+         if (log.isTraceEnabled())
+         {
+            log.trace(FOUND_ONE_INJECTABLE_CONSTRUCTOR, constructor, type);
+         }
       }
       else if (type.getNoArgsWeldConstructor() != null)
       {
 
          constructor = ConstructorInjectionPoint.of(declaringBean, type.getNoArgsWeldConstructor());
-         log.trace(FOUND_DEFAULT_CONSTRUCTOR, constructor, type);
+         if (log.isTraceEnabled())
+         {
+            log.trace(FOUND_DEFAULT_CONSTRUCTOR, constructor, type);
+         }
       }
 
       if (constructor == null)
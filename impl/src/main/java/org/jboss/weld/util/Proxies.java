@@ -149,7 +149,21 @@ public class Proxies
     */
    public static boolean isTypeProxyable(Type type)
    {
-      return getUnproxyableTypeException(type) == null;
+      // Answered without building the exception explaining why the type isn't
+      // proxyable, as this is checked when obtaining references
+      if (type instanceof Class<?>)
+      {
+         return isClassProxyable((Class<?>) type);
+      }
+      else if (type instanceof ParameterizedType)
+      {
+         Type rawType = ((ParameterizedType) type).getRawType();
+         if (rawType instanceof Class<?>)
+         {
+            return isClassProxyable((Class<?>) rawType);
+         }
+      }
+      return false;
    }
 
    public static UnproxyableResolutionException getUnproxyableTypeException(Type type)
@@ -177,7 +191,14 @@ public class Proxies
     */
    public static boolean isTypesProxyable(Iterable<? extends Type> types)
    {
-      return getUnproxyableTypesException(types) == null;
+      for (Type apiType : types)
+      {
+         if (!Object.class.equals(apiType) && !isTypeProxyable(apiType))
+         {
+            return false;
+         }
+      }
+      return true;
    }
 
    public static UnproxyableResolutionException getUnproxyableTypesException(Iterable<? extends Type> types)
@@ -197,6 +218,38 @@ public class Proxies
       return null;
    }
 
+   /**
+    * Must agree with {@link #getUnproxyableClassException(Class)}
+    */
+   private static boolean isClassProxyable(Class<?> clazz)
+   {
+      if (clazz.isInterface())
+      {
+         return true;
+      }
+      Constructor<?> constructor = null;
+      try
+      {
+         constructor = SecureReflections.getDeclaredConstructor(clazz);
+      }
+      catch (NoSuchMethodException e)
+      {
+         return InstantiatorFactory.useInstantiators();
+      }
+      if (constructor == null)
+      {
+         return false;
+      }
+      else if (Modifier.isPrivate(constructor.getModifiers()))
+      {
+         return InstantiatorFactory.useInstantiators();
+      }
+      else
+      {
+         return !Reflections.isTypeOrAnyMethodFinal(clazz) && !clazz.isPrimitive() && !Reflections.isArrayType(clazz);
+      }
+   }
+
    private static UnproxyableResolutionException getUnproxyableClassException(Class<?> clazz)
    {
       if (clazz.isInterface())
@@ -206,10 +206,20 @@ public class ArraySet<E> implements Set<E>, Serializable
       return false;
    }
    
+   // Needed to provide set hashCode semantics, so that equal sets with their
+   // elements in a different order have the same hash code
    @Override
    public int hashCode()
    {
-      return elements.hashCode();
+      int hashCode = 0;
+      for (E element : elements)
+      {
+         if (element != null)
+         {
+            hashCode += element.hashCode();
+         }
+      }
+      return hashCode;
    }
 
    @Override
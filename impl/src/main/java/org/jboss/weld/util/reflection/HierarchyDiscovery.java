@@ -22,21 +22,21 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.security.AccessControlException;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
 import org.jboss.weld.util.collections.ArraySet;
 import org.slf4j.ext.XLogger.Level;
 
-import com.google.common.collect.BiMap;
-import com.google.common.collect.HashBiMap;
-
 public class HierarchyDiscovery
 {
 
    private final Type type;
 
-   private BiMap<Type, Class<?>> types;
+   // Each class in the hierarchy maps to a single type, so a plain map
+   // suffices, without the inverse a BiMap would also hold
+   private Map<Class<?>, Type> types;
 
    public HierarchyDiscovery(Type type)
    {
@@ -45,7 +45,7 @@ public class HierarchyDiscovery
 
    protected void add(Class<?> clazz, Type type)
    {
-      types.forcePut(type, clazz);
+      types.put(clazz, type);
    }
 
    public Set<Type> getTypeClosure()
@@ -55,7 +55,7 @@ public class HierarchyDiscovery
          init();
       }
       // Return an independent set with no ties to the BiMap used
-      return new ArraySet<Type>(types.keySet()).trimToSize();
+      return new ArraySet<Type>(types.values()).trimToSize();
    }
 
    public Map<Class<?>, Type> getTypeMap()
@@ -64,12 +64,12 @@ public class HierarchyDiscovery
       {
          init();
       }
-      return types.inverse();
+      return types;
    }
 
    private void init()
    {
-      this.types = HashBiMap.create();
+      this.types = new HashMap<Class<?>, Type>();
       try
       {
          discoverTypes(type);
@@ -146,7 +146,10 @@ public class HierarchyDiscovery
       catch (AccessControlException e)
       {
          // TODO Hmm, is this a hack?
-         Reflections.log.trace(SECURITY_EXCEPTION_SCANNING, clazz);
+         if (Reflections.log.isTraceEnabled())
+         {
+            Reflections.log.trace(SECURITY_EXCEPTION_SCANNING, clazz);
+         }
          Reflections.xLog.throwing(Level.TRACE, e);
       }
    }
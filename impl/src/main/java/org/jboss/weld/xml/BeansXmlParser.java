@@ -54,9 +54,24 @@ public class BeansXmlParser
    private static final InputSource[] EMPTY_INPUT_SOURCE_ARRAY = new InputSource[0];
 
    public BeansXml parse(final URL beansXml)
+   {
+      return parse(beansXml, true);
+   }
+
+   /**
+    * Parse a beans.xml file, optionally skipping schema validation. Validation
+    * may be skipped if the file is known to have been validated already, for
+    * example because it is in an archive which hasn't changed since it was
+    * last deployed.
+    * 
+    * @param beansXml the beans.xml file
+    * @param validate whether to validate the file against the schema
+    * @return the beans.xml metadata
+    */
+   public BeansXml parse(final URL beansXml, boolean validate)
    {
       SAXParserFactory factory = SAXParserFactory.newInstance();
-      factory.setValidating(true);
+      factory.setValidating(validate);
       factory.setNamespaceAware(true);
       if (beansXml == null)
       {
@@ -87,14 +102,17 @@ public class BeansXmlParser
          }
          BeansXmlHandler handler = new BeansXmlHandler(beansXml);
          
-         try
+         if (validate)
          {
-            parser.setProperty("http://java.sun.com/xml/jaxp/properties/schemaLanguage", "http://www.w3.org/2001/XMLSchema");
-            parser.setProperty("http://java.sun.com/xml/jaxp/properties/schemaSource", loadXsds());
-         }
-         catch (IllegalArgumentException e)
-         {
-            // No op, we just don't validate the XML
+            try
+            {
+               parser.setProperty("http://java.sun.com/xml/jaxp/properties/schemaLanguage", "http://www.w3.org/2001/XMLSchema");
+               parser.setProperty("http://java.sun.com/xml/jaxp/properties/schemaSource", loadXsds());
+            }
+            catch (IllegalArgumentException e)
+            {
+               // No op, we just don't validate the XML
+            }
          }
          
          parser.parse(source, handler);
@@ -126,6 +144,16 @@ public class BeansXmlParser
    }
 
    public BeansXml parse(Iterable<URL> urls)
+   {
+      return parse(urls, true);
+   }
+
+   /**
+    * Parse and merge beans.xml files, optionally skipping schema validation
+    * 
+    * @see #parse(URL, boolean)
+    */
+   public BeansXml parse(Iterable<URL> urls, boolean validate)
    {
       List<Metadata<String>> alternativeStereotypes = new ArrayList<Metadata<String>>();
       List<Metadata<String>> alternativeClasses = new ArrayList<Metadata<String>>();
@@ -135,7 +163,7 @@ public class BeansXmlParser
       List<Metadata<Filter>> excludes = new ArrayList<Metadata<Filter>>();
       for (URL url : urls)
       {
-         BeansXml beansXml = parse(url);
+         BeansXml beansXml = parse(url, validate);
          alternativeStereotypes.addAll(beansXml.getEnabledAlternativeStereotypes());
          alternativeClasses.addAll(beansXml.getEnabledAlternativeClasses());
          decorators.addAll(beansXml.getEnabledDecorators());
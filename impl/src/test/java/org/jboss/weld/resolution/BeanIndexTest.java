@@ -0,0 +1,249 @@
+package org.jboss.weld.resolution;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.enterprise.context.Dependent;
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.InjectionPoint;
+import javax.enterprise.util.AnnotationLiteral;
+import javax.inject.Qualifier;
+
+import org.jboss.weld.literal.AnyLiteral;
+import org.jboss.weld.literal.DefaultLiteral;
+import org.jboss.weld.literal.NamedLiteral;
+import org.jboss.weld.util.reflection.ParameterizedTypeImpl;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Lives in the resolution package, as the index is package private
+ */
+public class BeanIndexTest
+{
+
+   @Retention(RUNTIME)
+   @Qualifier
+   private @interface Unused
+   {
+
+   }
+
+   private static final Annotation UNUSED = new AnnotationLiteral<Unused>()
+   {
+   };
+
+   private static class Box<T>
+   {
+
+   }
+
+   private static class SimpleBean implements Bean<Object>
+   {
+
+      private final Set<Type> types;
+      private final Set<Annotation> qualifiers;
+
+      private SimpleBean(Type[] types, Annotation... qualifiers)
+      {
+         this.types = new HashSet<Type>(Arrays.asList(types));
+         this.qualifiers = new HashSet<Annotation>(Arrays.asList(qualifiers));
+      }
+
+      public Set<Type> getTypes()
+      {
+         return types;
+      }
+
+      public Set<Annotation> getQualifiers()
+      {
+         return qualifiers;
+      }
+
+      public Class<? extends Annotation> getScope()
+      {
+         return Dependent.class;
+      }
+
+      public String getName()
+      {
+         return null;
+      }
+
+      public Set<Class<? extends Annotation>> getStereotypes()
+      {
+         return Collections.emptySet();
+      }
+
+      public Class<?> getBeanClass()
+      {
+         return Object.class;
+      }
+
+      public boolean isAlternative()
+      {
+         return false;
+      }
+
+      public boolean isNullable()
+      {
+         return false;
+      }
+
+      public Set<InjectionPoint> getInjectionPoints()
+      {
+         return Collections.emptySet();
+      }
+
+      public Object create(CreationalContext<Object> creationalContext)
+      {
+         return null;
+      }
+
+      public void destroy(Object instance, CreationalContext<Object> creationalContext)
+      {
+      }
+
+   }
+
+   private static class SimpleResolvable implements Resolvable
+   {
+
+      private final Set<Type> types;
+      private final Set<Annotation> qualifiers;
+
+      private SimpleResolvable(Type type, Annotation... qualifiers)
+      {
+         this.types = Collections.singleton(type);
+         this.qualifiers = new HashSet<Annotation>(Arrays.asList(qualifiers));
+      }
+
+      public Set<Annotation> getQualifiers()
+      {
+         return qualifiers;
+      }
+
+      public boolean isAnnotationPresent(Class<? extends Annotation> annotationType)
+      {
+         return getAnnotation(annotationType) != null;
+      }
+
+      public <A extends Annotation> A getAnnotation(Class<A> annotationType)
+      {
+         for (Annotation qualifier : qualifiers)
+         {
+            if (qualifier.annotationType().equals(annotationType))
+            {
+               return annotationType.cast(qualifier);
+            }
+         }
+         return null;
+      }
+
+      public boolean isAssignableTo(Class<?> clazz)
+      {
+         return false;
+      }
+
+      public Set<Type> getTypes()
+      {
+         return types;
+      }
+
+      public Class<?> getJavaClass()
+      {
+         return null;
+      }
+
+      public Bean<?> getDeclaringBean()
+      {
+         return null;
+      }
+
+   }
+
+   private static final Type LIST_OF_STRINGS = new ParameterizedTypeImpl(List.class, new Type[] { String.class }, null);
+   private static final Type LIST_OF_INTEGERS = new ParameterizedTypeImpl(List.class, new Type[] { Integer.class }, null);
+
+   private final SimpleBean stringBean = new SimpleBean(new Type[] { String.class, Object.class }, DefaultLiteral.INSTANCE, AnyLiteral.INSTANCE);
+   private final SimpleBean integerBean = new SimpleBean(new Type[] { Integer.class, Object.class }, new NamedLiteral("integer"), AnyLiteral.INSTANCE);
+   private final SimpleBean listBean = new SimpleBean(new Type[] { LIST_OF_STRINGS, Object.class }, new NamedLiteral("list"), AnyLiteral.INSTANCE);
+   private final SimpleBean boxBean = new SimpleBean(new Type[] { Box.class.getTypeParameters()[0] }, AnyLiteral.INSTANCE);
+
+   private static Set<Bean<?>> candidates(BeanIndex<Bean<?>> index, Resolvable resolvable)
+   {
+      List<Bean<?>> candidates = Lists.newArrayList(index.getCandidates(resolvable));
+      Set<Bean<?>> uniqueCandidates = new HashSet<Bean<?>>(candidates);
+      assertEquals("A candidate was returned twice", candidates.size(), uniqueCandidates.size());
+      return uniqueCandidates;
+   }
+
+   private static Set<Bean<?>> beans(Bean<?>... beans)
+   {
+      return new HashSet<Bean<?>>(Arrays.asList(beans));
+   }
+
+   private BeanIndex<Bean<?>> createIndex()
+   {
+      return new BeanIndex<Bean<?>>(Arrays.<Bean<?>>asList(stringBean, integerBean, listBean));
+   }
+
+   @Test
+   public void testLookupByRawType()
+   {
+      BeanIndex<Bean<?>> index = createIndex();
+      assertEquals(beans(stringBean), candidates(index, new SimpleResolvable(String.class)));
+      assertEquals(beans(integerBean), candidates(index, new SimpleResolvable(Integer.class)));
+      // Only the raw type is indexed, the type arguments are checked later
+      assertEquals(beans(listBean), candidates(index, new SimpleResolvable(LIST_OF_INTEGERS)));
+      assertTrue(candidates(index, new SimpleResolvable(Long.class)).isEmpty());
+   }
+
+   @Test
+   public void testPrimitiveLookupUsesBoxedType()
+   {
+      assertEquals(beans(integerBean), candidates(createIndex(), new SimpleResolvable(int.class)));
+   }
+
+   @Test
+   public void testLookupByQualifierType()
+   {
+      BeanIndex<Bean<?>> index = createIndex();
+      // Only the annotation type is indexed, the members are checked later
+      assertEquals(beans(integerBean, listBean), candidates(index, new SimpleResolvable(Object.class, new NamedLiteral("foo"))));
+      // No bean declares the qualifier, so nothing can match
+      assertTrue(candidates(index, new SimpleResolvable(Object.class, AnyLiteral.INSTANCE, UNUSED)).isEmpty());
+   }
+
+   @Test
+   public void testSmallestCandidateListChosen()
+   {
+      BeanIndex<Bean<?>> index = createIndex();
+      // Every bean has the type Object, but only one is @Default
+      assertEquals(beans(stringBean), candidates(index, new SimpleResolvable(Object.class, DefaultLiteral.INSTANCE)));
+      // No lookup narrows the candidates, so all beans are returned
+      assertEquals(beans(stringBean, integerBean, listBean), candidates(index, new SimpleResolvable(Object.class, AnyLiteral.INSTANCE)));
+      assertEquals(3, index.getAllBeans().size());
+   }
+
+   @Test
+   public void testBeansWithUnboundedTypesAlwaysCandidates()
+   {
+      BeanIndex<Bean<?>> index = new BeanIndex<Bean<?>>(Arrays.<Bean<?>>asList(stringBean, integerBean, listBean, boxBean));
+      assertEquals(beans(stringBean, boxBean), candidates(index, new SimpleResolvable(String.class)));
+      assertEquals(beans(boxBean), candidates(index, new SimpleResolvable(Long.class)));
+   }
+
+}
@@ -0,0 +1,126 @@
+package org.jboss.weld.tests.unit.bootstrap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.jboss.weld.bootstrap.DeploymentExecutor;
+import org.junit.Test;
+
+import com.google.common.base.Function;
+
+public class DeploymentExecutorTest
+{
+
+   private static final Function<Integer, Integer> SQUARE = new Function<Integer, Integer>()
+   {
+
+      public Integer apply(Integer from)
+      {
+         return from * from;
+      }
+
+   };
+
+   private static List<Integer> range(int size)
+   {
+      List<Integer> range = new ArrayList<Integer>(size);
+      for (int i = 0; i < size; i++)
+      {
+         range.add(i);
+      }
+      return range;
+   }
+
+   @Test
+   public void testResultsInOrder()
+   {
+      for (int concurrency : new int[] { 1, 4 })
+      {
+         DeploymentExecutor executor = new DeploymentExecutor(concurrency);
+         try
+         {
+            List<Integer> squares = executor.transform(range(1000), SQUARE);
+            assertEquals(1000, squares.size());
+            for (int i = 0; i < 1000; i++)
+            {
+               assertEquals(Integer.valueOf(i * i), squares.get(i));
+            }
+            assertEquals(0, executor.transform(new ArrayList<Integer>(), SQUARE).size());
+         }
+         finally
+         {
+            executor.cleanup();
+         }
+      }
+   }
+
+   @Test
+   public void testFirstFailureThrown()
+   {
+      DeploymentExecutor executor = new DeploymentExecutor(4);
+      try
+      {
+         List<Callable<Integer>> tasks = new ArrayList<Callable<Integer>>();
+         for (int i = 0; i < 10; i++)
+         {
+            final int task = i;
+            tasks.add(new Callable<Integer>()
+            {
+
+               public Integer call() throws Exception
+               {
+                  if (task >= 5)
+                  {
+                     throw new IllegalArgumentException(String.valueOf(task));
+                  }
+                  return task;
+               }
+
+            });
+         }
+         executor.invokeAll(tasks);
+         fail();
+      }
+      catch (IllegalArgumentException e)
+      {
+         assertEquals("5", e.getMessage());
+      }
+      finally
+      {
+         executor.cleanup();
+      }
+   }
+
+   @Test
+   public void testNestedUse()
+   {
+      final DeploymentExecutor executor = new DeploymentExecutor(2);
+      try
+      {
+         List<Integer> sums = executor.transform(range(8), new Function<Integer, Integer>()
+         {
+
+            public Integer apply(Integer from)
+            {
+               int sum = 0;
+               for (Integer square : executor.transform(range(from), SQUARE))
+               {
+                  sum += square;
+               }
+               return sum;
+            }
+
+         });
+         assertEquals(Integer.valueOf(0 + 1 + 4 + 9 + 16 + 25 + 36), sums.get(7));
+      }
+      finally
+      {
+         executor.cleanup();
+      }
+   }
+
+}
@@ -0,0 +1,131 @@
+package org.jboss.weld.tests.unit.bootstrap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.jboss.weld.bootstrap.DiscoveryIndex;
+import org.junit.Test;
+
+public class DiscoveryIndexTest
+{
+
+   private static File createTemporaryDirectory(String name) throws IOException
+   {
+      File directory = File.createTempFile(name, "");
+      directory.delete();
+      directory.mkdirs();
+      directory.deleteOnExit();
+      return directory;
+   }
+
+   private static void write(File file, String content) throws IOException
+   {
+      FileWriter writer = new FileWriter(file);
+      try
+      {
+         writer.write(content);
+      }
+      finally
+      {
+         writer.close();
+      }
+      file.deleteOnExit();
+   }
+
+   @Test
+   public void testIndexReusedUntilArchiveChanges() throws IOException
+   {
+      File archive = createTemporaryDirectory("archive");
+      File beansXml = new File(archive, "beans.xml");
+      write(beansXml, "");
+      DiscoveryIndex index = new DiscoveryIndex(createTemporaryDirectory("index"));
+
+      assertNull(index.load(archive, "all"));
+      String fingerprint = DiscoveryIndex.fingerprint(archive);
+      index.store(archive, new DiscoveryIndex.Entry(archive.getAbsolutePath(), fingerprint, "all", Arrays.asList("com.acme.Foo", "com.acme.Bar"), Collections.singletonList(beansXml.toURI().toURL()), 0));
+
+      DiscoveryIndex.Entry entry = index.load(archive, "all");
+      assertNotNull(entry);
+      assertEquals(Arrays.asList("com.acme.Foo", "com.acme.Bar"), entry.getClasses());
+      assertEquals(Collections.singletonList(beansXml.toURI().toURL()), entry.getBeansXmlUrls());
+
+      // The index is specific to the variant
+      assertNull(index.load(archive, "annotated"));
+      assertNull(index.load(archive, null));
+
+      // Adding a file makes the index stale
+      write(new File(archive, "Baz.class"), "");
+      assertNull(index.load(archive, "all"));
+   }
+
+   @Test
+   public void testConcurrentStoresLeaveOneCompleteIndex() throws Exception
+   {
+      final File archive = createTemporaryDirectory("archive");
+      write(new File(archive, "beans.xml"), "");
+      File directory = createTemporaryDirectory("index");
+      final String fingerprint = DiscoveryIndex.fingerprint(archive);
+      final List<String> classes = new ArrayList<String>();
+      for (int i = 0; i < 1000; i++)
+      {
+         classes.add("com.acme.Foo" + i);
+      }
+      // Each writer has its own index, as each process starting would
+      int writers = 8;
+      final CountDownLatch start = new CountDownLatch(1);
+      ExecutorService executor = Executors.newFixedThreadPool(writers);
+      try
+      {
+         List<Future<Void>> futures = new ArrayList<Future<Void>>();
+         for (int i = 0; i < writers; i++)
+         {
+            final DiscoveryIndex index = new DiscoveryIndex(directory);
+            futures.add(executor.submit(new Callable<Void>()
+            {
+
+               public Void call() throws Exception
+               {
+                  start.await();
+                  index.store(archive, new DiscoveryIndex.Entry(archive.getAbsolutePath(), fingerprint, null, classes, Collections.singletonList(new File(archive, "beans.xml").toURI().toURL()), 0));
+                  return null;
+               }
+
+            }));
+         }
+         start.countDown();
+         for (Future<Void> future : futures)
+         {
+            future.get();
+         }
+      }
+      finally
+      {
+         executor.shutdown();
+      }
+      File[] files = directory.listFiles();
+      for (File file : files)
+      {
+         file.deleteOnExit();
+      }
+      // No temporary files are left behind
+      assertEquals(1, files.length);
+      DiscoveryIndex.Entry entry = new DiscoveryIndex(directory).load(archive, null);
+      assertNotNull(entry);
+      assertEquals(classes, entry.getClasses());
+   }
+
+}
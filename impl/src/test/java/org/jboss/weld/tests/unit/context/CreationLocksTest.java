@@ -0,0 +1,93 @@
+package org.jboss.weld.tests.unit.context;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.weld.context.CreationLocks;
+import org.jboss.weld.context.CreationLocks.CreationLock;
+import org.junit.Test;
+
+public class CreationLocksTest
+{
+
+   @Test
+   public void testLockIsReentrantAndRemovedOnRelease()
+   {
+      CreationLocks locks = new CreationLocks();
+      CreationLock outer = locks.lock("foo");
+      CreationLock inner = locks.lock("foo");
+      assertSame(outer, inner);
+      assertEquals(2, inner.getHoldCount());
+      assertEquals(1, locks.getActiveLocks());
+      locks.unlock(inner);
+      locks.unlock(outer);
+      assertEquals(0, locks.getActiveLocks());
+      assertEquals(2, locks.getAcquisitions());
+      assertEquals(0, locks.getContendedAcquisitions());
+      assertNotSame(outer, locks.lock("foo"));
+   }
+
+   @Test
+   public void testDifferentIdsDoNotBlock() throws InterruptedException
+   {
+      final CreationLocks locks = new CreationLocks();
+      CreationLock foo = locks.lock("foo");
+      final CountDownLatch acquired = new CountDownLatch(1);
+      new Thread(new Runnable()
+      {
+         public void run()
+         {
+            CreationLock bar = locks.lock("bar");
+            try
+            {
+               acquired.countDown();
+            }
+            finally
+            {
+               locks.unlock(bar);
+            }
+         }
+      }).start();
+      assertTrue(acquired.await(10, TimeUnit.SECONDS));
+      locks.unlock(foo);
+      assertEquals(0, locks.getContendedAcquisitions());
+   }
+
+   @Test
+   public void testSameIdIsSerialized() throws InterruptedException
+   {
+      final CreationLocks locks = new CreationLocks();
+      CreationLock foo = locks.lock("foo");
+      final CountDownLatch acquired = new CountDownLatch(1);
+      Thread thread = new Thread(new Runnable()
+      {
+         public void run()
+         {
+            CreationLock other = locks.lock("foo");
+            try
+            {
+               acquired.countDown();
+            }
+            finally
+            {
+               locks.unlock(other);
+            }
+         }
+      });
+      thread.start();
+      assertFalse(acquired.await(100, TimeUnit.MILLISECONDS));
+      locks.unlock(foo);
+      assertTrue(acquired.await(10, TimeUnit.SECONDS));
+      thread.join();
+      assertEquals(1, locks.getContendedAcquisitions());
+      assertEquals(0, locks.getActiveLocks());
+      assertTrue(locks.getHoldTime() > 0);
+   }
+
+}
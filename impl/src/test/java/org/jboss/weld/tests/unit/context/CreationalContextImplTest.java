@@ -0,0 +1,116 @@
+package org.jboss.weld.tests.unit.context;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.context.spi.CreationalContext;
+
+import org.jboss.weld.context.CreationalContextImpl;
+import org.jboss.weld.context.WeldCreationalContext;
+import org.jboss.weld.context.api.ContextualInstance;
+import org.junit.Test;
+
+public class CreationalContextImplTest
+{
+
+   private static class Foo implements Contextual<Object>
+   {
+
+      private final List<Object> destroyed = new ArrayList<Object>();
+
+      public Object create(CreationalContext<Object> creationalContext)
+      {
+         return new Object();
+      }
+
+      public void destroy(Object instance, CreationalContext<Object> creationalContext)
+      {
+         destroyed.add(instance);
+      }
+
+   }
+
+   private static class Instance implements ContextualInstance<Object>
+   {
+
+      private final Contextual<Object> contextual;
+      private final Object instance;
+      private final CreationalContext<Object> creationalContext;
+
+      private Instance(Contextual<Object> contextual, Object instance, CreationalContext<Object> creationalContext)
+      {
+         this.contextual = contextual;
+         this.instance = instance;
+         this.creationalContext = creationalContext;
+      }
+
+      public Object getInstance()
+      {
+         return instance;
+      }
+
+      public CreationalContext<Object> getCreationalContext()
+      {
+         return creationalContext;
+      }
+
+      public Contextual<Object> getContextual()
+      {
+         return contextual;
+      }
+
+   }
+
+   @Test
+   public void testChildSeesIncompleteInstancesPushedBeforeCreation()
+   {
+      Foo parentBean = new Foo();
+      Foo childBean = new Foo();
+      Object parentInstance = new Object();
+      CreationalContextImpl<Object> parent = new CreationalContextImpl<Object>(parentBean);
+      WeldCreationalContext<Object> before = parent.getCreationalContext(childBean);
+      parent.push(parentInstance);
+      WeldCreationalContext<Object> after = parent.getCreationalContext(childBean);
+      assertFalse(before.containsIncompleteInstance(parentBean));
+      assertTrue(after.containsIncompleteInstance(parentBean));
+      assertSame(parentInstance, after.getIncompleteInstance(parentBean));
+      assertSame(parentInstance, after.getCreationalContext(new Foo()).getIncompleteInstance(parentBean));
+   }
+
+   @Test
+   public void testPushOnlyVisibleToPushingContextAndDescendants()
+   {
+      Foo parentBean = new Foo();
+      Foo childBean = new Foo();
+      Object childInstance = new Object();
+      CreationalContextImpl<Object> parent = new CreationalContextImpl<Object>(parentBean);
+      WeldCreationalContext<Object> child = parent.getCreationalContext(childBean);
+      child.push(childInstance);
+      assertFalse(parent.containsIncompleteInstance(childBean));
+      assertSame(childInstance, child.getIncompleteInstance(childBean));
+      assertNull(parent.getCreationalContext(new Foo()).getIncompleteInstance(childBean));
+   }
+
+   @Test
+   public void testReleaseDestroysDependentInstances()
+   {
+      Foo parentBean = new Foo();
+      Foo dependentBean = new Foo();
+      CreationalContextImpl<Object> parent = new CreationalContextImpl<Object>(parentBean);
+      for (int i = 0; i < 3; i++)
+      {
+         WeldCreationalContext<Object> child = parent.getCreationalContext(dependentBean);
+         child.addDependentInstance(new Instance(dependentBean, new Object(), child));
+      }
+      parent.release();
+      assertEquals(3, dependentBean.destroyed.size());
+   }
+
+}
@@ -0,0 +1,219 @@
+package org.jboss.weld.tests.unit.context;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.spi.Bean;
+import javax.servlet.http.HttpSession;
+
+import org.jboss.weld.context.api.ContextualInstance;
+import org.jboss.weld.context.beanstore.SimpleNamingScheme;
+import org.jboss.weld.context.beanstore.http.SingleAttributeSessionBeanStore;
+import org.jboss.weld.context.http.MutableState;
+import org.junit.Test;
+
+public class SingleAttributeSessionBeanStoreTest
+{
+
+   private static class Session implements InvocationHandler
+   {
+
+      private final Map<String, Object> attributes = new HashMap<String, Object>();
+      private int setAttributeCount;
+
+      public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+      {
+         if (method.getName().equals("getAttribute"))
+         {
+            return attributes.get(args[0]);
+         }
+         else if (method.getName().equals("setAttribute"))
+         {
+            setAttributeCount++;
+            return attributes.put((String) args[0], args[1]);
+         }
+         else if (method.getName().equals("removeAttribute"))
+         {
+            return attributes.remove(args[0]);
+         }
+         else if (method.getName().equals("getId"))
+         {
+            return "session";
+         }
+         throw new UnsupportedOperationException(method.getName());
+      }
+
+      private HttpSession getSession()
+      {
+         return (HttpSession) Proxy.newProxyInstance(HttpSession.class.getClassLoader(), new Class<?>[] { HttpSession.class }, this);
+      }
+
+   }
+
+   @MutableState
+   private static class Cart
+   {
+
+   }
+
+   private static class Instance implements ContextualInstance<String>
+   {
+
+      private final String instance;
+      private final Contextual<String> contextual;
+
+      private Instance(String instance)
+      {
+         this(instance, null);
+      }
+
+      private Instance(String instance, Contextual<String> contextual)
+      {
+         this.instance = instance;
+         this.contextual = contextual;
+      }
+
+      public String getInstance()
+      {
+         return instance;
+      }
+
+      public CreationalContext<String> getCreationalContext()
+      {
+         return null;
+      }
+
+      public Contextual<String> getContextual()
+      {
+         return contextual;
+      }
+
+   }
+
+   @SuppressWarnings("unchecked")
+   private static Bean<String> createBean(final Class<?> beanClass)
+   {
+      return (Bean<String>) Proxy.newProxyInstance(Bean.class.getClassLoader(), new Class<?>[] { Bean.class }, new InvocationHandler()
+      {
+
+         public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+         {
+            if (method.getName().equals("getBeanClass"))
+            {
+               return beanClass;
+            }
+            else if (method.getName().equals("toString"))
+            {
+               return beanClass.getName();
+            }
+            throw new UnsupportedOperationException(method.getName());
+         }
+
+      });
+   }
+
+   private static SingleAttributeSessionBeanStore createBeanStore(Session session)
+   {
+      return new SingleAttributeSessionBeanStore(new SimpleNamingScheme("test"), session.getSession());
+   }
+
+   @Test
+   public void testInstancesKeptInOneAttribute()
+   {
+      Session session = new Session();
+      SingleAttributeSessionBeanStore beanStore = createBeanStore(session);
+      beanStore.attach();
+      beanStore.put("foo", new Instance("foo"));
+      beanStore.put("bar", new Instance("bar"));
+      beanStore.detach();
+      assertEquals(1, session.attributes.size());
+
+      SingleAttributeSessionBeanStore nextRequest = createBeanStore(session);
+      nextRequest.attach();
+      assertEquals("foo", nextRequest.<String>get("foo").getInstance());
+      assertEquals("bar", nextRequest.<String>get("bar").getInstance());
+   }
+
+   @Test
+   public void testAttributeOnlySetWhenDirty()
+   {
+      Session session = new Session();
+      SingleAttributeSessionBeanStore beanStore = createBeanStore(session);
+      beanStore.attach();
+      beanStore.put("foo", new Instance("foo"));
+      beanStore.detach();
+      int setAttributeCount = session.setAttributeCount;
+
+      // Reading instances doesn't cause the attribute to be set again
+      SingleAttributeSessionBeanStore nextRequest = createBeanStore(session);
+      nextRequest.attach();
+      assertNotNull(nextRequest.get("foo"));
+      assertFalse(nextRequest.isDirty());
+      nextRequest.detach();
+      assertEquals(setAttributeCount, session.setAttributeCount);
+
+      // Adding an instance does
+      nextRequest = createBeanStore(session);
+      nextRequest.attach();
+      nextRequest.put("bar", new Instance("bar"));
+      assertTrue(nextRequest.isDirty());
+      nextRequest.detach();
+      assertEquals(setAttributeCount + 1, session.setAttributeCount);
+   }
+
+   @Test
+   public void testDetachedStateMergedOnAttach()
+   {
+      Session session = new Session();
+      SingleAttributeSessionBeanStore beanStore = createBeanStore(session);
+      beanStore.attach();
+      beanStore.put("foo", new Instance("foo"));
+      beanStore.detach();
+
+      // Modifications whilst detached aren't seen by the session...
+      beanStore.put("bar", new Instance("bar"));
+      SingleAttributeSessionBeanStore otherRequest = createBeanStore(session);
+      otherRequest.attach();
+      assertNull(otherRequest.get("bar"));
+
+      // ... until the bean store is reattached
+      beanStore.attach();
+      assertNotNull(otherRequest.get("bar"));
+      beanStore.clear();
+      assertTrue(session.attributes.isEmpty());
+   }
+
+   @Test
+   public void testUsingMutableStateMakesDirty()
+   {
+      Session session = new Session();
+      SingleAttributeSessionBeanStore beanStore = createBeanStore(session);
+      beanStore.attach();
+      beanStore.put("foo", new Instance("foo", createBean(String.class)));
+      beanStore.put("cart", new Instance("cart", createBean(Cart.class)));
+      beanStore.detach();
+
+      for (int i = 0; i < 2; i++)
+      {
+         SingleAttributeSessionBeanStore nextRequest = createBeanStore(session);
+         nextRequest.attach();
+         assertNotNull(nextRequest.get("foo"));
+         assertFalse(nextRequest.isDirty());
+         assertNotNull(nextRequest.get("cart"));
+         assertTrue(nextRequest.isDirty());
+         nextRequest.detach();
+      }
+   }
+
+}
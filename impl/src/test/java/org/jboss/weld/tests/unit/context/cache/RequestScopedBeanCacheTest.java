@@ -0,0 +1,94 @@
+package org.jboss.weld.tests.unit.context.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.jboss.weld.context.cache.RequestScopedBeanCache;
+import org.junit.After;
+import org.junit.Test;
+
+public class RequestScopedBeanCacheTest
+{
+
+   @After
+   public void after()
+   {
+      while (RequestScopedBeanCache.isActive())
+      {
+         RequestScopedBeanCache.endRequest();
+      }
+   }
+
+   @Test
+   public void testItemsNotAddedOutsideRequest()
+   {
+      assertFalse(RequestScopedBeanCache.isActive());
+      ThreadLocal<String> item = new ThreadLocal<String>();
+      assertFalse(RequestScopedBeanCache.addItemIfActive(item));
+   }
+
+   @Test
+   public void testItemsRemovedAtEndOfRequest()
+   {
+      RequestScopedBeanCache.beginRequest();
+      assertTrue(RequestScopedBeanCache.isActive());
+      ThreadLocal<String> item = new ThreadLocal<String>();
+      assertTrue(RequestScopedBeanCache.addItemIfActive(item));
+      item.set("foo");
+      assertEquals("foo", item.get());
+      RequestScopedBeanCache.endRequest();
+      assertFalse(RequestScopedBeanCache.isActive());
+      assertNull(item.get());
+   }
+
+   @Test
+   public void testNestedRequestKeepsItemsSeparate()
+   {
+      RequestScopedBeanCache.beginRequest();
+      ThreadLocal<String> item = new ThreadLocal<String>();
+      assertTrue(RequestScopedBeanCache.addItemIfActive(item));
+      item.set("outer");
+      // The nested request may use another bean store, so mustn't see the
+      // instances memoized for the outer one
+      RequestScopedBeanCache.beginRequest();
+      assertTrue(RequestScopedBeanCache.isActive());
+      assertNull(item.get());
+      assertTrue(RequestScopedBeanCache.addItemIfActive(item));
+      item.set("inner");
+      RequestScopedBeanCache.endRequest();
+      // Nor must the outer request see the instances of the nested one
+      assertTrue(RequestScopedBeanCache.isActive());
+      assertNull(item.get());
+      RequestScopedBeanCache.endRequest();
+      assertFalse(RequestScopedBeanCache.isActive());
+   }
+
+   @Test
+   public void testMissedEndDoesNotLeakIntoNextRequest()
+   {
+      RequestScopedBeanCache.beginRequest();
+      ThreadLocal<String> item = new ThreadLocal<String>();
+      assertTrue(RequestScopedBeanCache.addItemIfActive(item));
+      item.set("foo");
+      // The request ends without ending the cache, and the thread is reused
+      RequestScopedBeanCache.beginRequest();
+      assertNull(item.get());
+   }
+
+   @Test
+   public void testInvalidateKeepsCacheActive()
+   {
+      RequestScopedBeanCache.beginRequest();
+      ThreadLocal<String> item = new ThreadLocal<String>();
+      assertTrue(RequestScopedBeanCache.addItemIfActive(item));
+      item.set("foo");
+      RequestScopedBeanCache.invalidate();
+      assertTrue(RequestScopedBeanCache.isActive());
+      assertNull(item.get());
+      RequestScopedBeanCache.endRequest();
+      assertFalse(RequestScopedBeanCache.isActive());
+   }
+
+}
@@ -0,0 +1,65 @@
+package org.jboss.weld.tests.unit.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+import org.jboss.weld.event.EventDispatchCounters;
+import org.jboss.weld.util.reflection.ParameterizedTypeImpl;
+import org.junit.Test;
+
+public class EventDispatchCountersTest
+{
+
+   @Test
+   public void testDisabledCountersCountNothing()
+   {
+      EventDispatchCounters counters = new EventDispatchCounters(false);
+      assertFalse(counters.isEnabled());
+      assertNull(counters.getCounter(String.class));
+      counters.recordDispatch(String.class);
+      counters.recordValidation();
+      assertEquals(0, counters.getDispatchCount(String.class));
+      assertEquals(0, counters.getValidationCount());
+      assertEquals(0, counters.getDispatchCounts().size());
+   }
+
+   @Test
+   public void testParameterizedTypesCountedByRawClass()
+   {
+      EventDispatchCounters counters = new EventDispatchCounters(true);
+      // A new instance of the type for every event, as the container does
+      for (int i = 0; i < 3; i++)
+      {
+         counters.recordDispatch(new ParameterizedTypeImpl(List.class, new Type[] { String.class }, null));
+      }
+      counters.recordDispatch(new ParameterizedTypeImpl(List.class, new Type[] { Integer.class }, null));
+      assertSame(counters.getCounter(List.class), counters.getCounter(new ParameterizedTypeImpl(List.class, new Type[] { Long.class }, null)));
+      assertEquals(4, counters.getDispatchCount(List.class));
+      assertEquals(1, counters.getDispatchCounts().size());
+   }
+
+   @Test
+   public void testEventClassesBounded()
+   {
+      EventDispatchCounters counters = new EventDispatchCounters(true, 2);
+      counters.recordDispatch(String.class);
+      counters.recordDispatch(Integer.class);
+      counters.recordDispatch(Long.class);
+      counters.recordDispatch(Double.class);
+      counters.recordDispatch(String.class);
+      assertEquals(2, counters.getDispatchCounts().size());
+      assertEquals(2, counters.getDispatchCount(String.class));
+      assertEquals(1, counters.getDispatchCount(Integer.class));
+      assertEquals(0, counters.getDispatchCount(Long.class));
+      assertEquals(2, counters.getOtherDispatchCount());
+      counters.cleanup();
+      assertEquals(0, counters.getDispatchCounts().size());
+      assertEquals(0, counters.getOtherDispatchCount());
+   }
+
+}
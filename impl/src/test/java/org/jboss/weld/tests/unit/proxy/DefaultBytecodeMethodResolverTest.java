@@ -0,0 +1,93 @@
+package org.jboss.weld.tests.unit.proxy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import javassist.bytecode.AccessFlag;
+import javassist.bytecode.Bytecode;
+import javassist.bytecode.ClassFile;
+import javassist.bytecode.MethodInfo;
+import javassist.bytecode.Opcode;
+
+import org.jboss.weld.bean.proxy.DefaultBytecodeMethodResolver;
+import org.jboss.weld.util.bytecode.ClassFileUtils;
+import org.junit.Test;
+
+public class DefaultBytecodeMethodResolverTest
+{
+
+   public static class Foo
+   {
+
+      public String getName()
+      {
+         return "foo";
+      }
+
+      public void setName(String name, int index)
+      {
+      }
+
+   }
+
+   private static final String GENERATED_CLASS_NAME = DefaultBytecodeMethodResolverTest.class.getName() + "$$Lookup";
+
+   private static void addLookupMethod(ClassFile file, String lookupMethodName, String methodName, String[] parameterTypes) throws Exception
+   {
+      MethodInfo lookup = new MethodInfo(file.getConstPool(), lookupMethodName, "()Ljava/lang/reflect/Method;");
+      lookup.setAccessFlags(AccessFlag.PUBLIC | AccessFlag.STATIC);
+      Bytecode b = new Bytecode(file.getConstPool());
+      new DefaultBytecodeMethodResolver().getDeclaredMethod(file, b, Foo.class.getName(), methodName, parameterTypes);
+      b.add(Opcode.ARETURN);
+      b.setMaxLocals(0);
+      lookup.setCodeAttribute(b.toCodeAttribute());
+      file.addMethod(lookup);
+   }
+
+   private static Class<?> generateLookupClass() throws Exception
+   {
+      ClassFile file = new ClassFile(false, GENERATED_CLASS_NAME, Object.class.getName());
+      file.setAccessFlags(AccessFlag.PUBLIC);
+      addLookupMethod(file, "getName", "getName", new String[0]);
+      addLookupMethod(file, "setName", "setName", new String[] { "java.lang.String", "I" });
+      return ClassFileUtils.toClass(file, DefaultBytecodeMethodResolverTest.class.getClassLoader(), null);
+   }
+
+   @Test
+   public void testResolvedMethodsCachedInStaticFields() throws Exception
+   {
+      Class<?> lookupClass = generateLookupClass();
+
+      // every resolved method gets its own private static field
+      int methodFields = 0;
+      for (Field field : lookupClass.getDeclaredFields())
+      {
+         if (field.getName().startsWith(DefaultBytecodeMethodResolver.METHOD_FIELD_PREFIX))
+         {
+            assertTrue(Modifier.isPrivate(field.getModifiers()));
+            assertTrue(Modifier.isStatic(field.getModifiers()));
+            assertEquals(Method.class, field.getType());
+            methodFields++;
+         }
+      }
+      assertEquals(2, methodFields);
+
+      Method getName = (Method) lookupClass.getMethod("getName").invoke(null);
+      Method setName = (Method) lookupClass.getMethod("setName").invoke(null);
+      assertEquals(Foo.class.getDeclaredMethod("getName"), getName);
+      assertEquals(Foo.class.getDeclaredMethod("setName", String.class, int.class), setName);
+
+      // Class.getDeclaredMethod() returns a new copy each time, so the same
+      // instance means the method was only looked up once
+      assertSame(getName, lookupClass.getMethod("getName").invoke(null));
+      assertSame(setName, lookupClass.getMethod("setName").invoke(null));
+      assertNotSame(Foo.class.getDeclaredMethod("getName"), Foo.class.getDeclaredMethod("getName"));
+   }
+
+}
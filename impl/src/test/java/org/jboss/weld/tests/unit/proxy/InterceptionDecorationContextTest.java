@@ -0,0 +1,97 @@
+package org.jboss.weld.tests.unit.proxy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.EmptyStackException;
+
+import javassist.util.proxy.MethodHandler;
+
+import org.jboss.weld.bean.proxy.CombinedInterceptorAndDecoratorStackMethodHandler;
+import org.jboss.weld.bean.proxy.InterceptionDecorationContext;
+import org.junit.Test;
+
+public class InterceptionDecorationContextTest
+{
+
+   private static class SelfInvokingMethodHandler implements MethodHandler
+   {
+
+      private final CombinedInterceptorAndDecoratorStackMethodHandler handler;
+      private int depth;
+      private int invocations;
+
+      private SelfInvokingMethodHandler(CombinedInterceptorAndDecoratorStackMethodHandler handler)
+      {
+         this.handler = handler;
+      }
+
+      public Object invoke(Object self, Method thisMethod, Method proceed, Object[] args) throws Throwable
+      {
+         invocations++;
+         assertTrue(handler.isDisabledHandler());
+         if (depth < 3)
+         {
+            depth++;
+            // A new context, as created by a client proxy, allows the handler
+            // to intercept again
+            InterceptionDecorationContext.startInterceptorContext();
+            try
+            {
+               assertFalse(handler.isDisabledHandler());
+               handler.invoke(self, thisMethod, proceed, args);
+            }
+            finally
+            {
+               InterceptionDecorationContext.endInterceptorContext();
+            }
+            assertTrue(handler.isDisabledHandler());
+         }
+         return null;
+      }
+
+   }
+
+   @Test
+   public void testHandlerDisabledWithinContext() throws Throwable
+   {
+      CombinedInterceptorAndDecoratorStackMethodHandler handler = new CombinedInterceptorAndDecoratorStackMethodHandler();
+      SelfInvokingMethodHandler interceptor = new SelfInvokingMethodHandler(handler);
+      handler.setInterceptorMethodHandler(interceptor);
+      Method method = Object.class.getMethod("toString");
+      for (int i = 0; i < 100; i++)
+      {
+         interceptor.depth = 0;
+         assertTrue(InterceptionDecorationContext.empty());
+         assertFalse(handler.isDisabledHandler());
+         handler.invoke(new Object(), method, null, new Object[0]);
+      }
+      assertEquals(400, interceptor.invocations);
+      assertTrue(InterceptionDecorationContext.empty());
+   }
+
+   @Test
+   public void testNestedContexts()
+   {
+      assertTrue(InterceptionDecorationContext.empty());
+      for (int i = 0; i < 20; i++)
+      {
+         InterceptionDecorationContext.startInterceptorContext();
+         assertFalse(InterceptionDecorationContext.empty());
+      }
+      for (int i = 0; i < 20; i++)
+      {
+         InterceptionDecorationContext.endInterceptorContext();
+      }
+      assertTrue(InterceptionDecorationContext.empty());
+   }
+
+   @Test(expected = EmptyStackException.class)
+   public void testEndWithoutStart()
+   {
+      InterceptionDecorationContext.endInterceptorContext();
+   }
+
+}
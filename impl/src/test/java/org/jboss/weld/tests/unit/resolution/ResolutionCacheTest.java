@@ -0,0 +1,60 @@
+package org.jboss.weld.tests.unit.resolution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.weld.resolution.ResolutionCache;
+import org.junit.Test;
+
+import com.google.common.base.Function;
+
+public class ResolutionCacheTest
+{
+
+   private static class Length implements Function<String, Integer>
+   {
+
+      private final AtomicInteger invocations = new AtomicInteger();
+
+      public Integer apply(String from)
+      {
+         invocations.incrementAndGet();
+         return from.length();
+      }
+
+   }
+
+   @Test
+   public void testHitsAndMisses()
+   {
+      Length length = new Length();
+      ResolutionCache<String, Integer> cache = new ResolutionCache<String, Integer>(length, 0);
+      assertEquals(Integer.valueOf(3), cache.get("foo"));
+      assertEquals(Integer.valueOf(3), cache.get("foo"));
+      assertEquals(Integer.valueOf(6), cache.get("foobar"));
+      assertEquals(2, length.invocations.get());
+      assertEquals(1, cache.getHits());
+      assertEquals(2, cache.getMisses());
+      assertEquals(0, cache.getEvictions());
+      assertEquals(2, cache.size());
+   }
+
+   @Test
+   public void testBoundedCacheEvicts()
+   {
+      ResolutionCache<String, Integer> cache = new ResolutionCache<String, Integer>(new Length(), 10);
+      for (int i = 0; i < 100; i++)
+      {
+         cache.get("key" + i);
+         assertTrue(cache.size() <= 10);
+         // The most recently computed key is always retained
+         assertTrue(cache.containsKey("key" + i));
+      }
+      assertEquals(90, cache.getEvictions());
+      cache.clear();
+      assertEquals(0, cache.size());
+   }
+
+}
@@ -0,0 +1,44 @@
+package org.jboss.weld.tests.unit.resources;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Serializable;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.jboss.weld.resources.SharedObjectCache;
+import org.jboss.weld.util.collections.ArraySet;
+import org.junit.Test;
+
+public class SharedObjectCacheTest
+{
+
+   @Test
+   public void testEqualSetsShared()
+   {
+      SharedObjectCache cache = new SharedObjectCache();
+      Set<String> set = cache.getSharedSet(new ArraySet<String>(Arrays.asList("foo", "bar", "baz")));
+      assertSame(set, cache.getSharedSet(new ArraySet<String>(Arrays.asList("baz", "foo", "bar"))));
+      assertSame(set, cache.getSharedSet(new HashSet<String>(Arrays.asList("bar", "baz", "foo"))));
+      assertSame(cache.getSharedSet(Collections.<String>emptySet()), cache.getSharedSet(new HashSet<String>()));
+      assertSame(cache.getSharedMap(Collections.<String, String>emptyMap()), cache.getSharedMap(new HashMap<String, String>()));
+   }
+
+   @Test
+   public void testTypeClosuresShared()
+   {
+      SharedObjectCache cache = new SharedObjectCache();
+      Set<Type> typeClosure = cache.getTypeClosure(String.class);
+      assertTrue(typeClosure.containsAll(Arrays.<Type>asList(String.class, Object.class, Serializable.class, CharSequence.class)));
+      assertSame(typeClosure, cache.getTypeClosure(String.class));
+      cache.cleanup();
+      assertEquals(0, cache.size());
+   }
+
+}
@@ -0,0 +1,85 @@
+package org.jboss.weld.tests.unit.serialization;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.context.spi.CreationalContext;
+
+import org.jboss.weld.serialization.ContextualStoreImpl;
+import org.junit.Test;
+
+public class ContextualStoreImplTest
+{
+
+   private static class Foo implements Contextual<Object>
+   {
+
+      public Object create(CreationalContext<Object> creationalContext)
+      {
+         return new Object();
+      }
+
+      public void destroy(Object instance, CreationalContext<Object> creationalContext)
+      {
+      }
+
+   }
+
+   @Test
+   public void testGeneratedIdIsStableAndResolvable()
+   {
+      ContextualStoreImpl store = new ContextualStoreImpl();
+      Foo foo = new Foo();
+      Foo bar = new Foo();
+      String fooId = store.putIfAbsent(foo);
+      assertEquals(fooId, store.putIfAbsent(foo));
+      assertFalse(fooId.equals(store.putIfAbsent(bar)));
+      assertSame(foo, store.getContextual(fooId));
+   }
+
+   @Test
+   public void testConcurrentPutIfAbsentAgreesOnId() throws Exception
+   {
+      final ContextualStoreImpl store = new ContextualStoreImpl();
+      final Foo foo = new Foo();
+      ExecutorService executor = Executors.newFixedThreadPool(8);
+      try
+      {
+         List<Future<String>> ids = new ArrayList<Future<String>>();
+         for (int i = 0; i < 64; i++)
+         {
+            ids.add(executor.submit(new Callable<String>()
+            {
+
+               public String call() throws Exception
+               {
+                  String id = store.putIfAbsent(foo);
+                  // Any id handed out must be resolvable
+                  assertSame(foo, store.getContextual(id));
+                  return id;
+               }
+
+            }));
+         }
+         String id = ids.get(0).get();
+         for (Future<String> future : ids)
+         {
+            assertEquals(id, future.get());
+         }
+      }
+      finally
+      {
+         executor.shutdown();
+      }
+   }
+
+}
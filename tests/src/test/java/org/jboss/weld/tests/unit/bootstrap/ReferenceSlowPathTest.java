@@ -0,0 +1,77 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.bootstrap;
+
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.InjectionPoint;
+
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.TestContainer;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.junit.Assert;
+import org.testng.annotations.Test;
+
+public class ReferenceSlowPathTest
+{
+
+   @Test
+   public void testFrozenAfterDeployment()
+   {
+      TestContainer container = new TestContainer(Foo.class, Bar.class);
+      container.startContainer();
+      try
+      {
+         BeanManagerImpl beanManager = (BeanManagerImpl) container.getBeanManager(container.getDeployment().getBeanDeploymentArchives().iterator().next());
+         Bean<?> fooBean = beanManager.resolve(beanManager.getBeans(Foo.class));
+         long slowPathCount = beanManager.getReferenceSlowPathCount();
+         for (int i = 0; i < 10; i++)
+         {
+            Foo foo = (Foo) beanManager.getReference(fooBean, Foo.class, beanManager.createCreationalContext(fooBean));
+            Assert.assertNotNull(foo.getBar());
+         }
+         Assert.assertEquals(slowPathCount, beanManager.getReferenceSlowPathCount());
+      }
+      finally
+      {
+         container.stopContainer();
+      }
+   }
+
+   @Test
+   public void testRuntimeLookupsUseFrozenSpecialization()
+   {
+      TestContainer container = new TestContainer(Foo.class, Bar.class);
+      container.startContainer();
+      try
+      {
+         BeanManagerImpl beanManager = (BeanManagerImpl) container.getBeanManager(container.getDeployment().getBeanDeploymentArchives().iterator().next());
+         Bean<?> fooBean = beanManager.resolve(beanManager.getBeans(Foo.class));
+         InjectionPoint barInjectionPoint = fooBean.getInjectionPoints().iterator().next();
+         long slowPathCount = beanManager.getReferenceSlowPathCount();
+         for (int i = 0; i < 10; i++)
+         {
+            Assert.assertNotNull(beanManager.instance().select(Foo.class).get().getBar());
+            Assert.assertNotNull(beanManager.getInjectableReference(barInjectionPoint, beanManager.createCreationalContext(fooBean)));
+         }
+         Assert.assertEquals(slowPathCount, beanManager.getReferenceSlowPathCount());
+      }
+      finally
+      {
+         container.stopContainer();
+      }
+   }
+
+}
@@ -0,0 +1,56 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.bootstrap.release;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+
+@ApplicationScoped
+public class Receiver
+{
+
+   @Inject
+   private Greeting greeting;
+
+   @Inject
+   private Instance<Greeting> greetings;
+
+   private int pings;
+
+   public Greeting getGreeting()
+   {
+      return greeting;
+   }
+
+   public Instance<Greeting> getGreetings()
+   {
+      return greetings;
+   }
+
+   public void observe(@Observes Ping ping)
+   {
+      pings++;
+   }
+
+   public int getPings()
+   {
+      return pings;
+   }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.bootstrap.release;
+
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.InjectionTarget;
+
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.TestContainer;
+import org.jboss.weld.Container;
+import org.jboss.weld.bootstrap.WeldBootstrap;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.resources.SharedObjectCache;
+import org.junit.Assert;
+import org.testng.annotations.Test;
+
+public class ReleaseBootstrapDataTest
+{
+
+   @Test
+   public void testContainerUsableAfterRelease()
+   {
+      TestContainer container = new TestContainer(Receiver.class, Greeting.class, Ping.class);
+      System.setProperty(WeldBootstrap.RELEASE_BOOTSTRAP_DATA_PROPERTY_NAME, "true");
+      try
+      {
+         container.startContainer();
+      }
+      finally
+      {
+         System.clearProperty(WeldBootstrap.RELEASE_BOOTSTRAP_DATA_PROPERTY_NAME);
+      }
+      try
+      {
+         Assert.assertEquals(0, Container.instance().services().get(SharedObjectCache.class).size());
+         BeanManagerImpl beanManager = (BeanManagerImpl) container.getBeanManager(container.getDeployment().getBeanDeploymentArchives().iterator().next());
+
+         // Injection
+         Bean<?> receiverBean = beanManager.resolve(beanManager.getBeans(Receiver.class));
+         Receiver receiver = (Receiver) beanManager.getReference(receiverBean, Receiver.class, beanManager.createCreationalContext(receiverBean));
+         Assert.assertEquals("Hello Pete", receiver.getGreeting().greet("Pete"));
+
+         // Instance lookup
+         Assert.assertFalse(receiver.getGreetings().isUnsatisfied());
+         Assert.assertEquals("Hello Stuart", receiver.getGreetings().get().greet("Stuart"));
+
+         // Events
+         beanManager.fireEvent(new Ping());
+         beanManager.fireEvent(new Ping());
+         Assert.assertEquals(2, receiver.getPings());
+
+         // Class metadata is still available to the runtime
+         InjectionTarget<Receiver> injectionTarget = beanManager.createInjectionTarget(beanManager.createAnnotatedType(Receiver.class));
+         CreationalContext<Receiver> creationalContext = beanManager.createCreationalContext(null);
+         Receiver created = injectionTarget.produce(creationalContext);
+         injectionTarget.inject(created, creationalContext);
+         Assert.assertEquals("Hello Gavin", created.getGreeting().greet("Gavin"));
+      }
+      finally
+      {
+         container.stopContainer();
+      }
+   }
+
+}
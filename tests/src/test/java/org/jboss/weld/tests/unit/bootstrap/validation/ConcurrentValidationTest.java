@@ -0,0 +1,79 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.bootstrap.validation;
+
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.AbstractDeployment;
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.BeanDeploymentArchiveImpl;
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.TestContainer;
+import org.jboss.weld.bootstrap.DeploymentExecutor;
+import org.jboss.weld.bootstrap.spi.BeanDeploymentArchive;
+import org.jboss.weld.bootstrap.spi.Deployment;
+import org.jboss.weld.exceptions.DeploymentException;
+import org.junit.Assert;
+import org.testng.annotations.Test;
+
+public class ConcurrentValidationTest
+{
+
+   private static final int RUNS = 10;
+
+   private static String deployBrokenArchives(int concurrency)
+   {
+      BeanDeploymentArchiveImpl archiveA = new BeanDeploymentArchiveImpl("archive-a", Alpha.class);
+      BeanDeploymentArchiveImpl archiveB = new BeanDeploymentArchiveImpl("archive-b", Bravo.class);
+      final BeanDeploymentArchiveImpl archiveC = new BeanDeploymentArchiveImpl("archive-c", Charlie.class, Delta.class);
+      // The archives are deployed out of order
+      Deployment deployment = new AbstractDeployment(archiveC, archiveB, archiveA)
+      {
+
+         public BeanDeploymentArchive loadBeanDeploymentArchive(Class<?> beanClass)
+         {
+            return archiveC;
+         }
+
+      };
+      deployment.getServices().add(DeploymentExecutor.class, new DeploymentExecutor(concurrency));
+      TestContainer container = new TestContainer(deployment);
+      try
+      {
+         container.startContainer();
+      }
+      catch (DeploymentException e)
+      {
+         return e.getMessage();
+      }
+      finally
+      {
+         container.stopContainer();
+      }
+      Assert.fail("Expected a DeploymentException");
+      return null;
+   }
+
+   @Test
+   public void testSameFailureReportedOnEveryRun()
+   {
+      String expected = deployBrokenArchives(1);
+      // The failure is that of the archive with the lowest id
+      Assert.assertTrue(expected, expected.contains(Alpha.class.getName()));
+      for (int i = 0; i < RUNS; i++)
+      {
+         Assert.assertEquals(expected, deployBrokenArchives(4));
+      }
+   }
+
+}
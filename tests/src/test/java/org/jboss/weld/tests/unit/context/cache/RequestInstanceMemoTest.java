@@ -0,0 +1,129 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.context.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.enterprise.inject.spi.BeanManager;
+
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.TestContainer;
+import org.jboss.weld.context.bound.BoundLiteral;
+import org.jboss.weld.context.bound.BoundRequestContext;
+import org.jboss.weld.context.cache.RequestScopedBeanCache;
+import org.jboss.weld.test.Utils;
+import org.junit.Assert;
+import org.testng.annotations.Test;
+
+public class RequestInstanceMemoTest
+{
+
+   private static TestContainer startContainer()
+   {
+      // The request contexts read the property when they are created
+      System.setProperty(RequestScopedBeanCache.MEMOIZE_INSTANCES_PROPERTY_NAME, "true");
+      try
+      {
+         return new TestContainer(RequestCounter.class).startContainer();
+      }
+      finally
+      {
+         System.clearProperty(RequestScopedBeanCache.MEMOIZE_INSTANCES_PROPERTY_NAME);
+      }
+   }
+
+   private static BeanManager getBeanManager(TestContainer container)
+   {
+      return container.getBeanManager(container.getDeployment().getBeanDeploymentArchives().iterator().next());
+   }
+
+   private static int getId(BoundRequestContext requestContext, Map<String, Object> storage, RequestCounter counter)
+   {
+      requestContext.associate(storage);
+      requestContext.activate();
+      try
+      {
+         Assert.assertTrue(RequestScopedBeanCache.isActive());
+         int id = counter.getId();
+         // The second call is answered from the memo
+         Assert.assertEquals(id, counter.getId());
+         return id;
+      }
+      finally
+      {
+         requestContext.deactivate();
+         requestContext.dissociate(storage);
+      }
+   }
+
+   @Test
+   public void testInstancesKeptSeparatePerBeanStore()
+   {
+      TestContainer container = startContainer();
+      try
+      {
+         BeanManager beanManager = getBeanManager(container);
+         BoundRequestContext requestContext = Utils.getReference(beanManager, BoundRequestContext.class, BoundLiteral.INSTANCE);
+         RequestCounter counter = Utils.getReference(beanManager, RequestCounter.class);
+         Map<String, Object> first = new HashMap<String, Object>();
+         Map<String, Object> second = new HashMap<String, Object>();
+
+         int firstId = getId(requestContext, first, counter);
+         Assert.assertFalse(RequestScopedBeanCache.isActive());
+         int secondId = getId(requestContext, second, counter);
+         Assert.assertFalse(firstId == secondId);
+         // The instance lives on in the first bean store, and isn't mixed up
+         // with the instance memoized for the second
+         Assert.assertEquals(firstId, getId(requestContext, first, counter));
+         Assert.assertEquals(secondId, getId(requestContext, second, counter));
+      }
+      finally
+      {
+         container.stopContainer();
+      }
+   }
+
+   @Test
+   public void testMemoizingIsOptIn()
+   {
+      TestContainer container = new TestContainer(RequestCounter.class).startContainer();
+      try
+      {
+         BeanManager beanManager = getBeanManager(container);
+         BoundRequestContext requestContext = Utils.getReference(beanManager, BoundRequestContext.class, BoundLiteral.INSTANCE);
+         Map<String, Object> storage = new HashMap<String, Object>();
+         requestContext.associate(storage);
+         requestContext.activate();
+         try
+         {
+            Assert.assertFalse(RequestScopedBeanCache.isActive());
+            RequestCounter counter = Utils.getReference(beanManager, RequestCounter.class);
+            Assert.assertEquals(counter.getId(), counter.getId());
+         }
+         finally
+         {
+            requestContext.deactivate();
+            requestContext.dissociate(storage);
+         }
+      }
+      finally
+      {
+         container.stopContainer();
+      }
+   }
+
+}
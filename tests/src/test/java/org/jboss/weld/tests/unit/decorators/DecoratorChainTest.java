@@ -0,0 +1,60 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.decorators;
+
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.TestContainer;
+import org.jboss.weld.bean.AbstractClassBean;
+import org.jboss.weld.bean.proxy.DecoratorChain;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.util.reflection.Reflections;
+import org.junit.Assert;
+import org.testng.annotations.Test;
+
+public class DecoratorChainTest
+{
+
+   @Test
+   public void testChainReusedUntilDecoratorsInitialized()
+   {
+      TestContainer container = DecoratorDispatchTest.startContainer();
+      try
+      {
+         BeanManagerImpl beanManager = (BeanManagerImpl) container.getBeanManager(container.getDeployment().getBeanDeploymentArchives().iterator().next());
+         AbstractClassBean<AccountImpl> bean = Reflections.cast(beanManager.resolve(beanManager.getBeans(AccountImpl.class)));
+         Assert.assertEquals("decorated account", DecoratorDispatchTest.getAccount(container).getName());
+         DecoratorChain<AccountImpl> chain = bean.getDecoratorChain();
+         Assert.assertEquals(1, chain.getDecorators().size());
+
+         // Every instance is decorated with the same chain
+         Assert.assertEquals("decorated account", DecoratorDispatchTest.getAccount(container).getName());
+         Assert.assertSame(chain, bean.getDecoratorChain());
+
+         // Initializing the decorators again discards the chain
+         bean.initDecorators();
+         DecoratorChain<AccountImpl> newChain = bean.getDecoratorChain();
+         Assert.assertNotSame(chain, newChain);
+         Assert.assertEquals(chain.getDecorators(), newChain.getDecorators());
+         Assert.assertSame(chain.getProxyClass(), newChain.getProxyClass());
+         Assert.assertEquals("decorated account", DecoratorDispatchTest.getAccount(container).getName());
+      }
+      finally
+      {
+         container.stopContainer();
+      }
+   }
+
+}
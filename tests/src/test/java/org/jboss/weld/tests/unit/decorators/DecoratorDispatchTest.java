@@ -0,0 +1,110 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.decorators;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.TestContainer;
+import org.jboss.weld.test.Utils;
+import org.junit.Assert;
+import org.testng.annotations.Test;
+
+public class DecoratorDispatchTest
+{
+
+   static TestContainer startContainer()
+   {
+      Collection<Class<?>> classes = Arrays.<Class<?>>asList(AccountImpl.class, AccountDecorator.class);
+      return new TestContainer(Collections.singleton(DecoratorDispatchTest.class.getResource("beans.xml")), classes).startContainer();
+   }
+
+   static Account getAccount(TestContainer container)
+   {
+      return Utils.getReference(container.getBeanManager(container.getDeployment().getBeanDeploymentArchives().iterator().next()), Account.class);
+   }
+
+   @Test
+   public void testDispatch()
+   {
+      TestContainer container = startContainer();
+      try
+      {
+         Account account = getAccount(container);
+         for (int i = 0; i < 2; i++)
+         {
+            // Implemented by the decorator
+            Assert.assertEquals("decorated account", account.getName());
+            // Abstract in the decorator, so implemented by the generated
+            // subclass, which calls the delegate
+            Assert.assertEquals(100, account.getBalance());
+         }
+         // Not a method of a decorated type, so called on the delegate
+         Assert.assertEquals("auditor", ((Audited) account).getAuditor());
+      }
+      finally
+      {
+         container.stopContainer();
+      }
+   }
+
+   @Test
+   public void testExceptionsUnwrapped()
+   {
+      TestContainer container = startContainer();
+      try
+      {
+         Account account = getAccount(container);
+         // Thrown by the decorator
+         try
+         {
+            account.withdraw(-1);
+            Assert.fail("Expected an InsufficientFundsException");
+         }
+         catch (InsufficientFundsException e)
+         {
+            Assert.assertEquals("Negative amount", e.getMessage());
+         }
+         // Thrown by the delegate, called by the decorator
+         try
+         {
+            account.withdraw(1000);
+            Assert.fail("Expected an InsufficientFundsException");
+         }
+         catch (InsufficientFundsException e)
+         {
+            Assert.assertEquals("Balance is 100", e.getMessage());
+         }
+         // Thrown by the delegate, for a method the decorator doesn't decorate
+         try
+         {
+            ((Audited) account).audit();
+            Assert.fail("Expected an AuditException");
+         }
+         catch (AuditException e)
+         {
+            Assert.assertEquals("Not audited", e.getMessage());
+         }
+      }
+      finally
+      {
+         container.stopContainer();
+      }
+   }
+
+}
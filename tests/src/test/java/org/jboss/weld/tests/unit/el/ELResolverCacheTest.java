@@ -0,0 +1,127 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.el;
+
+import javax.el.ELContext;
+
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.AbstractDeployment;
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.BeanDeploymentArchiveImpl;
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.TestContainer;
+import org.jboss.weld.bootstrap.spi.BeanDeploymentArchive;
+import org.jboss.weld.el.AbstractWeldELResolver;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.test.el.EL;
+import org.junit.Assert;
+import org.testng.annotations.Test;
+
+import com.sun.el.lang.FunctionMapperImpl;
+
+public class ELResolverCacheTest
+{
+
+   /**
+    * Resolves against whichever manager is current, as a resolver shared by
+    * several modules does
+    */
+   private static class SwitchingELResolver extends AbstractWeldELResolver
+   {
+
+      private BeanManagerImpl beanManager;
+
+      @Override
+      protected BeanManagerImpl getManager(ELContext context)
+      {
+         return beanManager;
+      }
+
+   }
+
+   private static Object getValue(SwitchingELResolver resolver, ELContext context, String name)
+   {
+      context.setPropertyResolved(false);
+      return resolver.getValue(context, null, name);
+   }
+
+   @Test
+   public void testContextCacheKeyedByManager()
+   {
+      final BeanDeploymentArchiveImpl archiveA = new BeanDeploymentArchiveImpl("archive-a", Alpha.class);
+      BeanDeploymentArchiveImpl archiveB = new BeanDeploymentArchiveImpl("archive-b", Bravo.class);
+      TestContainer container = new TestContainer(new AbstractDeployment(archiveA, archiveB)
+      {
+
+         public BeanDeploymentArchive loadBeanDeploymentArchive(Class<?> beanClass)
+         {
+            return archiveA;
+         }
+
+      });
+      container.startContainer();
+      try
+      {
+         BeanManagerImpl managerA = (BeanManagerImpl) container.getBeanManager(archiveA);
+         BeanManagerImpl managerB = (BeanManagerImpl) container.getBeanManager(archiveB);
+         SwitchingELResolver resolver = new SwitchingELResolver();
+         ELContext context = EL.createELContext(resolver, new FunctionMapperImpl());
+
+         resolver.beanManager = managerA;
+         Greeter alpha = (Greeter) getValue(resolver, context, "greeter");
+         Assert.assertEquals("alpha", alpha.getName());
+         Assert.assertSame(alpha, getValue(resolver, context, "greeter"));
+
+         // The same name resolves to another bean in another manager, even in
+         // the same ELContext
+         resolver.beanManager = managerB;
+         Greeter bravo = (Greeter) getValue(resolver, context, "greeter");
+         Assert.assertEquals("bravo", bravo.getName());
+         Assert.assertSame(bravo, getValue(resolver, context, "greeter"));
+
+         resolver.beanManager = managerA;
+         Assert.assertSame(alpha, getValue(resolver, context, "greeter"));
+      }
+      finally
+      {
+         container.stopContainer();
+      }
+   }
+
+   @Test
+   public void testNameResolvedAgainWhenResolverCleared()
+   {
+      TestContainer container = new TestContainer(Alpha.class);
+      container.startContainer();
+      try
+      {
+         BeanManagerImpl beanManager = (BeanManagerImpl) container.getBeanManager(container.getDeployment().getBeanDeploymentArchives().iterator().next());
+         SwitchingELResolver resolver = new SwitchingELResolver();
+         resolver.beanManager = beanManager;
+         Assert.assertNull(getValue(resolver, EL.createELContext(resolver, new FunctionMapperImpl()), "late"));
+
+         // The name is resolved once per generation of the name based resolver
+         beanManager.addBean(new LateBean());
+         Assert.assertNull(getValue(resolver, EL.createELContext(resolver, new FunctionMapperImpl()), "late"));
+
+         beanManager.getNameBasedResolver().clear();
+         Assert.assertTrue(getValue(resolver, EL.createELContext(resolver, new FunctionMapperImpl()), "late") instanceof Late);
+      }
+      finally
+      {
+         container.stopContainer();
+      }
+   }
+
+}
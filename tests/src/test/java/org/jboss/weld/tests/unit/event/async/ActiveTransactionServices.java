@@ -0,0 +1,52 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.event.async;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.transaction.Synchronization;
+
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.MockTransactionServices;
+
+/**
+ * Reports a transaction as always active, and holds on to the
+ * synchronizations registered with it
+ */
+public class ActiveTransactionServices extends MockTransactionServices
+{
+
+   private final List<Synchronization> synchronizations = new ArrayList<Synchronization>();
+
+   @Override
+   public boolean isTransactionActive()
+   {
+      return true;
+   }
+
+   @Override
+   public synchronized void registerSynchronization(Synchronization synchronization)
+   {
+      synchronizations.add(synchronization);
+   }
+
+   public synchronized List<Synchronization> getSynchronizations()
+   {
+      return new ArrayList<Synchronization>(synchronizations);
+   }
+
+}
@@ -0,0 +1,243 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.event.async;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.inject.spi.BeanManager;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.TestContainer;
+import org.jboss.weld.context.bound.BoundLiteral;
+import org.jboss.weld.context.bound.BoundSessionContext;
+import org.jboss.weld.event.AsynchronousObserverNotifier;
+import org.jboss.weld.event.AsynchronousObserverNotifier.Ordering;
+import org.jboss.weld.event.EventDelivery;
+import org.jboss.weld.manager.FixedThreadPoolExecutorServices;
+import org.jboss.weld.test.Utils;
+import org.jboss.weld.transaction.spi.TransactionServices;
+import org.junit.Assert;
+import org.testng.annotations.Test;
+
+public class AsynchronousObserverNotifierTest
+{
+
+   private static final long TIMEOUT_SECONDS = 10;
+
+   private static TestContainer startContainer(AsynchronousObserverNotifier notifier, TransactionServices transactionServices)
+   {
+      TestContainer container = new TestContainer(Firer.class, Observers.class, RequestCounter.class, SessionCounter.class);
+      container.getDeployment().getServices().add(AsynchronousObserverNotifier.class, notifier);
+      if (transactionServices != null)
+      {
+         container.getDeployment().getServices().add(TransactionServices.class, transactionServices);
+      }
+      return container.startContainer();
+   }
+
+   private static BeanManager getBeanManager(TestContainer container)
+   {
+      return container.getBeanManager(container.getDeployment().getBeanDeploymentArchives().iterator().next());
+   }
+
+   private static void awaitAll(List<EventDelivery> deliveries) throws InterruptedException
+   {
+      for (EventDelivery delivery : deliveries)
+      {
+         Assert.assertTrue(delivery.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+         Assert.assertTrue(delivery.getFailures().isEmpty());
+      }
+   }
+
+   @Test
+   public void testOrderedNotifiesObserverInFiringOrder() throws Exception
+   {
+      TestContainer container = startContainer(new AsynchronousObserverNotifier(Ordering.ORDERED), null);
+      try
+      {
+         BeanManager beanManager = getBeanManager(container);
+         Firer firer = Utils.getReference(beanManager, Firer.class);
+         Observers observers = Utils.getReference(beanManager, Observers.class);
+         List<EventDelivery> deliveries = new ArrayList<EventDelivery>();
+         List<Integer> expected = new ArrayList<Integer>();
+         for (int i = 0; i < 20; i++)
+         {
+            deliveries.add(firer.getPingEvent().fireAsync(new Ping(i)));
+            expected.add(i);
+         }
+         awaitAll(deliveries);
+         Assert.assertEquals(expected, observers.getPings());
+         Assert.assertEquals(1, observers.getMaxConcurrentPings());
+      }
+      finally
+      {
+         container.stopContainer();
+      }
+   }
+
+   @Test
+   public void testParallelNotifiesObserverConcurrently() throws Exception
+   {
+      FixedThreadPoolExecutorServices executorServices = new FixedThreadPoolExecutorServices(2);
+      TestContainer container = startContainer(new AsynchronousObserverNotifier(Ordering.PARALLEL, executorServices), null);
+      try
+      {
+         BeanManager beanManager = getBeanManager(container);
+         Firer firer = Utils.getReference(beanManager, Firer.class);
+         Observers observers = Utils.getReference(beanManager, Observers.class);
+         // Each notification waits for the other to start
+         observers.setPingLatch(new CountDownLatch(2));
+         List<EventDelivery> deliveries = new ArrayList<EventDelivery>();
+         deliveries.add(firer.getPingEvent().fireAsync(new Ping(0)));
+         deliveries.add(firer.getPingEvent().fireAsync(new Ping(1)));
+         awaitAll(deliveries);
+         Assert.assertEquals(2, observers.getPings().size());
+         Assert.assertEquals(2, observers.getMaxConcurrentPings());
+      }
+      finally
+      {
+         container.stopContainer();
+         executorServices.cleanup();
+      }
+   }
+
+   @Test
+   public void testNotificationRunsInItsOwnRequest() throws Exception
+   {
+      TestContainer container = startContainer(new AsynchronousObserverNotifier(Ordering.PARALLEL), null);
+      container.ensureRequestActive();
+      try
+      {
+         BeanManager beanManager = getBeanManager(container);
+         Firer firer = Utils.getReference(beanManager, Firer.class);
+         Observers observers = Utils.getReference(beanManager, Observers.class);
+         int firingRequest = Utils.getReference(beanManager, RequestCounter.class).getId();
+         List<EventDelivery> deliveries = new ArrayList<EventDelivery>();
+         deliveries.add(firer.getProbeEvent().fireAsync(new Probe()));
+         deliveries.add(firer.getProbeEvent().fireAsync(new Probe()));
+         awaitAll(deliveries);
+         List<Integer> probeRequests = observers.getProbeRequests();
+         Assert.assertEquals(2, probeRequests.size());
+         Assert.assertFalse(probeRequests.contains(firingRequest));
+         Assert.assertFalse(probeRequests.get(0).equals(probeRequests.get(1)));
+         Assert.assertFalse(observers.getProbeThreads().contains(Thread.currentThread()));
+         // The firing request is untouched
+         Assert.assertEquals(firingRequest, Utils.getReference(beanManager, RequestCounter.class).getId());
+      }
+      finally
+      {
+         container.stopContainer();
+      }
+   }
+
+   @Test
+   public void testSessionPropagated() throws Exception
+   {
+      TestContainer container = startContainer(new AsynchronousObserverNotifier(Ordering.PARALLEL), null);
+      try
+      {
+         BeanManager beanManager = getBeanManager(container);
+         Firer firer = Utils.getReference(beanManager, Firer.class);
+         Observers observers = Utils.getReference(beanManager, Observers.class);
+
+         // Without a session, the observer has no session either
+         awaitAll(Collections.singletonList(firer.getVisitEvent().fireAsync(new Visit())));
+         Assert.assertEquals(Collections.singletonList(Observers.NO_SESSION), observers.getVisitSessions());
+         observers.getVisitSessions().clear();
+
+         BoundSessionContext sessionContext = Utils.getReference(beanManager, BoundSessionContext.class, BoundLiteral.INSTANCE);
+         Map<String, Object> session = new HashMap<String, Object>();
+         sessionContext.associate(session);
+         sessionContext.activate();
+         try
+         {
+            int firingSession = Utils.getReference(beanManager, SessionCounter.class).getId();
+            List<EventDelivery> deliveries = new ArrayList<EventDelivery>();
+            deliveries.add(firer.getVisitEvent().fireAsync(new Visit()));
+            deliveries.add(firer.getVisitEvent().fireAsync(new Visit()));
+            awaitAll(deliveries);
+            Assert.assertEquals(Arrays.asList(firingSession, firingSession), observers.getVisitSessions());
+            // The session is still usable by the caller
+            Assert.assertEquals(firingSession, Utils.getReference(beanManager, SessionCounter.class).getId());
+         }
+         finally
+         {
+            sessionContext.deactivate();
+            sessionContext.dissociate(session);
+         }
+      }
+      finally
+      {
+         container.stopContainer();
+      }
+   }
+
+   @Test
+   public void testFailureReportedThroughDelivery() throws Exception
+   {
+      TestContainer container = startContainer(new AsynchronousObserverNotifier(Ordering.ORDERED), null);
+      try
+      {
+         Firer firer = Utils.getReference(getBeanManager(container), Firer.class);
+         EventDelivery delivery = firer.getFailureEvent().fireAsync(new Failure());
+         Assert.assertTrue(delivery.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+         Assert.assertTrue(delivery.isDone());
+         Assert.assertEquals(1, delivery.getFailures().size());
+         Assert.assertTrue(Utils.isExceptionInHierarchy(delivery.getFailures().get(0), IllegalStateException.class));
+      }
+      finally
+      {
+         container.stopContainer();
+      }
+   }
+
+   @Test
+   public void testTransactionalObserverStillDeferred() throws Exception
+   {
+      ActiveTransactionServices transactionServices = new ActiveTransactionServices();
+      TestContainer container = startContainer(new AsynchronousObserverNotifier(Ordering.PARALLEL), transactionServices);
+      try
+      {
+         BeanManager beanManager = getBeanManager(container);
+         Firer firer = Utils.getReference(beanManager, Firer.class);
+         Observers observers = Utils.getReference(beanManager, Observers.class);
+         EventDelivery delivery = firer.getCommitEvent().fireAsync(new Commit());
+         // The observer isn't notified asynchronously, but deferred to the
+         // transaction
+         Assert.assertTrue(delivery.isDone());
+         Assert.assertNull(observers.getCommitThread());
+         List<Synchronization> synchronizations = transactionServices.getSynchronizations();
+         Assert.assertEquals(1, synchronizations.size());
+         synchronizations.get(0).beforeCompletion();
+         synchronizations.get(0).afterCompletion(Status.STATUS_COMMITTED);
+         Assert.assertEquals(Thread.currentThread(), observers.getCommitThread());
+      }
+      finally
+      {
+         container.stopContainer();
+      }
+   }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.event.async;
+
+import javax.enterprise.event.Event;
+import javax.inject.Inject;
+
+import org.jboss.weld.event.EventImpl;
+
+public class Firer
+{
+
+   @Inject
+   private Event<Ping> pingEvent;
+
+   @Inject
+   private Event<Probe> probeEvent;
+
+   @Inject
+   private Event<Failure> failureEvent;
+
+   @Inject
+   private Event<Commit> commitEvent;
+
+   @Inject
+   private Event<Visit> visitEvent;
+
+   public EventImpl<Ping> getPingEvent()
+   {
+      return (EventImpl<Ping>) pingEvent;
+   }
+
+   public EventImpl<Probe> getProbeEvent()
+   {
+      return (EventImpl<Probe>) probeEvent;
+   }
+
+   public EventImpl<Failure> getFailureEvent()
+   {
+      return (EventImpl<Failure>) failureEvent;
+   }
+
+   public EventImpl<Commit> getCommitEvent()
+   {
+      return (EventImpl<Commit>) commitEvent;
+   }
+
+   public EventImpl<Visit> getVisitEvent()
+   {
+      return (EventImpl<Visit>) visitEvent;
+   }
+
+}
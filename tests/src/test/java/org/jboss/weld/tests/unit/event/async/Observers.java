@@ -0,0 +1,145 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.event.async;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.ContextNotActiveException;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.TransactionPhase;
+import javax.inject.Inject;
+
+@ApplicationScoped
+public class Observers
+{
+
+   public static final int NO_SESSION = -1;
+
+   private final List<Integer> pings = Collections.synchronizedList(new ArrayList<Integer>());
+   private final AtomicInteger concurrentPings = new AtomicInteger();
+   private final AtomicInteger maxConcurrentPings = new AtomicInteger();
+   private volatile CountDownLatch pingLatch;
+
+   private final List<Integer> probeRequests = Collections.synchronizedList(new ArrayList<Integer>());
+   private final List<Thread> probeThreads = Collections.synchronizedList(new ArrayList<Thread>());
+
+   private volatile Thread commitThread;
+
+   private final List<Integer> visitSessions = Collections.synchronizedList(new ArrayList<Integer>());
+
+   @Inject
+   private RequestCounter requestCounter;
+
+   @Inject
+   private SessionCounter sessionCounter;
+
+   public void observePing(@Observes Ping ping) throws InterruptedException
+   {
+      int concurrent = concurrentPings.incrementAndGet();
+      try
+      {
+         int maxConcurrent;
+         do
+         {
+            maxConcurrent = maxConcurrentPings.get();
+         }
+         while (concurrent > maxConcurrent && !maxConcurrentPings.compareAndSet(maxConcurrent, concurrent));
+         CountDownLatch latch = pingLatch;
+         if (latch != null)
+         {
+            // Wait for the other notifications to start
+            latch.countDown();
+            latch.await(10, TimeUnit.SECONDS);
+         }
+         pings.add(ping.getIndex());
+      }
+      finally
+      {
+         concurrentPings.decrementAndGet();
+      }
+   }
+
+   public void observeProbe(@Observes Probe probe)
+   {
+      probeRequests.add(requestCounter.getId());
+      probeThreads.add(Thread.currentThread());
+   }
+
+   public void observeFailure(@Observes Failure failure)
+   {
+      throw new IllegalStateException("Observer failed");
+   }
+
+   public void observeCommit(@Observes(during = TransactionPhase.AFTER_SUCCESS) Commit commit)
+   {
+      commitThread = Thread.currentThread();
+   }
+
+   public void observeVisit(@Observes Visit visit)
+   {
+      try
+      {
+         visitSessions.add(sessionCounter.getId());
+      }
+      catch (ContextNotActiveException e)
+      {
+         visitSessions.add(NO_SESSION);
+      }
+   }
+
+   public List<Integer> getPings()
+   {
+      return pings;
+   }
+
+   public int getMaxConcurrentPings()
+   {
+      return maxConcurrentPings.get();
+   }
+
+   public void setPingLatch(CountDownLatch pingLatch)
+   {
+      this.pingLatch = pingLatch;
+   }
+
+   public List<Integer> getProbeRequests()
+   {
+      return probeRequests;
+   }
+
+   public List<Thread> getProbeThreads()
+   {
+      return probeThreads;
+   }
+
+   public Thread getCommitThread()
+   {
+      return commitThread;
+   }
+
+   public List<Integer> getVisitSessions()
+   {
+      return visitSessions;
+   }
+
+}
@@ -0,0 +1,180 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.event.dispatch;
+
+import javax.enterprise.inject.spi.ProcessAnnotatedType;
+import javax.enterprise.inject.spi.ProcessBean;
+
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.TestContainer;
+import org.jboss.weld.event.EventDispatchCounters;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.test.Utils;
+import org.junit.Assert;
+import org.testng.annotations.Test;
+
+public class EventDispatchTest
+{
+
+   private static TestContainer startContainer()
+   {
+      return startContainer(null);
+   }
+
+   private static TestContainer startContainer(EventDispatchCounters counters)
+   {
+      TestContainer container = new TestContainer(Sender.class, Receiver.class, Greeting.class);
+      if (counters != null)
+      {
+         container.getDeployment().getServices().add(EventDispatchCounters.class, counters);
+      }
+      return container.startContainer();
+   }
+
+   private static BeanManagerImpl getBeanManager(TestContainer container)
+   {
+      return (BeanManagerImpl) container.getBeanManager(container.getDeployment().getBeanDeploymentArchives().iterator().next());
+   }
+
+   @Test
+   public void testDispatchPlanResolvedAgainWhenResolverCleared()
+   {
+      TestContainer container = startContainer();
+      try
+      {
+         BeanManagerImpl beanManager = getBeanManager(container);
+         Sender sender = Utils.getReference(beanManager, Sender.class);
+         Receiver receiver = Utils.getReference(beanManager, Receiver.class);
+         sender.ping(new Ping());
+         Assert.assertEquals(1, receiver.getPings());
+
+         // The observers resolved are reused until the resolver is cleared
+         LateObserver lateObserver = new LateObserver();
+         beanManager.addObserver(lateObserver);
+         sender.ping(new Ping());
+         Assert.assertEquals(2, receiver.getPings());
+         Assert.assertEquals(0, lateObserver.getPings());
+
+         beanManager.getObserverResolver().clear();
+         sender.ping(new Ping());
+         Assert.assertEquals(3, receiver.getPings());
+         Assert.assertEquals(1, lateObserver.getPings());
+      }
+      finally
+      {
+         container.stopContainer();
+      }
+   }
+
+   @Test
+   public void testEventObjectValidatedOnlyWhenClassChanges()
+   {
+      TestContainer container = startContainer(new EventDispatchCounters(true));
+      try
+      {
+         BeanManagerImpl beanManager = getBeanManager(container);
+         EventDispatchCounters counters = beanManager.getServices().get(EventDispatchCounters.class);
+         Sender sender = Utils.getReference(beanManager, Sender.class);
+         long validationCount = counters.getValidationCount();
+         for (int i = 0; i < 3; i++)
+         {
+            sender.ping(new Ping());
+         }
+         Assert.assertEquals(validationCount + 1, counters.getValidationCount());
+         sender.ping(new SubPing());
+         sender.ping(new SubPing());
+         Assert.assertEquals(validationCount + 2, counters.getValidationCount());
+         sender.ping(new Ping());
+         Assert.assertEquals(validationCount + 3, counters.getValidationCount());
+      }
+      finally
+      {
+         container.stopContainer();
+      }
+   }
+
+   @Test
+   public void testDispatchesCountedPerEventType()
+   {
+      TestContainer container = startContainer(new EventDispatchCounters(true));
+      try
+      {
+         BeanManagerImpl beanManager = getBeanManager(container);
+         EventDispatchCounters counters = beanManager.getServices().get(EventDispatchCounters.class);
+         Sender sender = Utils.getReference(beanManager, Sender.class);
+         Receiver receiver = Utils.getReference(beanManager, Receiver.class);
+         sender.ping(new Ping());
+         // Counted by the type of the Event, not the runtime class
+         sender.ping(new SubPing());
+         sender.pong();
+         sender.pong();
+         beanManager.fireEvent(new Ping());
+         Assert.assertEquals(3, counters.getDispatchCount(Ping.class));
+         Assert.assertEquals(0, counters.getDispatchCount(SubPing.class));
+         Assert.assertEquals(2, counters.getDispatchCount(Pong.class));
+         Assert.assertEquals(Long.valueOf(2), counters.getDispatchCounts().get(Pong.class));
+         Assert.assertEquals(3, receiver.getPings());
+         // The observer of pongs has a parameter injected on every notification
+         Assert.assertEquals(2, receiver.getPongs());
+      }
+      finally
+      {
+         container.stopContainer();
+      }
+   }
+
+   @Test
+   public void testContainerLifecycleEventsNotCounted()
+   {
+      TestContainer container = startContainer(new EventDispatchCounters(true));
+      try
+      {
+         EventDispatchCounters counters = getBeanManager(container).getServices().get(EventDispatchCounters.class);
+         // The container fired lifecycle events for each bean whilst starting
+         Assert.assertEquals(0, counters.getDispatchCount(ProcessAnnotatedType.class));
+         Assert.assertEquals(0, counters.getDispatchCount(ProcessBean.class));
+         Assert.assertTrue(counters.getDispatchCounts().isEmpty());
+         Assert.assertEquals(0, counters.getOtherDispatchCount());
+      }
+      finally
+      {
+         container.stopContainer();
+      }
+   }
+
+   @Test
+   public void testCountersDisabledByDefault()
+   {
+      TestContainer container = startContainer();
+      try
+      {
+         BeanManagerImpl beanManager = getBeanManager(container);
+         EventDispatchCounters counters = beanManager.getServices().get(EventDispatchCounters.class);
+         Assert.assertFalse(counters.isEnabled());
+         Utils.getReference(beanManager, Sender.class).ping(new Ping());
+         beanManager.fireEvent(new Ping());
+         Assert.assertEquals(0, counters.getDispatchCount(Ping.class));
+         Assert.assertEquals(0, counters.getValidationCount());
+         // The events are still delivered
+         Assert.assertEquals(2, Utils.getReference(beanManager, Receiver.class).getPings());
+      }
+      finally
+      {
+         container.stopContainer();
+      }
+   }
+
+}
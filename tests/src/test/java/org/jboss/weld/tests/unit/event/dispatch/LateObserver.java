@@ -0,0 +1,71 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.event.dispatch;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.Set;
+
+import javax.enterprise.event.Reception;
+import javax.enterprise.event.TransactionPhase;
+import javax.enterprise.inject.spi.ObserverMethod;
+
+/**
+ * An observer added to the manager after deployment
+ */
+public class LateObserver implements ObserverMethod<Ping>
+{
+
+   private int pings;
+
+   public Class<?> getBeanClass()
+   {
+      return LateObserver.class;
+   }
+
+   public Type getObservedType()
+   {
+      return Ping.class;
+   }
+
+   public Set<Annotation> getObservedQualifiers()
+   {
+      return Collections.emptySet();
+   }
+
+   public Reception getReception()
+   {
+      return Reception.ALWAYS;
+   }
+
+   public TransactionPhase getTransactionPhase()
+   {
+      return TransactionPhase.IN_PROGRESS;
+   }
+
+   public void notify(Ping event)
+   {
+      pings++;
+   }
+
+   public int getPings()
+   {
+      return pings;
+   }
+
+}
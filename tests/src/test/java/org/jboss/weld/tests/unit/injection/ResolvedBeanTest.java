@@ -0,0 +1,70 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.injection;
+
+import javax.enterprise.inject.AmbiguousResolutionException;
+
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.TestContainer;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.test.Utils;
+import org.junit.Assert;
+import org.testng.annotations.Test;
+
+public class ResolvedBeanTest
+{
+
+   private static BeanManagerImpl getBeanManager(TestContainer container)
+   {
+      return (BeanManagerImpl) container.getBeanManager(container.getDeployment().getBeanDeploymentArchives().iterator().next());
+   }
+
+   @Test
+   public void testResolvedBeanBoundToResolverGeneration()
+   {
+      TestContainer container = new TestContainer(Consumer.class, DefaultService.class).startContainer();
+      try
+      {
+         BeanManagerImpl beanManager = getBeanManager(container);
+         Consumer consumer = Utils.getReference(beanManager, Consumer.class);
+         Assert.assertTrue(consumer.getFieldService() instanceof DefaultService);
+         Assert.assertTrue(consumer.getInitializerService() instanceof DefaultService);
+
+         // The beans resolved are reused until the bean resolver is cleared,
+         // so the injection points don't see the ambiguity yet
+         beanManager.addBean(new LateServiceBean());
+         consumer = Utils.getReference(beanManager, Consumer.class);
+         Assert.assertTrue(consumer.getFieldService() instanceof DefaultService);
+         Assert.assertTrue(consumer.getInitializerService() instanceof DefaultService);
+
+         beanManager.getBeanResolver().clear();
+         try
+         {
+            Utils.getReference(beanManager, Consumer.class);
+            Assert.fail("Expected the injection points to be resolved again");
+         }
+         catch (AmbiguousResolutionException e)
+         {
+            // expected
+         }
+      }
+      finally
+      {
+         container.stopContainer();
+      }
+   }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.instance;
+
+import java.util.Iterator;
+
+import javax.enterprise.inject.Instance;
+
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.TestContainer;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.junit.Assert;
+import org.testng.annotations.Test;
+
+public class InstanceResolutionTest
+{
+
+   private static BeanManagerImpl getBeanManager(TestContainer container)
+   {
+      return (BeanManagerImpl) container.getBeanManager(container.getDeployment().getBeanDeploymentArchives().iterator().next());
+   }
+
+   @Test
+   public void testResolutionDroppedWhenResolverCleared()
+   {
+      TestContainer container = new TestContainer(Alpha.class);
+      container.startContainer();
+      try
+      {
+         BeanManagerImpl beanManager = getBeanManager(container);
+         Instance<Late> instance = beanManager.instance().select(Late.class);
+         Assert.assertTrue(instance.isUnsatisfied());
+
+         // The beans resolved are reused until the bean resolver is cleared
+         beanManager.addBean(new LateBean());
+         Assert.assertTrue(instance.isUnsatisfied());
+
+         beanManager.getBeanResolver().clear();
+         Assert.assertFalse(instance.isUnsatisfied());
+         Assert.assertNotNull(instance.get());
+      }
+      finally
+      {
+         container.stopContainer();
+      }
+   }
+
+   @Test
+   public void testIterationCreatesInstancesLazily()
+   {
+      TestContainer container = new TestContainer(Alpha.class, Bravo.class);
+      container.startContainer();
+      try
+      {
+         BeanManagerImpl beanManager = getBeanManager(container);
+         Instance<Service> instance = beanManager.instance().select(Service.class);
+         Assert.assertTrue(instance.isAmbiguous());
+         int created = Service.CREATED.get();
+         Iterator<Service> iterator = instance.iterator();
+         Assert.assertEquals(created, Service.CREATED.get());
+         Assert.assertTrue(iterator.hasNext());
+         Assert.assertEquals(created, Service.CREATED.get());
+         Assert.assertNotNull(iterator.next());
+         Assert.assertEquals(created + 1, Service.CREATED.get());
+         Assert.assertNotNull(iterator.next());
+         Assert.assertEquals(created + 2, Service.CREATED.get());
+         Assert.assertFalse(iterator.hasNext());
+      }
+      finally
+      {
+         container.stopContainer();
+      }
+   }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.interceptors;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+import javassist.util.proxy.ProxyObject;
+
+import javax.interceptor.InvocationContext;
+
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.TestContainer;
+import org.jboss.weld.bean.interceptor.InterceptorChainMethodHandler;
+import org.jboss.weld.bean.interceptor.InterceptorChains;
+import org.jboss.weld.bean.proxy.CombinedInterceptorAndDecoratorStackMethodHandler;
+import org.jboss.weld.test.Utils;
+import org.junit.Assert;
+import org.testng.annotations.Test;
+
+public class InterceptorChainTest
+{
+
+   private static TestContainer startContainer()
+   {
+      Collection<Class<?>> classes = Arrays.<Class<?>>asList(Greeter.class, OuterInterceptor.class, InnerInterceptor.class);
+      return new TestContainer(Collections.singleton(InterceptorChainTest.class.getResource("beans.xml")), classes).startContainer();
+   }
+
+   private static Greeter getGreeter(TestContainer container)
+   {
+      return Utils.getReference(container.getBeanManager(container.getDeployment().getBeanDeploymentArchives().iterator().next()), Greeter.class);
+   }
+
+   private static InterceptorChainMethodHandler getMethodHandler(Greeter greeter)
+   {
+      CombinedInterceptorAndDecoratorStackMethodHandler methodHandler = (CombinedInterceptorAndDecoratorStackMethodHandler) ((ProxyObject) greeter).getHandler();
+      return (InterceptorChainMethodHandler) methodHandler.getInterceptorMethodHandler();
+   }
+
+   @Test
+   public void testInvocationOrderAcrossInstances()
+   {
+      TestContainer container = startContainer();
+      try
+      {
+         Invocations.reset();
+         for (Greeter greeter : Arrays.asList(getGreeter(container), getGreeter(container)))
+         {
+            for (int i = 0; i < 2; i++)
+            {
+               Assert.assertEquals("Hello PETE", greeter.greet("pete"));
+               Assert.assertEquals(Arrays.asList("outer", "inner", "target", "greet"), Invocations.reset());
+            }
+         }
+      }
+      finally
+      {
+         container.stopContainer();
+      }
+   }
+
+   @Test
+   public void testChainsBuiltOncePerBean() throws Exception
+   {
+      TestContainer container = startContainer();
+      try
+      {
+         Greeter greeter = getGreeter(container);
+         Greeter otherGreeter = getGreeter(container);
+         Assert.assertNotSame(greeter, otherGreeter);
+         InterceptorChains chains = getMethodHandler(greeter).getChains();
+         Assert.assertSame(chains, getMethodHandler(otherGreeter).getChains());
+         Assert.assertEquals(2, chains.getInterceptors().size());
+         Assert.assertEquals(3, chains.getChainLength(Greeter.class.getMethod("greet", String.class)));
+         Assert.assertEquals(-1, chains.getChainLength(Greeter.class.getMethod("intercept", InvocationContext.class)));
+      }
+      finally
+      {
+         container.stopContainer();
+      }
+   }
+
+   @Test
+   public void testExceptionNotWrapped()
+   {
+      TestContainer container = startContainer();
+      try
+      {
+         Invocations.reset();
+         getGreeter(container).fail();
+         Assert.fail();
+      }
+      catch (IllegalArgumentException e)
+      {
+         Assert.assertEquals(Arrays.asList("outer", "inner", "target"), Invocations.reset());
+      }
+      finally
+      {
+         container.stopContainer();
+      }
+   }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.proxy;
+
+import static org.jboss.weld.logging.Category.BEAN;
+import static org.jboss.weld.logging.Category.CONTEXT;
+import static org.jboss.weld.logging.LoggerFactory.loggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+
+import javassist.util.proxy.ProxyObject;
+
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.TestContainer;
+import org.jboss.weld.bean.proxy.ProxyMethodHandler;
+import org.jboss.weld.test.Utils;
+import org.junit.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+public class DisabledLoggingAllocationTest
+{
+
+   private static final int ITERATIONS = 10000;
+
+   // A single trace message would cost more than this, let alone one a call
+   private static final long ALLOCATION_TOLERANCE = 1024;
+
+   /**
+    * Counts the bytes allocated by the current thread, using the HotSpot
+    * extension of the thread MXBean, which is only loaded reflectively so that
+    * the test is skipped on other virtual machines
+    */
+   private static class AllocationCounter
+   {
+
+      private final ThreadMXBean threadMXBean;
+      private final Method getThreadAllocatedBytes;
+      private final long threadId;
+
+      private AllocationCounter() throws Exception
+      {
+         this.threadMXBean = ManagementFactory.getThreadMXBean();
+         Class<?> hotSpotThreadMXBean;
+         try
+         {
+            hotSpotThreadMXBean = Class.forName("com.sun.management.ThreadMXBean");
+         }
+         catch (ClassNotFoundException e)
+         {
+            throw new SkipException("Allocated memory can't be measured");
+         }
+         if (!hotSpotThreadMXBean.isInstance(threadMXBean) || !((Boolean) hotSpotThreadMXBean.getMethod("isThreadAllocatedMemorySupported").invoke(threadMXBean)))
+         {
+            throw new SkipException("Allocated memory can't be measured");
+         }
+         hotSpotThreadMXBean.getMethod("setThreadAllocatedMemoryEnabled", boolean.class).invoke(threadMXBean, true);
+         this.getThreadAllocatedBytes = hotSpotThreadMXBean.getMethod("getThreadAllocatedBytes", long.class);
+         this.threadId = Thread.currentThread().getId();
+      }
+
+      private long getAllocatedBytes() throws Exception
+      {
+         return (Long) getThreadAllocatedBytes.invoke(threadMXBean, threadId);
+      }
+
+   }
+
+   @Test
+   public void testClientProxyCallDoesNotAllocateWithTraceDisabled() throws Exception
+   {
+      if (loggerFactory().getLogger(BEAN).isTraceEnabled() || loggerFactory().getLogger(CONTEXT).isTraceEnabled())
+      {
+         throw new SkipException("Trace logging is enabled");
+      }
+      AllocationCounter allocationCounter = new AllocationCounter();
+      TestContainer container = new TestContainer(Greeting.class).startContainer();
+      try
+      {
+         Greeting greeting = Utils.getReference(container.getBeanManager(container.getDeployment().getBeanDeploymentArchives().iterator().next()), Greeting.class);
+         Assert.assertTrue(((ProxyObject) greeting).getHandler() instanceof ProxyMethodHandler);
+
+         // Warm up, creating the instance and settling the thread locals
+         for (int i = 0; i < ITERATIONS; i++)
+         {
+            greeting.getText();
+         }
+
+         // Measuring itself allocates, e.g. to box the result
+         long start = allocationCounter.getAllocatedBytes();
+         long measurement = allocationCounter.getAllocatedBytes() - start;
+
+         start = allocationCounter.getAllocatedBytes();
+         for (int i = 0; i < ITERATIONS; i++)
+         {
+            greeting.getText();
+         }
+         long allocated = allocationCounter.getAllocatedBytes() - start - measurement;
+         Assert.assertTrue("Client proxy calls allocated " + allocated + " bytes", allocated <= ALLOCATION_TOLERANCE);
+      }
+      finally
+      {
+         container.stopContainer();
+      }
+   }
+
+}